@@ -0,0 +1,56 @@
+package com.monssif.ai_intelligence_service.config;
+
+import com.monssif.ai_intelligence_service.service.GeminiService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+@Component("analysisCacheKeyGenerator")
+public class AnalysisCacheKeyGenerator implements KeyGenerator {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Value("${ai.analysis.cache.max-input-length}")
+    private int maxInputLength;
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        StringBuilder material = new StringBuilder(GeminiService.PROMPT_VERSION)
+                .append('\u0000').append(method.getName());
+        for (Object param : params) {
+            material.append('\u0000').append(normalize(param));
+        }
+        return sha256(material.toString());
+    }
+
+    public boolean isCacheable(Object... params) {
+        int length = 0;
+        for (Object param : params) {
+            length += param != null ? param.toString().length() : 0;
+        }
+        return length <= maxInputLength;
+    }
+
+    private String normalize(Object value) {
+        if (value == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(value.toString().trim()).replaceAll(" ");
+    }
+
+    private String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
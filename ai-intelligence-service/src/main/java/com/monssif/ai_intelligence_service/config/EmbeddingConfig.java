@@ -0,0 +1,33 @@
+package com.monssif.ai_intelligence_service.config;
+
+import com.monssif.ai_intelligence_service.embedding.HashingTextEmbedder;
+import com.monssif.ai_intelligence_service.embedding.ModelTextEmbedder;
+import com.monssif.ai_intelligence_service.embedding.TextEmbedder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+public class EmbeddingConfig {
+
+    @Bean
+    public TextEmbedder textEmbedder(ObjectProvider<EmbeddingModel> embeddingModel,
+                                     @Value("${ai.category-index.embedder:hashing}") String embedder,
+                                     @Value("${ai.category-index.embedding-model:default}") String modelName,
+                                     @Value("${ai.category-index.hashing-dimensions:256}") int hashingDimensions) {
+        if ("model".equalsIgnoreCase(embedder)) {
+            EmbeddingModel model = embeddingModel.getIfAvailable();
+            if (model != null) {
+                log.info("Using embedding model '{}' for category suggestions", modelName);
+                return new ModelTextEmbedder(model, modelName);
+            }
+            log.warn("No EmbeddingModel bean available - falling back to the hashing embedder");
+        }
+        log.info("Using {}-dimension hashing embedder for category suggestions", hashingDimensions);
+        return new HashingTextEmbedder(hashingDimensions);
+    }
+}
@@ -0,0 +1,63 @@
+package com.monssif.ai_intelligence_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@ConditionalOnProperty(name = "kafka.consumer.batch.enabled", havingValue = "true")
+public class KafkaBatchConsumerConfig {
+
+    @Value("${kafka.consumer.batch.max-poll-records}")
+    private int maxPollRecords;
+
+    @Value("${kafka.consumer.batch.analysis-concurrency}")
+    private int analysisConcurrency;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        return factory;
+    }
+
+    // With virtual threads, each analysis gets its own thread; the concurrency limit blocks the listener
+    // the same way CallerRunsPolicy does for the pool, and Gemini admission stays with GeminiRateLimiter.
+    @Bean
+    public AsyncTaskExecutor analysisExecutor() {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("ai-analysis-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(analysisConcurrency);
+            executor.setTaskTerminationTimeout(30_000);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(analysisConcurrency);
+        executor.setMaxPoolSize(analysisConcurrency);
+        executor.setQueueCapacity(maxPollRecords);
+        executor.setThreadNamePrefix("ai-analysis-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,51 @@
+package com.monssif.ai_intelligence_service.config;
+
+import com.monssif.ai_intelligence_service.messaging.RetryTopicRouter;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class KafkaRetryConfig {
+
+    @Value("${kafka.retry.partitions:3}")
+    private int partitions;
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> retryKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+
+    @Bean
+    public KafkaAdmin.NewTopics retryTopics(RetryTopicRouter retryTopicRouter) {
+        List<NewTopic> topics = new ArrayList<>();
+        for (String sourceTopic : retryTopicRouter.getSourceTopics()) {
+            for (int level = 1; level <= RetryTopicRouter.RETRY_LEVELS; level++) {
+                topics.add(TopicBuilder.name(retryTopicRouter.retryTopic(sourceTopic, level))
+                        .partitions(partitions)
+                        .replicas(1)
+                        .build());
+            }
+            topics.add(TopicBuilder.name(retryTopicRouter.dltTopic(sourceTopic))
+                    .partitions(partitions)
+                    .replicas(1)
+                    .build());
+        }
+        return new KafkaAdmin.NewTopics(topics.toArray(NewTopic[]::new));
+    }
+}
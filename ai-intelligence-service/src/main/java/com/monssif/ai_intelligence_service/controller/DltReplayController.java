@@ -0,0 +1,33 @@
+package com.monssif.ai_intelligence_service.controller;
+
+import com.monssif.ai_intelligence_service.service.DltReplayService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/dlt")
+@RequiredArgsConstructor
+@Slf4j
+public class DltReplayController {
+
+    private final DltReplayService dltReplayService;
+
+    @PostMapping("/replay")
+    public ResponseEntity<Void> replay(
+            @RequestParam("topic") String topic,
+            @RequestParam(defaultValue = "100") int maxRecords,
+            @RequestParam(defaultValue = "5") double ratePerSecond) {
+        log.info("REST request to replay DLT for topic: {}", topic);
+        if (!dltReplayService.isReplayableTopic(topic) || maxRecords <= 0 || ratePerSecond <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean started = dltReplayService.requestReplay(topic, maxRecords, ratePerSecond);
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT).build();
+    }
+}
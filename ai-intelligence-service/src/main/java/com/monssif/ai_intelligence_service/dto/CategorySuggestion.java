@@ -0,0 +1,18 @@
+package com.monssif.ai_intelligence_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySuggestion {
+    private String categoryName;
+    private Double voteShare;
+    private Double topSimilarity;
+    private Integer neighbors;
+    private boolean confident;
+}
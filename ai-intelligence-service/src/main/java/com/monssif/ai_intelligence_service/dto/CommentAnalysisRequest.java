@@ -0,0 +1,15 @@
+package com.monssif.ai_intelligence_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentAnalysisRequest {
+    private Long id;
+    private String content;
+}
@@ -0,0 +1,17 @@
+package com.monssif.ai_intelligence_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocalSentimentResult {
+    private Double sentimentScore;
+    private Double confidence;
+    private Integer matchedFeatures;
+    private Integer tokenCount;
+}
@@ -12,4 +12,7 @@ import lombok.NoArgsConstructor;
 public class SentimentAnalysisResult {
     private Double sentimentScore;
     private String suggestedCategory;
+
+    // Set when the model reply could not be used and the neutral default was returned instead; never cached.
+    private boolean fallback;
 }
\ No newline at end of file
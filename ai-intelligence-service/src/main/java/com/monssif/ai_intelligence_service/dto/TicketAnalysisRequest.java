@@ -0,0 +1,17 @@
+package com.monssif.ai_intelligence_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketAnalysisRequest {
+    private Long id;
+    private String title;
+    private String description;
+    private String category;
+}
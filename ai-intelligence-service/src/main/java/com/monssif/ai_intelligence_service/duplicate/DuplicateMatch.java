@@ -0,0 +1,13 @@
+package com.monssif.ai_intelligence_service.duplicate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateMatch {
+    private Long ticketId;
+    private double similarity;
+}
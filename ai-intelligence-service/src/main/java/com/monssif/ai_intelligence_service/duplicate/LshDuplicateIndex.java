@@ -0,0 +1,200 @@
+package com.monssif.ai_intelligence_service.duplicate;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Banded LSH over MinHash signatures: a ticket becomes a candidate when all rows of at least one band match,
+// and candidates are then verified against the full signature. Signatures live in one flat int[] ring;
+// evicted rows are unlinked from their band buckets so postings never point at a reused row.
+public class LshDuplicateIndex {
+
+    private final int bands;
+    private final int rowsPerBand;
+    private final int signatureLength;
+    private final int capacity;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Integer, int[]>[] buckets;
+    private final Map<Long, Integer> rowByTicketId = new HashMap<>();
+    private int[] signatures = new int[0];
+    private long[] ticketIds = new long[0];
+    private long[] indexedAt = new long[0];
+    private int size;
+    private int nextEviction;
+
+    @SuppressWarnings("unchecked")
+    public LshDuplicateIndex(int bands, int rowsPerBand, int capacity) {
+        this.bands = bands;
+        this.rowsPerBand = rowsPerBand;
+        this.signatureLength = bands * rowsPerBand;
+        this.capacity = capacity;
+        this.buckets = new Map[bands];
+        for (int band = 0; band < bands; band++) {
+            buckets[band] = new HashMap<>();
+        }
+    }
+
+    public int getSignatureLength() {
+        return signatureLength;
+    }
+
+    // Best match among tickets indexed at or after notBefore, excluding the query ticket itself.
+    public DuplicateMatch findBest(long ticketId, int[] signature, long notBefore, double minSimilarity) {
+        checkLength(signature);
+        lock.readLock().lock();
+        try {
+            long bestTicketId = -1;
+            double bestSimilarity = minSimilarity;
+            int[] seen = new int[Math.min(size, 64)];
+            int seenCount = 0;
+
+            for (int band = 0; band < bands; band++) {
+                int[] postings = buckets[band].get(bandKey(signature, 0, band));
+                if (postings == null) {
+                    continue;
+                }
+                for (int i = 1; i <= postings[0]; i++) {
+                    int row = postings[i];
+                    if (ticketIds[row] == ticketId || indexedAt[row] < notBefore || contains(seen, seenCount, row)) {
+                        continue;
+                    }
+                    if (seenCount == seen.length) {
+                        seen = Arrays.copyOf(seen, seen.length * 2 + 1);
+                    }
+                    seen[seenCount++] = row;
+
+                    double similarity = similarity(signature, row * signatureLength);
+                    if (similarity >= bestSimilarity) {
+                        bestSimilarity = similarity;
+                        bestTicketId = ticketIds[row];
+                    }
+                }
+            }
+            return bestTicketId < 0 ? null : new DuplicateMatch(bestTicketId, bestSimilarity);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(long ticketId, int[] signature, long timestamp) {
+        checkLength(signature);
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByTicketId.get(ticketId);
+            if (row != null) {
+                unlink(row);
+            } else {
+                row = allocateRow();
+                rowByTicketId.put(ticketId, row);
+            }
+            System.arraycopy(signature, 0, signatures, row * signatureLength, signatureLength);
+            ticketIds[row] = ticketId;
+            indexedAt[row] = timestamp;
+            link(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double similarity(int[] signature, int offset) {
+        int equal = 0;
+        for (int i = 0; i < signatureLength; i++) {
+            if (signature[i] == signatures[offset + i]) {
+                equal++;
+            }
+        }
+        return (double) equal / signatureLength;
+    }
+
+    private int allocateRow() {
+        if (size < capacity) {
+            if (size == ticketIds.length) {
+                grow();
+            }
+            return size++;
+        }
+
+        int row = nextEviction;
+        nextEviction = (nextEviction + 1) % capacity;
+        unlink(row);
+        rowByTicketId.remove(ticketIds[row]);
+        return row;
+    }
+
+    private void grow() {
+        int rows = Math.min(capacity, Math.max(1024, ticketIds.length * 2));
+        signatures = Arrays.copyOf(signatures, rows * signatureLength);
+        ticketIds = Arrays.copyOf(ticketIds, rows);
+        indexedAt = Arrays.copyOf(indexedAt, rows);
+    }
+
+    // Postings are int[] with the live count in slot 0, which keeps buckets free of boxed Integers.
+    private void link(int row) {
+        for (int band = 0; band < bands; band++) {
+            int key = bandKey(signatures, row * signatureLength, band);
+            int[] postings = buckets[band].get(key);
+            if (postings == null) {
+                postings = new int[4];
+            } else if (postings[0] + 1 == postings.length) {
+                postings = Arrays.copyOf(postings, postings.length * 2);
+            }
+            postings[++postings[0]] = row;
+            buckets[band].put(key, postings);
+        }
+    }
+
+    private void unlink(int row) {
+        for (int band = 0; band < bands; band++) {
+            int key = bandKey(signatures, row * signatureLength, band);
+            int[] postings = buckets[band].get(key);
+            if (postings == null) {
+                continue;
+            }
+            for (int i = 1; i <= postings[0]; i++) {
+                if (postings[i] == row) {
+                    postings[i] = postings[postings[0]];
+                    postings[0]--;
+                    break;
+                }
+            }
+            if (postings[0] == 0) {
+                buckets[band].remove(key);
+            }
+        }
+    }
+
+    private int bandKey(int[] signature, int offset, int band) {
+        int hash = band;
+        int start = offset + band * rowsPerBand;
+        for (int i = start; i < start + rowsPerBand; i++) {
+            hash = 31 * hash + signature[i];
+        }
+        return hash;
+    }
+
+    private void checkLength(int[] signature) {
+        if (signature.length != signatureLength) {
+            throw new IllegalArgumentException("Expected a signature of " + signatureLength + " hashes but got " + signature.length);
+        }
+    }
+
+    private static boolean contains(int[] rows, int count, int row) {
+        for (int i = 0; i < count; i++) {
+            if (rows[i] == row) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
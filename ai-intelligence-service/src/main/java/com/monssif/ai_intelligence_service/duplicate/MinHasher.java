@@ -0,0 +1,86 @@
+package com.monssif.ai_intelligence_service.duplicate;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// MinHash over character shingles of the normalized text. Two signatures agree in a given position
+// with probability equal to the Jaccard similarity of the shingle sets.
+public class MinHasher {
+
+    private final int numHashes;
+    private final int shingleSize;
+    private final long[] seeds;
+
+    public MinHasher(int numHashes, int shingleSize) {
+        this.numHashes = numHashes;
+        this.shingleSize = shingleSize;
+        this.seeds = new SplittableRandom(0x5EEDL).longs(numHashes).toArray();
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    public int[] signature(String text) {
+        String normalized = normalize(text);
+        int[] signature = new int[numHashes];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        int shingles = Math.max(1, normalized.length() - shingleSize + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingleHash = fnv1a64(normalized, start, Math.min(normalized.length(), start + shingleSize));
+            for (int i = 0; i < numHashes; i++) {
+                int hash = (int) (mix64(shingleHash ^ seeds[i]) >>> 33);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    public static double similarity(int[] left, int[] right) {
+        int equal = 0;
+        for (int i = 0; i < left.length; i++) {
+            if (left[i] == right[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / left.length;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        return normalized.toString().trim();
+    }
+
+    private static long fnv1a64(String text, int from, int to) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer.
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,14 @@
+package com.monssif.ai_intelligence_service.embedding;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryNeighbor {
+    private Long ticketId;
+    private String categoryName;
+    private double similarity;
+}
@@ -0,0 +1,140 @@
+package com.monssif.ai_intelligence_service.embedding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Brute-force k-NN over one flat float[] (row-major, unit vectors). A linear scan of a contiguous array is
+// what the JIT vectorizes best, and at tens of thousands of rows it stays in the low milliseconds.
+// Once full, the oldest rows are overwritten so the index follows recent resolutions.
+public class CategoryVectorIndex {
+
+    private final int capacity;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int dimensions;
+    private float[] vectors = new float[0];
+    private long[] ticketIds = new long[0];
+    private String[] categories = new String[0];
+    private final Map<Long, Integer> rowByTicketId = new HashMap<>();
+    private int size;
+    private int nextEviction;
+
+    public CategoryVectorIndex(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void upsert(long ticketId, String categoryName, float[] vector) {
+        lock.writeLock().lock();
+        try {
+            if (dimensions == 0) {
+                dimensions = vector.length;
+            } else if (vector.length != dimensions) {
+                throw new IllegalArgumentException("Expected " + dimensions + " dimensions but got " + vector.length);
+            }
+
+            Integer row = rowByTicketId.get(ticketId);
+            if (row == null) {
+                row = allocateRow();
+                rowByTicketId.put(ticketId, row);
+            }
+            System.arraycopy(vector, 0, vectors, row * dimensions, dimensions);
+            ticketIds[row] = ticketId;
+            categories[row] = categoryName;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<CategoryNeighbor> nearest(float[] query, int k) {
+        lock.readLock().lock();
+        try {
+            if (size == 0 || query.length != dimensions || k <= 0) {
+                return List.of();
+            }
+
+            PriorityQueue<CategoryNeighbor> best = new PriorityQueue<>(k, Comparator.comparingDouble(CategoryNeighbor::getSimilarity));
+            for (int row = 0; row < size; row++) {
+                float similarity = dot(query, row * dimensions);
+                if (best.size() < k) {
+                    best.add(new CategoryNeighbor(ticketIds[row], categories[row], similarity));
+                } else if (similarity > best.peek().getSimilarity()) {
+                    best.poll();
+                    best.add(new CategoryNeighbor(ticketIds[row], categories[row], similarity));
+                }
+            }
+
+            List<CategoryNeighbor> neighbors = new ArrayList<>(best);
+            neighbors.sort(Comparator.comparingDouble(CategoryNeighbor::getSimilarity).reversed());
+            return neighbors;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Integer> countsByCategory() {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> counts = new HashMap<>();
+            for (int row = 0; row < size; row++) {
+                counts.merge(categories[row], 1, Integer::sum);
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private float dot(float[] query, int offset) {
+        float sum0 = 0f;
+        float sum1 = 0f;
+        float sum2 = 0f;
+        float sum3 = 0f;
+        int i = 0;
+        for (; i + 3 < dimensions; i += 4) {
+            sum0 += query[i] * vectors[offset + i];
+            sum1 += query[i + 1] * vectors[offset + i + 1];
+            sum2 += query[i + 2] * vectors[offset + i + 2];
+            sum3 += query[i + 3] * vectors[offset + i + 3];
+        }
+        for (; i < dimensions; i++) {
+            sum0 += query[i] * vectors[offset + i];
+        }
+        return sum0 + sum1 + sum2 + sum3;
+    }
+
+    private int allocateRow() {
+        if (size < capacity) {
+            if (size == ticketIds.length) {
+                grow();
+            }
+            return size++;
+        }
+
+        int row = nextEviction;
+        nextEviction = (nextEviction + 1) % capacity;
+        rowByTicketId.remove(ticketIds[row]);
+        return row;
+    }
+
+    private void grow() {
+        int rows = Math.min(capacity, Math.max(256, ticketIds.length * 2));
+        vectors = Arrays.copyOf(vectors, rows * dimensions);
+        ticketIds = Arrays.copyOf(ticketIds, rows);
+        categories = Arrays.copyOf(categories, rows);
+    }
+}
@@ -0,0 +1,90 @@
+package com.monssif.ai_intelligence_service.embedding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Offline embedder: signed feature hashing of word unigrams and bigrams with sublinear term weights.
+// Needs no model or network, so it is the default and the stand-in used by tests.
+public class HashingTextEmbedder implements TextEmbedder {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "the", "and", "or", "but", "to", "of", "in", "on", "at", "for", "with", "is", "are", "was",
+            "were", "be", "been", "it", "its", "this", "that", "i", "my", "me", "we", "our", "you", "your", "can",
+            "please", "hi", "hello", "thanks", "from", "as", "by", "have", "has", "had", "do", "does");
+
+    private final int dimensions;
+
+    public HashingTextEmbedder(int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public String id() {
+        return "hashing-" + dimensions;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] counts = new float[dimensions];
+        List<String> tokens = tokenize(text);
+        for (int i = 0; i < tokens.size(); i++) {
+            add(counts, tokens.get(i));
+            if (i > 0) {
+                add(counts, tokens.get(i - 1) + ' ' + tokens.get(i));
+            }
+        }
+
+        double norm = 0.0;
+        for (int i = 0; i < dimensions; i++) {
+            float count = counts[i];
+            if (count != 0f) {
+                counts[i] = (float) (Math.signum(count) * Math.log1p(Math.abs(count)));
+                norm += counts[i] * counts[i];
+            }
+        }
+        if (norm > 0) {
+            float scale = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < dimensions; i++) {
+                counts[i] *= scale;
+            }
+        }
+        return counts;
+    }
+
+    private void add(float[] counts, String feature) {
+        int hash = fnv1a(feature);
+        int bucket = Math.floorMod(hash, dimensions);
+        counts[bucket] += (hash & 0x80000000) == 0 ? 1f : -1f;
+    }
+
+    private static int fnv1a(String feature) {
+        int hash = 0x811c9dc5;
+        for (int i = 0; i < feature.length(); i++) {
+            hash ^= feature.charAt(i);
+            hash *= 0x01000193;
+        }
+        return hash;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (!current.isEmpty()) {
+                String token = current.toString();
+                if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                current.setLength(0);
+            }
+        }
+        return tokens;
+    }
+}
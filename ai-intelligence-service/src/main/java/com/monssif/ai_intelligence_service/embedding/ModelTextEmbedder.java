@@ -0,0 +1,35 @@
+package com.monssif.ai_intelligence_service.embedding;
+
+import org.springframework.ai.embedding.EmbeddingModel;
+
+public class ModelTextEmbedder implements TextEmbedder {
+
+    private final EmbeddingModel embeddingModel;
+    private final String modelName;
+
+    public ModelTextEmbedder(EmbeddingModel embeddingModel, String modelName) {
+        this.embeddingModel = embeddingModel;
+        this.modelName = modelName;
+    }
+
+    @Override
+    public String id() {
+        return "model-" + modelName;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = embeddingModel.embed(text == null ? "" : text);
+        double norm = 0.0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm > 0) {
+            float scale = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+}
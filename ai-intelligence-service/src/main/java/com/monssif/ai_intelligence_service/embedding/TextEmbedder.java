@@ -0,0 +1,10 @@
+package com.monssif.ai_intelligence_service.embedding;
+
+public interface TextEmbedder {
+
+    // Identifies the vector space; vectors from different embedders must never be mixed in one index.
+    String id();
+
+    // Returns an L2-normalized vector, so a dot product is the cosine similarity.
+    float[] embed(String text);
+}
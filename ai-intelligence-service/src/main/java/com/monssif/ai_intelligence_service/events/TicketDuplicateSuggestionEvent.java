@@ -0,0 +1,20 @@
+package com.monssif.ai_intelligence_service.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketDuplicateSuggestionEvent {
+    private Long ticketId;
+    private Long duplicateOfTicketId;
+    private Double similarity;
+    private LocalDateTime detectedAt;
+    private String eventType;
+}
@@ -6,16 +6,34 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class TicketUpdatedEvent {
+    public static final String FIELD_TITLE = "title";
+    public static final String FIELD_DESCRIPTION = "description";
+    public static final String FIELD_CUSTOMER = "customer";
+    public static final String FIELD_CATEGORY = "category";
+    public static final String FIELD_PRIORITY = "priority";
+    public static final String FIELD_STATUS = "status";
+    public static final String FIELD_ASSIGNED_AGENT = "assignedAgent";
+
     private Long ticketId;
     private String title;
     private String description;
     private String statusName;
+    private String categoryName;
     private LocalDateTime updatedAt;
     private String eventType;
+    private Set<String> changedFields;
+
+    // Events from older producers carry no changed-fields set, so they are treated as text changes.
+    public boolean isTextChanged() {
+        return changedFields == null
+                || changedFields.contains(FIELD_TITLE)
+                || changedFields.contains(FIELD_DESCRIPTION);
+    }
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package com.monssif.ai_intelligence_service.messaging;
 
 import com.monssif.ai_intelligence_service.events.AIAnalysisResultEvent;
+import com.monssif.ai_intelligence_service.events.TicketDuplicateSuggestionEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -16,12 +20,22 @@ public class AiAnalysisProducer {
     @Value("${kafka.topics.ai-analysis-result}")
     private String aiAnalysisResultTopic;
 
-    public void publishAnalysisResult(AIAnalysisResultEvent event){
+    @Value("${kafka.topics.ticket-duplicate-suggestion}")
+    private String ticketDuplicateSuggestionTopic;
+
+    public CompletableFuture<SendResult<String, Object>> publishAnalysisResult(AIAnalysisResultEvent event){
         String key = event.getTicketId() != null ?
                 event.getTicketId().toString() :
                 event.getCommentId().toString();
 
         log.info("Publishing AIAnalysisResultEvent with key: {}", key);
-        kafkaTemplate.send(aiAnalysisResultTopic,key,event);
+        return kafkaTemplate.send(aiAnalysisResultTopic,key,event);
+    }
+
+    public CompletableFuture<SendResult<String, Object>> publishDuplicateSuggestion(TicketDuplicateSuggestionEvent event) {
+        String key = event.getTicketId().toString();
+
+        log.info("Publishing TicketDuplicateSuggestionEvent with key: {}", key);
+        return kafkaTemplate.send(ticketDuplicateSuggestionTopic, key, event);
     }
 }
@@ -0,0 +1,148 @@
+package com.monssif.ai_intelligence_service.messaging;
+
+import com.monssif.ai_intelligence_service.dto.SentimentAnalysisResult;
+import com.monssif.ai_intelligence_service.events.CommentCreatedEvent;
+import com.monssif.ai_intelligence_service.events.TicketCreatedEvent;
+import com.monssif.ai_intelligence_service.events.TicketUpdatedEvent;
+import com.monssif.ai_intelligence_service.service.AIAnalysisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "kafka.consumer.batch.enabled", havingValue = "true")
+public class BatchEventConsumer {
+    private final AIAnalysisService aiAnalysisService;
+    private final AsyncTaskExecutor analysisExecutor;
+    private final RetryTopicRouter retryTopicRouter;
+
+    @Value("${gemini.packing.max-items:20}")
+    private int maxPackedItems;
+
+    @KafkaListener(
+            topics = "${kafka.topics.ticket-created}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            properties = "max.poll.records:${kafka.consumer.batch.max-poll-records}"
+    )
+    public void consumeTicketCreatedBatch(List<ConsumerRecord<String, TicketCreatedEvent>> records) {
+        log.info("Received batch of {} TicketCreatedEvents", records.size());
+        Map<Long, SentimentAnalysisResult> packed = analyzePacked(records, aiAnalysisService::analyzeTicketsPacked);
+        processBatch(records, event -> aiAnalysisService.processTicketCreated(event, packed.get(event.getTicketId())));
+        log.info("Successfully processed batch of {} ticket created events", records.size());
+    }
+
+    @KafkaListener(
+            topics = "${kafka.topics.ticket-updated}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            properties = "max.poll.records:${kafka.consumer.batch.max-poll-records}"
+    )
+    public void consumeTicketUpdatedBatch(List<ConsumerRecord<String, TicketUpdatedEvent>> records) {
+        log.info("Received batch of {} TicketUpdatedEvents", records.size());
+        processBatch(records, aiAnalysisService::processTicketUpdated);
+        log.info("Successfully processed batch of {} ticket updated events", records.size());
+    }
+
+    @KafkaListener(
+            topics = "${kafka.topics.comment-created}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            properties = "max.poll.records:${kafka.consumer.batch.max-poll-records}"
+    )
+    public void consumeCommentCreatedBatch(List<ConsumerRecord<String, CommentCreatedEvent>> records) {
+        log.info("Received batch of {} CommentCreatedEvents", records.size());
+        Map<Long, SentimentAnalysisResult> packed = analyzePacked(records, aiAnalysisService::analyzeCommentsPacked);
+        processBatch(records, event -> aiAnalysisService.processCommentCreated(event, packed.get(event.getCommentId())));
+        log.info("Successfully processed batch of {} comment created events", records.size());
+    }
+
+    // Scores the poll with packed prompts, one chunk per executor task. Records missing from the result, including
+    // every record of a chunk whose packed call failed, are analyzed one by one in processBatch.
+    private <T> Map<Long, SentimentAnalysisResult> analyzePacked(List<ConsumerRecord<String, T>> records,
+                                                               Function<List<T>, Map<Long, SentimentAnalysisResult>> analyzer) {
+        List<T> events = records.stream()
+                .map(ConsumerRecord::value)
+                .filter(Objects::nonNull)
+                .toList();
+        int chunkSize = Math.max(1, maxPackedItems);
+
+        Map<Long, SentimentAnalysisResult> results = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int i = 0; i < events.size(); i += chunkSize) {
+            List<T> chunk = events.subList(i, Math.min(events.size(), i + chunkSize));
+            chunks.add(CompletableFuture
+                    .runAsync(() -> results.putAll(analyzer.apply(chunk)), analysisExecutor)
+                    .exceptionally(e -> {
+                        log.warn("Packed analysis of {} events failed, analyzing them one by one: {}",
+                                chunk.size(), e.getMessage());
+                        return null;
+                    }));
+        }
+
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+        return results;
+    }
+
+    // Records sharing a key stay on one task, in offset order, so per-ticket ordering is preserved.
+    // Each record's result must be acknowledged before the next record for its key is processed, so a
+    // failure - including one reported asynchronously by the send - hands that record to the retry topics
+    // together with every later record for its key, and the key keeps its order there too. The listener
+    // only returns (and the container only commits) once every result or retry hand-off is acknowledged.
+    private <T> void processBatch(List<ConsumerRecord<String, T>> records,
+                                  Function<T, CompletableFuture<SendResult<String, Object>>> processor) {
+        Map<String, List<ConsumerRecord<String, T>>> recordsByKey = new LinkedHashMap<>();
+        for (ConsumerRecord<String, T> record : records) {
+            recordsByKey.computeIfAbsent(Objects.toString(record.key(), ""), key -> new ArrayList<>())
+                    .add(record);
+        }
+
+        List<CompletableFuture<Void>> keyTasks = recordsByKey.values().stream()
+                .map(keyRecords -> CompletableFuture
+                        .supplyAsync(() -> processInOrder(keyRecords, processor), analysisExecutor)
+                        .thenCompose(sends -> CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))))
+                .toList();
+
+        CompletableFuture.allOf(keyTasks.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private <T> List<CompletableFuture<SendResult<String, Object>>> processInOrder(
+            List<ConsumerRecord<String, T>> keyRecords,
+            Function<T, CompletableFuture<SendResult<String, Object>>> processor) {
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>();
+        Throwable failure = null;
+        for (ConsumerRecord<String, T> record : keyRecords) {
+            if (failure != null) {
+                sends.add(retryTopicRouter.routeFailure(record, failure));
+                continue;
+            }
+            try {
+                sends.add(CompletableFuture.completedFuture(processor.apply(record.value()).join()));
+            } catch (Exception e) {
+                failure = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                log.error("Error processing event with key {} from {}: {}", record.key(), record.topic(),
+                        failure.getMessage(), failure);
+                sends.add(retryTopicRouter.routeFailure(record, failure));
+            }
+        }
+        return sends;
+    }
+}
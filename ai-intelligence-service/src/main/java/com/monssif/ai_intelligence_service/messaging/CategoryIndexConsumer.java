@@ -0,0 +1,40 @@
+package com.monssif.ai_intelligence_service.messaging;
+
+import com.monssif.ai_intelligence_service.events.TicketCreatedEvent;
+import com.monssif.ai_intelligence_service.events.TicketUpdatedEvent;
+import com.monssif.ai_intelligence_service.service.CategorySuggestionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryIndexConsumer {
+
+    private final CategorySuggestionService categorySuggestionService;
+
+    // Every instance keeps its own vector index, so it joins its own consumer group and reads only new events;
+    // older resolutions are loaded from Redis on startup.
+    @KafkaListener(
+            topics = {"${kafka.topics.ticket-created}", "${kafka.topics.ticket-updated}"},
+            groupId = "${ai.category-index.group-id}",
+            properties = "auto.offset.reset:latest"
+    )
+    public void consumeTicketEvent(ConsumerRecord<String, Object> record) {
+        try {
+            if (record.value() instanceof TicketCreatedEvent created) {
+                categorySuggestionService.observeCategory(created.getCategoryName());
+            } else if (record.value() instanceof TicketUpdatedEvent updated
+                    && updated.getCategoryName() != null
+                    && categorySuggestionService.isResolved(updated.getStatusName())) {
+                categorySuggestionService.learn(updated.getTicketId(), updated.getTitle(),
+                        updated.getDescription(), updated.getCategoryName());
+            }
+        } catch (Exception e) {
+            log.error("Error updating category index from {}: {}", record.topic(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.monssif.ai_intelligence_service.messaging;
+
+import com.monssif.ai_intelligence_service.duplicate.DuplicateMatch;
+import com.monssif.ai_intelligence_service.events.TicketCreatedEvent;
+import com.monssif.ai_intelligence_service.events.TicketDuplicateSuggestionEvent;
+import com.monssif.ai_intelligence_service.service.DuplicateDetectionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DuplicateDetectionConsumer {
+
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final AiAnalysisProducer aiAnalysisProducer;
+
+    // Shared group: each new ticket is checked once across all instances.
+    @KafkaListener(
+            topics = "${kafka.topics.ticket-created}",
+            groupId = "${ai.duplicates.group-id}"
+    )
+    public void detectDuplicate(TicketCreatedEvent event) {
+        try {
+            DuplicateMatch match = duplicateDetectionService.detectAndIndex(
+                    event.getTicketId(), event.getTitle(), event.getDescription());
+            if (match == null) {
+                return;
+            }
+
+            aiAnalysisProducer.publishDuplicateSuggestion(TicketDuplicateSuggestionEvent.builder()
+                    .ticketId(event.getTicketId())
+                    .duplicateOfTicketId(match.getTicketId())
+                    .similarity(match.getSimilarity())
+                    .detectedAt(LocalDateTime.now())
+                    .eventType("TICKET_DUPLICATE_SUGGESTION")
+                    .build());
+        } catch (Exception e) {
+            log.error("Error detecting duplicates for ticket {}: {}", event.getTicketId(), e.getMessage(), e);
+        }
+    }
+
+    // Every instance also indexes the tickets checked by the others, so its index covers all partitions;
+    // the checking instance has already persisted them.
+    @KafkaListener(
+            topics = "${kafka.topics.ticket-created}",
+            groupId = "${ai.duplicates.index-group-id}",
+            properties = "auto.offset.reset:latest"
+    )
+    public void indexTicket(TicketCreatedEvent event) {
+        try {
+            duplicateDetectionService.index(event.getTicketId(), event.getTitle(), event.getDescription());
+        } catch (Exception e) {
+            log.error("Error indexing ticket {} for duplicate detection: {}", event.getTicketId(), e.getMessage(), e);
+        }
+    }
+}
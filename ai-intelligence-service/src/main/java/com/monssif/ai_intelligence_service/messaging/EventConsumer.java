@@ -6,26 +6,32 @@ import com.monssif.ai_intelligence_service.events.TicketUpdatedEvent;
 import com.monssif.ai_intelligence_service.service.AIAnalysisService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@ConditionalOnProperty(name = "kafka.consumer.batch.enabled", havingValue = "false", matchIfMissing = true)
 public class EventConsumer {
     private final AIAnalysisService aiAnalysisService;
+    private final RetryTopicRouter retryTopicRouter;
 
     @KafkaListener(
             topics = "${kafka.topics.ticket-created}",
             groupId = "${spring.kafka.consumer.group-id}"
     )
-    public void consumeTicketCreated(TicketCreatedEvent event){
+    public void consumeTicketCreated(ConsumerRecord<String, TicketCreatedEvent> record){
+        TicketCreatedEvent event = record.value();
         log.info("Received TicketCreatedEvent {}",event);
         try{
-            aiAnalysisService.processTicketCreated(event);
+            aiAnalysisService.processTicketCreated(event).join();
             log.info("Successfully processed ticket created event for ticket ID: {}",event.getTicketId());
         }catch(Exception e){
             log.error("Error processing TicketCreatedEvent: {}", e.getMessage(), e);
+            retryTopicRouter.routeFailure(record, e).join();
         }
     }
 
@@ -33,13 +39,15 @@ public class EventConsumer {
             topics = "${kafka.topics.ticket-updated}",
             groupId = "${spring.kafka.consumer.group-id}"
     )
-    public void consumeTicketUpdated(TicketUpdatedEvent event){
+    public void consumeTicketUpdated(ConsumerRecord<String, TicketUpdatedEvent> record){
+        TicketUpdatedEvent event = record.value();
         log.info("Received TicketUpdatedEvent: {}", event);
         try{
-            aiAnalysisService.processTicketUpdated(event);
+            aiAnalysisService.processTicketUpdated(event).join();
             log.info("Successfully processed ticket updated event for ticket ID: {}", event.getTicketId());
         }catch(Exception e){
             log.error("Error processing TicketUpdatedEvent: {}", e.getMessage(), e);
+            retryTopicRouter.routeFailure(record, e).join();
         }
     }
 
@@ -48,13 +56,15 @@ public class EventConsumer {
             topics = "${kafka.topics.comment-created}",
             groupId = "${spring.kafka.consumer.group-id}"
     )
-    public void consumeCommentCreated(CommentCreatedEvent event) {
+    public void consumeCommentCreated(ConsumerRecord<String, CommentCreatedEvent> record) {
+        CommentCreatedEvent event = record.value();
         log.info("Received CommentCreatedEvent: {}", event);
         try {
-            aiAnalysisService.processCommentCreated(event);
+            aiAnalysisService.processCommentCreated(event).join();
             log.info("Successfully processed comment created event for comment ID: {}", event.getCommentId());
         } catch (Exception e) {
             log.error("Error processing CommentCreatedEvent: {}", e.getMessage(), e);
+            retryTopicRouter.routeFailure(record, e).join();
         }
     }
 }
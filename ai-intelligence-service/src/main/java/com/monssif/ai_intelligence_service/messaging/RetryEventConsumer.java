@@ -0,0 +1,91 @@
+package com.monssif.ai_intelligence_service.messaging;
+
+import com.monssif.ai_intelligence_service.events.CommentCreatedEvent;
+import com.monssif.ai_intelligence_service.events.TicketCreatedEvent;
+import com.monssif.ai_intelligence_service.events.TicketUpdatedEvent;
+import com.monssif.ai_intelligence_service.service.AIAnalysisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+// One listener per retry level: every record in a level has the same backoff, so waiting for the
+// head record never holds back a record that is already due.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RetryEventConsumer {
+    private final AIAnalysisService aiAnalysisService;
+    private final RetryTopicRouter retryTopicRouter;
+
+    @Value("${kafka.retry.max-pause:30s}")
+    private Duration maxPause;
+
+    @KafkaListener(
+            id = "ai-retry-1",
+            topics = "#{@retryTopicRouter.retryTopics(1)}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "retryKafkaListenerContainerFactory"
+    )
+    public void consumeRetryLevel1(ConsumerRecord<String, Object> record, Acknowledgment ack) {
+        retry(record, ack);
+    }
+
+    @KafkaListener(
+            id = "ai-retry-2",
+            topics = "#{@retryTopicRouter.retryTopics(2)}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "retryKafkaListenerContainerFactory"
+    )
+    public void consumeRetryLevel2(ConsumerRecord<String, Object> record, Acknowledgment ack) {
+        retry(record, ack);
+    }
+
+    @KafkaListener(
+            id = "ai-retry-3",
+            topics = "#{@retryTopicRouter.retryTopics(3)}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "retryKafkaListenerContainerFactory"
+    )
+    public void consumeRetryLevel3(ConsumerRecord<String, Object> record, Acknowledgment ack) {
+        retry(record, ack);
+    }
+
+    private void retry(ConsumerRecord<String, Object> record, Acknowledgment ack) {
+        long waitMs = retryTopicRouter.dueAt(record) - System.currentTimeMillis();
+        if (waitMs > 0) {
+            ack.nack(Duration.ofMillis(Math.min(waitMs, maxPause.toMillis())));
+            return;
+        }
+
+        log.info("Retrying event with key {} from {} (attempt {})",
+                record.key(), record.topic(), retryTopicRouter.attempt(record));
+        try {
+            dispatch(record.value()).join();
+            log.info("Retry succeeded for event with key {} from {}", record.key(), record.topic());
+        } catch (Exception e) {
+            retryTopicRouter.routeFailure(record, e).join();
+        }
+        ack.acknowledge();
+    }
+
+    private CompletableFuture<SendResult<String, Object>> dispatch(Object value) {
+        if (value instanceof TicketCreatedEvent event) {
+            return aiAnalysisService.processTicketCreated(event);
+        }
+        if (value instanceof TicketUpdatedEvent event) {
+            return aiAnalysisService.processTicketUpdated(event);
+        }
+        if (value instanceof CommentCreatedEvent event) {
+            return aiAnalysisService.processCommentCreated(event);
+        }
+        throw new IllegalArgumentException("Unsupported retry payload: " + (value == null ? null : value.getClass().getName()));
+    }
+}
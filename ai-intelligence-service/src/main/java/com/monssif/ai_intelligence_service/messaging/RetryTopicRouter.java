@@ -0,0 +1,160 @@
+package com.monssif.ai_intelligence_service.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+// Non-blocking retries: a failed event is re-published to <topic>.retry-<n> with a due time,
+// and after the last retry level to <topic>.dlt. Main topic partitions never wait on a failure.
+@Component
+@Slf4j
+public class RetryTopicRouter {
+
+    public static final int RETRY_LEVELS = 3;
+
+    public static final String HEADER_ORIGINAL_TOPIC = "x-original-topic";
+    public static final String HEADER_ATTEMPT = "x-retry-attempt";
+    public static final String HEADER_DUE_AT = "x-retry-due-at";
+    public static final String HEADER_EXCEPTION_CLASS = "x-exception-class";
+    public static final String HEADER_EXCEPTION_MESSAGE = "x-exception-message";
+
+    private static final int MAX_EXCEPTION_MESSAGE_LENGTH = 1000;
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final List<String> sourceTopics;
+    private final Duration initialInterval;
+    private final double multiplier;
+    private final Duration maxInterval;
+
+    public RetryTopicRouter(KafkaTemplate<String, Object> kafkaTemplate,
+                            @Value("${kafka.topics.ticket-created}") String ticketCreatedTopic,
+                            @Value("${kafka.topics.ticket-updated}") String ticketUpdatedTopic,
+                            @Value("${kafka.topics.comment-created}") String commentCreatedTopic,
+                            @Value("${kafka.retry.backoff.initial-interval:5s}") Duration initialInterval,
+                            @Value("${kafka.retry.backoff.multiplier:4}") double multiplier,
+                            @Value("${kafka.retry.backoff.max-interval:5m}") Duration maxInterval) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.sourceTopics = List.of(ticketCreatedTopic, ticketUpdatedTopic, commentCreatedTopic);
+        this.initialInterval = initialInterval;
+        this.multiplier = multiplier;
+        this.maxInterval = maxInterval;
+    }
+
+    public List<String> getSourceTopics() {
+        return sourceTopics;
+    }
+
+    public String[] retryTopics(int level) {
+        return sourceTopics.stream().map(topic -> retryTopic(topic, level)).toArray(String[]::new);
+    }
+
+    public List<String> dltTopics() {
+        return sourceTopics.stream().map(this::dltTopic).toList();
+    }
+
+    public String retryTopic(String sourceTopic, int level) {
+        return sourceTopic + ".retry-" + level;
+    }
+
+    public String dltTopic(String sourceTopic) {
+        return sourceTopic + ".dlt";
+    }
+
+    public Duration backoff(int level) {
+        double delayMs = initialInterval.toMillis() * Math.pow(multiplier, level - 1);
+        return Duration.ofMillis((long) Math.min(delayMs, maxInterval.toMillis()));
+    }
+
+    public CompletableFuture<SendResult<String, Object>> routeFailure(ConsumerRecord<String, ?> record, Throwable error) {
+        String sourceTopic = originalTopic(record);
+        int nextAttempt = attempt(record) + 1;
+        Throwable cause = rootCause(error);
+
+        if (nextAttempt > RETRY_LEVELS) {
+            log.error("Event with key {} from {} failed after {} retries - sending to DLT: {}",
+                    record.key(), sourceTopic, RETRY_LEVELS, cause.getMessage());
+            return send(dltTopic(sourceTopic), record, sourceTopic, nextAttempt, System.currentTimeMillis(), cause);
+        }
+
+        Duration delay = backoff(nextAttempt);
+        log.warn("Event with key {} from {} failed - retry {}/{} in {}: {}",
+                record.key(), sourceTopic, nextAttempt, RETRY_LEVELS, delay, cause.getMessage());
+        return send(retryTopic(sourceTopic, nextAttempt), record, sourceTopic, nextAttempt,
+                System.currentTimeMillis() + delay.toMillis(), cause);
+    }
+
+    public CompletableFuture<SendResult<String, Object>> replay(ConsumerRecord<?, ?> dltRecord) {
+        String sourceTopic = originalTopic(dltRecord);
+        log.info("Replaying DLT event with key {} into {}", dltRecord.key(), retryTopic(sourceTopic, 1));
+
+        ProducerRecord<String, Object> record = new ProducerRecord<>(retryTopic(sourceTopic, 1),
+                Objects.toString(dltRecord.key(), null), dltRecord.value());
+        setHeader(record.headers(), HEADER_ORIGINAL_TOPIC, sourceTopic);
+        setHeader(record.headers(), HEADER_ATTEMPT, "1");
+        setHeader(record.headers(), HEADER_DUE_AT, Long.toString(System.currentTimeMillis()));
+        return kafkaTemplate.send(record);
+    }
+
+    public String originalTopic(ConsumerRecord<?, ?> record) {
+        String topic = header(record.headers(), HEADER_ORIGINAL_TOPIC);
+        return topic != null ? topic : record.topic();
+    }
+
+    public int attempt(ConsumerRecord<?, ?> record) {
+        String attempt = header(record.headers(), HEADER_ATTEMPT);
+        return attempt != null ? Integer.parseInt(attempt) : 0;
+    }
+
+    public long dueAt(ConsumerRecord<?, ?> record) {
+        String dueAt = header(record.headers(), HEADER_DUE_AT);
+        return dueAt != null ? Long.parseLong(dueAt) : 0L;
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(String topic, ConsumerRecord<String, ?> source,
+                                                               String sourceTopic, int attempt, long dueAt, Throwable cause) {
+        ProducerRecord<String, Object> record = new ProducerRecord<>(topic, source.key(), source.value());
+        setHeader(record.headers(), HEADER_ORIGINAL_TOPIC, sourceTopic);
+        setHeader(record.headers(), HEADER_ATTEMPT, Integer.toString(attempt));
+        setHeader(record.headers(), HEADER_DUE_AT, Long.toString(dueAt));
+        setHeader(record.headers(), HEADER_EXCEPTION_CLASS, cause.getClass().getName());
+        setHeader(record.headers(), HEADER_EXCEPTION_MESSAGE, truncate(cause.getMessage()));
+        return kafkaTemplate.send(record);
+    }
+
+    private Throwable rootCause(Throwable error) {
+        Throwable current = error;
+        while (current.getCause() != null && current.getCause() != current) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return "";
+        }
+        return message.length() > MAX_EXCEPTION_MESSAGE_LENGTH ? message.substring(0, MAX_EXCEPTION_MESSAGE_LENGTH) : message;
+    }
+
+    private static void setHeader(Headers headers, String name, String value) {
+        headers.remove(name);
+        headers.add(name, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String header(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
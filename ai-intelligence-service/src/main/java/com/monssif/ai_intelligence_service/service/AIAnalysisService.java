@@ -1,13 +1,23 @@
 package com.monssif.ai_intelligence_service.service;
 
+import com.monssif.ai_intelligence_service.dto.CategorySuggestion;
+import com.monssif.ai_intelligence_service.dto.CommentAnalysisRequest;
+import com.monssif.ai_intelligence_service.dto.LocalSentimentResult;
 import com.monssif.ai_intelligence_service.dto.SentimentAnalysisResult;
+import com.monssif.ai_intelligence_service.dto.TicketAnalysisRequest;
 import com.monssif.ai_intelligence_service.events.*;
 import com.monssif.ai_intelligence_service.messaging.AiAnalysisProducer;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -15,40 +25,79 @@ import java.time.LocalDateTime;
 public class AIAnalysisService {
     private final AiAnalysisProducer producer;
     private final GeminiService geminiService;
+    private final LocalSentimentClassifier localSentimentClassifier;
+    private final CategorySuggestionService categorySuggestionService;
+    private final MeterRegistry meterRegistry;
 
-    public void processTicketCreated(TicketCreatedEvent event) {
+    @Value("${ai.local-sentiment.enabled:true}")
+    private boolean localSentimentEnabled;
+
+    @Value("${ai.local-sentiment.min-confidence:0.7}")
+    private double localSentimentMinConfidence;
+
+    @Value("${ai.local-sentiment.max-length:200}")
+    private int localSentimentMaxLength;
+
+    // Scores a poll of new tickets with packed Gemini prompts. Tickets missing from the result are analyzed one by
+    // one when processTicketCreated gets no packed result for them.
+    public Map<Long, SentimentAnalysisResult> analyzeTicketsPacked(List<TicketCreatedEvent> events) {
+        List<TicketAnalysisRequest> requests = events.stream()
+                .map(event -> TicketAnalysisRequest.builder()
+                        .id(event.getTicketId())
+                        .title(event.getTitle())
+                        .description(event.getDescription())
+                        .category(event.getCategoryName())
+                        .build())
+                .toList();
+        return geminiService.analyzeTicketSentimentBatch(requests, categorySuggestionService.getKnownCategories());
+    }
+
+    // Comments the local model scores confidently are left out of the packed prompts.
+    public Map<Long, SentimentAnalysisResult> analyzeCommentsPacked(List<CommentCreatedEvent> events) {
+        List<CommentAnalysisRequest> requests = events.stream()
+                .filter(event -> classifyLocally(event.getContent()) == null)
+                .map(event -> CommentAnalysisRequest.builder()
+                        .id(event.getCommentId())
+                        .content(event.getContent())
+                        .build())
+                .toList();
+        return requests.isEmpty() ? Map.of() : geminiService.analyzeCommentSentimentBatch(requests);
+    }
+
+    public CompletableFuture<SendResult<String, Object>> processTicketCreated(TicketCreatedEvent event) {
+        return processTicketCreated(event, null);
+    }
+
+    public CompletableFuture<SendResult<String, Object>> processTicketCreated(TicketCreatedEvent event,
+                                                                              SentimentAnalysisResult packed) {
         log.info("Processing ticket created event for ticket ID: {}", event.getTicketId());
 
-        try{
-            SentimentAnalysisResult analysis = this.geminiService.analyzeTicketSentiment
-                    (event.getTitle(),event.getDescription(),event.getCategoryName());
-
-            // TODO: Store in Redis
-            AIAnalysisResultEvent resultEvent = AIAnalysisResultEvent.builder()
-                    .ticketId(event.getTicketId())
-                    .sentimentScore(analysis.getSentimentScore())
-                    .suggestedCategoryName(analysis.getSuggestedCategory())
-                    .analyzedAt(LocalDateTime.now())
-                    .eventType("AI_ANALYSIS_RESULT")
-                    .build();
-            producer.publishAnalysisResult(resultEvent);
-            log.info("Published analysis result for created ticket ID: {}", event.getTicketId());
-        } catch (Exception e) {
-            log.error("Error analyzing ticket {}: {}", event.getTicketId(), e.getMessage(), e);
-            sendDefaultResult(event.getTicketId(), null);
-        }
+        SentimentAnalysisResult analysis = requireUsable(analyzeTicket(event.getTitle(), event.getDescription(),
+                event.getCategoryName(), packed), "ticket " + event.getTicketId());
+
+        AIAnalysisResultEvent resultEvent = AIAnalysisResultEvent.builder()
+                .ticketId(event.getTicketId())
+                .sentimentScore(analysis.getSentimentScore())
+                .suggestedCategoryName(analysis.getSuggestedCategory())
+                .analyzedAt(LocalDateTime.now())
+                .eventType("AI_ANALYSIS_RESULT")
+                .build();
+        CompletableFuture<SendResult<String, Object>> sendFuture = producer.publishAnalysisResult(resultEvent);
+        log.info("Published analysis result for created ticket ID: {}", event.getTicketId());
+        return sendFuture;
     }
 
-    public void processTicketUpdated(TicketUpdatedEvent event) {
+    public CompletableFuture<SendResult<String, Object>> processTicketUpdated(TicketUpdatedEvent event) {
         log.info("Processing ticket updated event for ticket ID: {}", event.getTicketId());
 
-        try {
-            SentimentAnalysisResult analysis = geminiService.analyzeTicketSentiment(
-                    event.getTitle(),
-                    event.getDescription(),
-                    null
-            );
-        // TODO: Update Redis
+        if (!event.isTextChanged()) {
+            log.info("Skipping analysis for ticket ID: {}, changed fields: {}",
+                    event.getTicketId(), event.getChangedFields());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        SentimentAnalysisResult analysis = requireUsable(analyzeTicket(event.getTitle(), event.getDescription(),
+                event.getCategoryName(), null), "ticket " + event.getTicketId());
         AIAnalysisResultEvent resultEvent = AIAnalysisResultEvent.builder()
                 .ticketId(event.getTicketId())
                 .sentimentScore(analysis.getSentimentScore())
@@ -56,47 +105,96 @@ public class AIAnalysisService {
                 .analyzedAt(LocalDateTime.now())
                 .eventType("AI_ANALYSIS_RESULT")
                 .build();
-        producer.publishAnalysisResult(resultEvent);
+        CompletableFuture<SendResult<String, Object>> sendFuture = producer.publishAnalysisResult(resultEvent);
         log.info("Published analysis result for updated ticket ID: {}", event.getTicketId());
-        } catch (Exception e) {
-            log.error("Error analyzing updated ticket {}: {}", event.getTicketId(), e.getMessage(), e);
-            sendDefaultResult(event.getTicketId(), null);
-        }
+        return sendFuture;
+    }
+
+    public CompletableFuture<SendResult<String, Object>> processCommentCreated(CommentCreatedEvent event) {
+        return processCommentCreated(event, null);
     }
 
-    public void processCommentCreated(CommentCreatedEvent event) {
+    public CompletableFuture<SendResult<String, Object>> processCommentCreated(CommentCreatedEvent event,
+                                                                               SentimentAnalysisResult packed) {
         log.info("Processing comment created event for comment ID: {} on ticket ID: {}",
                 event.getCommentId(), event.getTicketId());
-        try{
-            SentimentAnalysisResult analysis = this.geminiService.analyzeCommentSentiment(event.getContent());
-            // TODO: Store in Redis
-            AIAnalysisResultEvent resultEvent = AIAnalysisResultEvent.builder()
-                    .commentId(event.getCommentId())
-                    .ticketId(event.getTicketId())
-                    .sentimentScore(analysis.getSentimentScore())
-                    .analyzedAt(LocalDateTime.now())
-                    .eventType("AI_ANALYSIS_RESULT")
+
+        SentimentAnalysisResult analysis = requireUsable(analyzeComment(event.getContent(), packed),
+                "comment " + event.getCommentId());
+        AIAnalysisResultEvent resultEvent = AIAnalysisResultEvent.builder()
+                .commentId(event.getCommentId())
+                .ticketId(event.getTicketId())
+                .sentimentScore(analysis.getSentimentScore())
+                .analyzedAt(LocalDateTime.now())
+                .eventType("AI_ANALYSIS_RESULT")
+                .build();
+
+        CompletableFuture<SendResult<String, Object>> sendFuture = producer.publishAnalysisResult(resultEvent);
+        log.info("Published analysis result for comment ID: {}", event.getCommentId());
+        return sendFuture;
+    }
+
+    // A clear k-NN vote over resolved tickets decides the category, so Gemini is only asked for the sentiment;
+    // ambiguous tickets fall back to the combined prompt with the categories seen so far. A packed result, when there
+    // is one, stands in for either call.
+    private SentimentAnalysisResult analyzeTicket(String title, String description, String currentCategory,
+                                                  SentimentAnalysisResult packed) {
+        CategorySuggestion suggestion = categorySuggestionService.suggest(title, description);
+        if (suggestion.isConfident()) {
+            log.info("Suggested category {} from {} similar resolved tickets (vote share {})",
+                    suggestion.getCategoryName(), suggestion.getNeighbors(), suggestion.getVoteShare());
+            meterRegistry.counter("ai.ticket.category.route", "path", "knn").increment();
+            SentimentAnalysisResult sentiment = packed != null
+                    ? packed
+                    : geminiService.analyzeTicketSentimentOnly(title, description);
+            return SentimentAnalysisResult.builder()
+                    .sentimentScore(sentiment.getSentimentScore())
+                    .suggestedCategory(suggestion.getCategoryName())
+                    .fallback(sentiment.isFallback())
                     .build();
+        }
 
-            producer.publishAnalysisResult(resultEvent);
-            log.info("Published analysis result for comment ID: {}", event.getCommentId());
+        meterRegistry.counter("ai.ticket.category.route", "path", "llm").increment();
+        if (packed != null) {
+            return packed;
+        }
+        return geminiService.analyzeTicketSentiment(title, description, currentCategory,
+                categorySuggestionService.getKnownCategories());
+    }
 
-        } catch (Exception e) {
-            log.error("Error analyzing comment {}: {}", event.getCommentId(), e.getMessage(), e);
-            sendDefaultResult(null, event.getCommentId());
+    // Short comments with a confident local score skip the Gemini round trip; everything else escalates.
+    private SentimentAnalysisResult analyzeComment(String content, SentimentAnalysisResult packed) {
+        LocalSentimentResult local = classifyLocally(content);
+        if (local != null) {
+            log.info("Scored comment locally: sentiment {}, confidence {}",
+                    local.getSentimentScore(), local.getConfidence());
+            meterRegistry.counter("ai.comment.sentiment.route", "path", "local").increment();
+            return SentimentAnalysisResult.builder()
+                    .sentimentScore(local.getSentimentScore())
+                    .build();
         }
+
+        meterRegistry.counter("ai.comment.sentiment.route", "path", "gemini").increment();
+        return packed != null ? packed : geminiService.analyzeCommentSentiment(content);
     }
 
-    private void sendDefaultResult(Long ticketId, Long commentId) {
-        AIAnalysisResultEvent resultEvent = AIAnalysisResultEvent.builder()
-                .ticketId(ticketId)
-                .commentId(commentId)
-                .sentimentScore(0.0)
-                .analyzedAt(LocalDateTime.now())
-                .eventType("AI_ANALYSIS_RESULT")
-                .build();
+    // The neutral fallback for an unusable Gemini reply is not a real score; publishing it would overwrite a stored
+    // one. Failing the event sends it through the retry topics instead, and on to the DLT if the reply stays unusable.
+    private SentimentAnalysisResult requireUsable(SentimentAnalysisResult analysis, String subject) {
+        if (analysis.isFallback()) {
+            meterRegistry.counter("ai.analysis.unusable").increment();
+            throw new IllegalStateException("Gemini reply for " + subject + " could not be parsed");
+        }
+        return analysis;
+    }
 
-        producer.publishAnalysisResult(resultEvent);
-        log.warn("Sent default analysis result for ticket: {}, comment: {}", ticketId, commentId);
+    private LocalSentimentResult classifyLocally(String content) {
+        if (localSentimentEnabled && content != null && content.length() <= localSentimentMaxLength) {
+            LocalSentimentResult local = localSentimentClassifier.classify(content);
+            if (local.getConfidence() >= localSentimentMinConfidence) {
+                return local;
+            }
+        }
+        return null;
     }
-}
\ No newline at end of file
+}
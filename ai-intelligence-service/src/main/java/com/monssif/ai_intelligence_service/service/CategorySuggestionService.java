@@ -0,0 +1,181 @@
+package com.monssif.ai_intelligence_service.service;
+
+import com.monssif.ai_intelligence_service.dto.CategorySuggestion;
+import com.monssif.ai_intelligence_service.embedding.CategoryNeighbor;
+import com.monssif.ai_intelligence_service.embedding.CategoryVectorIndex;
+import com.monssif.ai_intelligence_service.embedding.TextEmbedder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Suggests a category from k-NN votes over resolved tickets. Vectors are kept in an in-memory index
+// and mirrored to a Redis hash per embedder, so a restarted instance starts warm.
+@Service
+@Slf4j
+public class CategorySuggestionService {
+
+    private static final char FIELD_SEPARATOR = '\u001F';
+
+    private final TextEmbedder textEmbedder;
+    private final StringRedisTemplate redisTemplate;
+    private final CategoryVectorIndex index;
+    private final Set<String> knownCategories = ConcurrentHashMap.newKeySet();
+
+    private final String vectorsKey;
+    private final String categoriesKey;
+    private final Set<String> resolvedStatuses;
+    private final int neighbors;
+    private final double minSimilarity;
+    private final double minVoteShare;
+    private final int minNeighbors;
+
+    public CategorySuggestionService(TextEmbedder textEmbedder,
+                                     StringRedisTemplate redisTemplate,
+                                     @Value("${ai.category-index.capacity:20000}") int capacity,
+                                     @Value("${ai.category-index.redis-key:category-index}") String redisKey,
+                                     @Value("${ai.category-index.resolved-statuses:RESOLVED,CLOSED}") Set<String> resolvedStatuses,
+                                     @Value("${ai.category-index.neighbors:15}") int neighbors,
+                                     @Value("${ai.category-index.min-similarity:0.2}") double minSimilarity,
+                                     @Value("${ai.category-index.min-vote-share:0.6}") double minVoteShare,
+                                     @Value("${ai.category-index.min-neighbors:3}") int minNeighbors) {
+        this.textEmbedder = textEmbedder;
+        this.redisTemplate = redisTemplate;
+        this.index = new CategoryVectorIndex(capacity);
+        this.vectorsKey = redisKey + ":" + textEmbedder.id();
+        this.categoriesKey = redisKey + ":categories";
+        this.resolvedStatuses = resolvedStatuses;
+        this.neighbors = neighbors;
+        this.minSimilarity = minSimilarity;
+        this.minVoteShare = minVoteShare;
+        this.minNeighbors = minNeighbors;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFromRedis() {
+        try {
+            Set<String> categories = redisTemplate.opsForSet().members(categoriesKey);
+            if (categories != null) {
+                knownCategories.addAll(categories);
+            }
+
+            int loaded = 0;
+            try (Cursor<Map.Entry<Object, Object>> cursor = redisTemplate.opsForHash()
+                    .scan(vectorsKey, ScanOptions.scanOptions().count(1000).build())) {
+                while (cursor.hasNext()) {
+                    Map.Entry<Object, Object> entry = cursor.next();
+                    String value = entry.getValue().toString();
+                    int separator = value.indexOf(FIELD_SEPARATOR);
+                    index.upsert(Long.parseLong(entry.getKey().toString()), value.substring(0, separator),
+                            decode(value.substring(separator + 1)));
+                    loaded++;
+                }
+            }
+            log.info("Loaded {} resolved tickets and {} categories into the category index", loaded, knownCategories.size());
+        } catch (Exception e) {
+            log.warn("Failed to load category index from Redis, starting empty: {}", e.getMessage());
+        }
+    }
+
+    public CategorySuggestion suggest(String title, String description) {
+        List<CategoryNeighbor> nearest = index.nearest(textEmbedder.embed(text(title, description)), neighbors);
+
+        Map<String, Double> votes = new HashMap<>();
+        double total = 0.0;
+        int used = 0;
+        for (CategoryNeighbor neighbor : nearest) {
+            if (neighbor.getSimilarity() < minSimilarity) {
+                break;
+            }
+            votes.merge(neighbor.getCategoryName(), neighbor.getSimilarity(), Double::sum);
+            total += neighbor.getSimilarity();
+            used++;
+        }
+
+        if (used == 0) {
+            return CategorySuggestion.builder()
+                    .voteShare(0.0)
+                    .topSimilarity(nearest.isEmpty() ? 0.0 : nearest.get(0).getSimilarity())
+                    .neighbors(0)
+                    .confident(false)
+                    .build();
+        }
+
+        Map.Entry<String, Double> winner = votes.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElseThrow();
+        double voteShare = winner.getValue() / total;
+        return CategorySuggestion.builder()
+                .categoryName(winner.getKey())
+                .voteShare(voteShare)
+                .topSimilarity(nearest.get(0).getSimilarity())
+                .neighbors(used)
+                .confident(used >= minNeighbors && voteShare >= minVoteShare)
+                .build();
+    }
+
+    public boolean isResolved(String statusName) {
+        return statusName != null && resolvedStatuses.contains(statusName);
+    }
+
+    public void learn(Long ticketId, String title, String description, String categoryName) {
+        float[] vector = textEmbedder.embed(text(title, description));
+        index.upsert(ticketId, categoryName, vector);
+        observeCategory(categoryName);
+
+        try {
+            redisTemplate.opsForHash().put(vectorsKey, ticketId.toString(), categoryName + FIELD_SEPARATOR + encode(vector));
+        } catch (Exception e) {
+            log.warn("Failed to persist category vector for ticket {}: {}", ticketId, e.getMessage());
+        }
+        log.info("Indexed resolved ticket {} under category {}", ticketId, categoryName);
+    }
+
+    public void observeCategory(String categoryName) {
+        if (categoryName == null || categoryName.isBlank() || !knownCategories.add(categoryName)) {
+            return;
+        }
+        try {
+            redisTemplate.opsForSet().add(categoriesKey, categoryName);
+        } catch (Exception e) {
+            log.warn("Failed to persist category {}: {}", categoryName, e.getMessage());
+        }
+    }
+
+    public List<String> getKnownCategories() {
+        return knownCategories.stream().sorted().toList();
+    }
+
+    public Map<String, Integer> getIndexedCounts() {
+        return index.countsByCategory();
+    }
+
+    private String text(String title, String description) {
+        return (title == null ? "" : title) + "\n" + (description == null ? "" : description);
+    }
+
+    private static String encode(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES);
+        buffer.asFloatBuffer().put(vector);
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    private static float[] decode(String value) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(value));
+        float[] vector = new float[buffer.remaining() / Float.BYTES];
+        buffer.asFloatBuffer().get(vector);
+        return vector;
+    }
+}
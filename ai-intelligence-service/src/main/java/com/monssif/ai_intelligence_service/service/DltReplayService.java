@@ -0,0 +1,124 @@
+package com.monssif.ai_intelligence_service.service;
+
+import com.monssif.ai_intelligence_service.messaging.RetryTopicRouter;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DltReplayService {
+
+    private final ConsumerFactory<Object, Object> consumerFactory;
+    private final RetryTopicRouter retryTopicRouter;
+
+    private final ExecutorService replayExecutor = Executors.newSingleThreadExecutor();
+    private final AtomicBoolean replayRunning = new AtomicBoolean();
+
+    @Value("${spring.kafka.consumer.group-id}")
+    private String groupId;
+
+    @Value("${kafka.retry.replay.poll-timeout:2s}")
+    private Duration pollTimeout;
+
+    public boolean isReplayableTopic(String sourceTopic) {
+        return retryTopicRouter.getSourceTopics().contains(sourceTopic);
+    }
+
+    public boolean requestReplay(String sourceTopic, int maxRecords, double ratePerSecond) {
+        if (!replayRunning.compareAndSet(false, true)) {
+            log.info("DLT replay already running");
+            return false;
+        }
+
+        replayExecutor.submit(() -> {
+            try {
+                replay(sourceTopic, maxRecords, ratePerSecond);
+            } catch (Exception e) {
+                log.error("DLT replay for {} failed: {}", sourceTopic, e.getMessage(), e);
+            } finally {
+                replayRunning.set(false);
+            }
+        });
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        replayExecutor.shutdownNow();
+    }
+
+    // Reads the DLT with its own consumer group and re-drives each record into the first retry level,
+    // paced to ratePerSecond. Offsets are committed only for records that were re-published.
+    private void replay(String sourceTopic, int maxRecords, double ratePerSecond) throws InterruptedException {
+        String dltTopic = retryTopicRouter.dltTopic(sourceTopic);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        log.info("Replaying up to {} events from {} at {} events/s", maxRecords, dltTopic, ratePerSecond);
+
+        Properties properties = new Properties();
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        properties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Integer.toString(Math.min(maxRecords, 100)));
+
+        int replayed = 0;
+        try (Consumer<Object, Object> consumer = consumerFactory.createConsumer(
+                groupId + "-dlt-replay", null, "-dlt-replay", properties)) {
+            List<TopicPartition> partitions = consumer.partitionsFor(dltTopic).stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+            consumer.assign(partitions);
+
+            long nextSlot = System.nanoTime();
+            while (replayed < maxRecords && !Thread.currentThread().isInterrupted()) {
+                ConsumerRecords<Object, Object> records = consumer.poll(pollTimeout);
+                if (records.isEmpty()) {
+                    break;
+                }
+
+                // Whatever was re-published before a failed send or an interrupt is still committed
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                try {
+                    for (ConsumerRecord<Object, Object> record : records) {
+                        if (replayed >= maxRecords) {
+                            break;
+                        }
+                        long waitNanos = nextSlot - System.nanoTime();
+                        if (waitNanos > 0) {
+                            TimeUnit.NANOSECONDS.sleep(waitNanos);
+                        }
+                        nextSlot = Math.max(nextSlot, System.nanoTime()) + intervalNanos;
+
+                        retryTopicRouter.replay(record).join();
+                        offsets.put(new TopicPartition(record.topic(), record.partition()),
+                                new OffsetAndMetadata(record.offset() + 1));
+                        replayed++;
+                    }
+                } finally {
+                    if (!offsets.isEmpty()) {
+                        consumer.commitSync(offsets);
+                    }
+                }
+            }
+        }
+        log.info("Replayed {} events from {}", replayed, dltTopic);
+    }
+}
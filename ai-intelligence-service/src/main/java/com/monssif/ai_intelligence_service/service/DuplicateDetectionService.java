@@ -0,0 +1,139 @@
+package com.monssif.ai_intelligence_service.service;
+
+import com.monssif.ai_intelligence_service.duplicate.DuplicateMatch;
+import com.monssif.ai_intelligence_service.duplicate.LshDuplicateIndex;
+import com.monssif.ai_intelligence_service.duplicate.MinHasher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+// Near-duplicate detection over recent tickets. Signatures are indexed in memory and mirrored to one Redis hash
+// per hour, each expiring after the detection window, so a restarted instance reloads only what is still relevant.
+// Only the instance that checks a ticket (the owner of its partition in the shared group) writes it to Redis; the
+// others index it in memory only.
+@Service
+@Slf4j
+public class DuplicateDetectionService {
+
+    private static final long MILLIS_PER_HOUR = Duration.ofHours(1).toMillis();
+    private static final char FIELD_SEPARATOR = '\u001F';
+
+    private final MinHasher minHasher;
+    private final LshDuplicateIndex index;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration window;
+    private final double minSimilarity;
+    private final String redisKey;
+    private final Timer lookupTimer;
+
+    public DuplicateDetectionService(StringRedisTemplate redisTemplate,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${ai.duplicates.bands:16}") int bands,
+                                     @Value("${ai.duplicates.rows-per-band:4}") int rowsPerBand,
+                                     @Value("${ai.duplicates.shingle-size:5}") int shingleSize,
+                                     @Value("${ai.duplicates.capacity:100000}") int capacity,
+                                     @Value("${ai.duplicates.window:24h}") Duration window,
+                                     @Value("${ai.duplicates.min-similarity:0.6}") double minSimilarity,
+                                     @Value("${ai.duplicates.redis-key:duplicate-index}") String redisKey) {
+        this.minHasher = new MinHasher(bands * rowsPerBand, shingleSize);
+        this.index = new LshDuplicateIndex(bands, rowsPerBand, capacity);
+        this.redisTemplate = redisTemplate;
+        this.window = window;
+        this.minSimilarity = minSimilarity;
+        this.redisKey = redisKey;
+        this.lookupTimer = Timer.builder("ai.duplicates.lookup")
+                .description("Time to find the closest recent ticket in the LSH index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFromRedis() {
+        try {
+            long now = System.currentTimeMillis();
+            long notBefore = now - window.toMillis();
+            int loaded = 0;
+            for (long hour = notBefore / MILLIS_PER_HOUR; hour <= now / MILLIS_PER_HOUR; hour++) {
+                Map<Object, Object> entries = redisTemplate.opsForHash().entries(hourKey(hour));
+                for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+                    String value = entry.getValue().toString();
+                    int separator = value.indexOf(FIELD_SEPARATOR);
+                    long indexedAt = Long.parseLong(value.substring(0, separator));
+                    if (indexedAt >= notBefore) {
+                        index.add(Long.parseLong(entry.getKey().toString()), decode(value.substring(separator + 1)), indexedAt);
+                        loaded++;
+                    }
+                }
+            }
+            log.info("Loaded {} recent tickets into the duplicate index", loaded);
+        } catch (Exception e) {
+            log.warn("Failed to load duplicate index from Redis, starting empty: {}", e.getMessage());
+        }
+    }
+
+    // Returns the most similar ticket seen within the window (or null) and indexes the ticket for later lookups.
+    public DuplicateMatch detectAndIndex(Long ticketId, String title, String description) {
+        int[] signature = minHasher.signature(text(title, description));
+        long now = System.currentTimeMillis();
+
+        DuplicateMatch match = lookupTimer.record(() ->
+                index.findBest(ticketId, signature, now - window.toMillis(), minSimilarity));
+        index.add(ticketId, signature, now);
+        persist(ticketId, signature, now);
+
+        if (match != null) {
+            log.info("Ticket {} looks like a duplicate of ticket {} (similarity {})",
+                    ticketId, match.getTicketId(), String.format("%.2f", match.getSimilarity()));
+        }
+        return match;
+    }
+
+    public void index(Long ticketId, String title, String description) {
+        index.add(ticketId, minHasher.signature(text(title, description)), System.currentTimeMillis());
+    }
+
+    public int getIndexedCount() {
+        return index.size();
+    }
+
+    private void persist(Long ticketId, int[] signature, long timestamp) {
+        String key = hourKey(timestamp / MILLIS_PER_HOUR);
+        try {
+            redisTemplate.opsForHash().put(key, ticketId.toString(), Long.toString(timestamp) + FIELD_SEPARATOR + encode(signature));
+            redisTemplate.expire(key, window.plusHours(1));
+        } catch (Exception e) {
+            log.warn("Failed to persist duplicate signature for ticket {}: {}", ticketId, e.getMessage());
+        }
+    }
+
+    private String hourKey(long hour) {
+        return redisKey + ":" + Instant.ofEpochMilli(hour * MILLIS_PER_HOUR).toString().substring(0, 13);
+    }
+
+    private String text(String title, String description) {
+        return (title == null ? "" : title) + "\n" + (description == null ? "" : description);
+    }
+
+    private static String encode(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    private static int[] decode(String value) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(value));
+        int[] signature = new int[buffer.remaining() / Integer.BYTES];
+        buffer.asIntBuffer().get(signature);
+        return signature;
+    }
+}
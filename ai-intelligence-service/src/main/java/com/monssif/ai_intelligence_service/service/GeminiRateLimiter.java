@@ -0,0 +1,300 @@
+package com.monssif.ai_intelligence_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Token buckets (requests/min, tokens/min) in front of an AIMD concurrency limit.
+// Callers block in acquire() until all three allow the call, so bursts queue up instead of failing.
+@Component
+@Slf4j
+public class GeminiRateLimiter {
+
+    private static final double NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final int requestsPerMinute;
+    private final int tokensPerMinute;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final int charsPerToken;
+    private final int expectedOutputTokens;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition available = lock.newCondition();
+
+    private double requestPermits;
+    private double tokenPermits;
+    private long lastRefillNanos;
+    private double concurrencyLimit;
+    private long lastDecreaseNanos;
+    private int inFlight;
+    private int waiting;
+
+    private final Timer waitTimer;
+    private final Timer callTimer;
+    private final Counter throttledCounter;
+
+    public GeminiRateLimiter(MeterRegistry meterRegistry,
+                             @Value("${gemini.rate-limit.requests-per-minute:60}") int requestsPerMinute,
+                             @Value("${gemini.rate-limit.tokens-per-minute:250000}") int tokensPerMinute,
+                             @Value("${gemini.rate-limit.concurrency.initial:4}") int initialConcurrency,
+                             @Value("${gemini.rate-limit.concurrency.min:1}") int minConcurrency,
+                             @Value("${gemini.rate-limit.concurrency.max:16}") int maxConcurrency,
+                             @Value("${gemini.rate-limit.concurrency.target-latency:10s}") Duration targetLatency,
+                             @Value("${gemini.rate-limit.concurrency.backoff-ratio:0.5}") double backoffRatio,
+                             @Value("${gemini.rate-limit.chars-per-token:4}") int charsPerToken,
+                             @Value("${gemini.rate-limit.expected-output-tokens:256}") int expectedOutputTokens) {
+        this.requestsPerMinute = Math.max(1, requestsPerMinute);
+        this.tokensPerMinute = Math.max(1, tokensPerMinute);
+        this.minConcurrency = Math.max(1, minConcurrency);
+        this.maxConcurrency = Math.max(this.minConcurrency, maxConcurrency);
+        this.targetLatencyNanos = targetLatency.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.charsPerToken = Math.max(1, charsPerToken);
+        this.expectedOutputTokens = Math.max(0, expectedOutputTokens);
+
+        this.requestPermits = this.requestsPerMinute;
+        this.tokenPermits = this.tokensPerMinute;
+        this.lastRefillNanos = System.nanoTime();
+        this.concurrencyLimit = Math.min(this.maxConcurrency, Math.max(this.minConcurrency, initialConcurrency));
+
+        Gauge.builder("gemini.limiter.queue.depth", this, GeminiRateLimiter::getQueueDepth)
+                .description("Gemini calls waiting for a permit")
+                .register(meterRegistry);
+        Gauge.builder("gemini.limiter.in.flight", this, GeminiRateLimiter::getInFlight)
+                .description("Gemini calls currently running")
+                .register(meterRegistry);
+        Gauge.builder("gemini.limiter.concurrency.limit", this, GeminiRateLimiter::getConcurrencyLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("gemini.limiter.permits.available", this, GeminiRateLimiter::getAvailableRequestPermits)
+                .tag("bucket", "requests")
+                .register(meterRegistry);
+        Gauge.builder("gemini.limiter.permits.available", this, GeminiRateLimiter::getAvailableTokenPermits)
+                .tag("bucket", "tokens")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("gemini.limiter.wait")
+                .description("Time spent queued for a Gemini permit")
+                .register(meterRegistry);
+        this.callTimer = Timer.builder("gemini.limiter.call")
+                .description("Gemini call latency observed by the limiter")
+                .register(meterRegistry);
+        this.throttledCounter = Counter.builder("gemini.limiter.throttled")
+                .description("Gemini calls rejected with 429 / RESOURCE_EXHAUSTED")
+                .register(meterRegistry);
+    }
+
+    public int estimateTokens(String prompt) {
+        int promptTokens = prompt == null ? 0 : (prompt.length() + charsPerToken - 1) / charsPerToken;
+        return promptTokens + expectedOutputTokens;
+    }
+
+    public Permit acquire(int estimatedTokens) throws InterruptedException {
+        double cost = Math.min(Math.max(1, estimatedTokens), tokensPerMinute);
+        long queuedAt = System.nanoTime();
+
+        lock.lockInterruptibly();
+        try {
+            waiting++;
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    refill(now);
+                    if (inFlight < currentLimit() && requestPermits >= 1 && tokenPermits >= cost) {
+                        break;
+                    }
+                    long waitNanos = nanosUntilRefilled(cost);
+                    if (waitNanos > 0) {
+                        available.awaitNanos(waitNanos);
+                    } else {
+                        available.await();
+                    }
+                }
+            } finally {
+                waiting--;
+            }
+            inFlight++;
+            requestPermits -= 1;
+            tokenPermits -= cost;
+        } finally {
+            lock.unlock();
+        }
+
+        long startedAt = System.nanoTime();
+        waitTimer.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+        return new Permit(startedAt);
+    }
+
+    public static boolean isRateLimitError(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            String message = current.getMessage();
+            if (message != null && (message.contains("429") || message.contains("RESOURCE_EXHAUSTED")
+                    || message.toLowerCase().contains("too many requests"))) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getConcurrencyLimit() {
+        lock.lock();
+        try {
+            return concurrencyLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getAvailableRequestPermits() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            return requestPermits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getAvailableTokenPermits() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            return tokenPermits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long startedAt, Outcome outcome) {
+        long now = System.nanoTime();
+        long latency = now - startedAt;
+        callTimer.record(latency, TimeUnit.NANOSECONDS);
+
+        lock.lock();
+        try {
+            inFlight--;
+            switch (outcome) {
+                case SUCCESS -> {
+                    if (latency > targetLatencyNanos) {
+                        decrease(now, "latency " + TimeUnit.NANOSECONDS.toMillis(latency) + " ms");
+                    } else if (inFlight + 1 >= currentLimit()) {
+                        concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1.0 / concurrencyLimit);
+                    }
+                }
+                case RATE_LIMITED -> {
+                    throttledCounter.increment();
+                    decrease(now, "429 from Gemini");
+                    requestPermits = Math.min(requestPermits, 0);
+                }
+                case FAILURE -> {
+                }
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // One multiplicative decrease per latency window, so a burst of slow calls does not collapse the limit to the floor.
+    private void decrease(long now, String reason) {
+        if (now - lastDecreaseNanos < targetLatencyNanos) {
+            return;
+        }
+        lastDecreaseNanos = now;
+        double previous = concurrencyLimit;
+        concurrencyLimit = Math.max(minConcurrency, concurrencyLimit * backoffRatio);
+        log.warn("Reducing Gemini concurrency limit from {} to {} ({})",
+                String.format("%.2f", previous), String.format("%.2f", concurrencyLimit), reason);
+    }
+
+    private int currentLimit() {
+        return Math.max(minConcurrency, (int) Math.floor(concurrencyLimit));
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed <= 0) {
+            return;
+        }
+        requestPermits = Math.min(requestsPerMinute, requestPermits + elapsed * requestsPerMinute / NANOS_PER_MINUTE);
+        tokenPermits = Math.min(tokensPerMinute, tokenPermits + elapsed * tokensPerMinute / NANOS_PER_MINUTE);
+        lastRefillNanos = now;
+    }
+
+    private long nanosUntilRefilled(double cost) {
+        if (inFlight >= currentLimit()) {
+            return 0;
+        }
+        double requestDeficit = Math.max(0, 1 - requestPermits);
+        double tokenDeficit = Math.max(0, cost - tokenPermits);
+        double waitNanos = Math.max(requestDeficit * NANOS_PER_MINUTE / requestsPerMinute,
+                tokenDeficit * NANOS_PER_MINUTE / tokensPerMinute);
+        return Math.max(1, (long) Math.ceil(waitNanos));
+    }
+
+    private enum Outcome {
+        SUCCESS, RATE_LIMITED, FAILURE
+    }
+
+    public final class Permit {
+
+        private final long startedAt;
+        private boolean released;
+
+        private Permit(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        public void success() {
+            complete(Outcome.SUCCESS);
+        }
+
+        public void rateLimited() {
+            complete(Outcome.RATE_LIMITED);
+        }
+
+        public void failed() {
+            complete(Outcome.FAILURE);
+        }
+
+        private void complete(Outcome outcome) {
+            if (released) {
+                return;
+            }
+            released = true;
+            release(startedAt, outcome);
+        }
+    }
+}
@@ -1,28 +1,58 @@
 package com.monssif.ai_intelligence_service.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.genai.types.GenerateContentResponse;
+import com.monssif.ai_intelligence_service.config.CacheConfig;
+import com.monssif.ai_intelligence_service.dto.CommentAnalysisRequest;
 import com.monssif.ai_intelligence_service.dto.SentimentAnalysisResult;
+import com.monssif.ai_intelligence_service.dto.TicketAnalysisRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class GeminiService {
 
+    // Part of every analysis cache key: bump it whenever a prompt changes so stale results are not reused.
+    public static final String PROMPT_VERSION = "v2";
+
+    // Only used until category names have been observed on ticket events.
+    public static final List<String> DEFAULT_CATEGORIES = List.of(
+            "Technical Support", "Billing", "Account Management", "Product Inquiry", "Feature Request", "General");
+
     private final ObjectMapper objectMapper;
 
     private final ChatClient chatClient;
 
-    public GeminiService(ObjectMapper objectMapper, ChatClient.Builder builder) {
+    private final int maxPackedItems;
+
+    private final GeminiRateLimiter rateLimiter;
+
+    private final int maxRateLimitAttempts;
+
+    public GeminiService(ObjectMapper objectMapper, ChatClient.Builder builder,
+                         @Value("${gemini.packing.max-items:20}") int maxPackedItems,
+                         GeminiRateLimiter rateLimiter,
+                         @Value("${gemini.rate-limit.max-attempts:5}") int maxRateLimitAttempts) {
         this.objectMapper = objectMapper;
         this.chatClient = builder.build();
+        this.maxPackedItems = maxPackedItems;
+        this.rateLimiter = rateLimiter;
+        this.maxRateLimitAttempts = Math.max(1, maxRateLimitAttempts);
     }
 
     public ChatResponse exempleMethod(){
@@ -32,15 +62,37 @@ public class GeminiService {
                 .chatResponse();
     }
 
-    public SentimentAnalysisResult analyzeTicketSentiment(String title, String description, String category) {
+    @Cacheable(cacheNames = CacheConfig.TICKET_ANALYSIS_CACHE,
+            keyGenerator = "analysisCacheKeyGenerator",
+            condition = "@analysisCacheKeyGenerator.isCacheable(#title, #description, #category, #categoryOptions)",
+            unless = "#result.fallback")
+    public SentimentAnalysisResult analyzeTicketSentiment(String title, String description, String category,
+                                                          List<String> categoryOptions) {
         log.info("Analyzing ticket sentiment with Gemini API");
 
-        String prompt = buildTicketAnalysisPrompt(title, description, category);
+        String prompt = buildTicketAnalysisPrompt(title, description, category, categoryOptions);
         String geminiResponse = callGeminiApi(prompt);
 
         return parseTicketAnalysisResponse(geminiResponse);
     }
 
+    @Cacheable(cacheNames = CacheConfig.TICKET_ANALYSIS_CACHE,
+            keyGenerator = "analysisCacheKeyGenerator",
+            condition = "@analysisCacheKeyGenerator.isCacheable(#title, #description)",
+            unless = "#result.fallback")
+    public SentimentAnalysisResult analyzeTicketSentimentOnly(String title, String description) {
+        log.info("Analyzing ticket sentiment only with Gemini API");
+
+        String prompt = buildTicketSentimentPrompt(title, description);
+        String geminiResponse = callGeminiApi(prompt);
+
+        return parseCommentAnalysisResponse(geminiResponse);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.COMMENT_ANALYSIS_CACHE,
+            keyGenerator = "analysisCacheKeyGenerator",
+            condition = "@analysisCacheKeyGenerator.isCacheable(#content)",
+            unless = "#result.fallback")
     public SentimentAnalysisResult analyzeCommentSentiment(String content) {
         log.info("Analyzing comment sentiment with Gemini API");
 
@@ -50,11 +102,80 @@ public class GeminiService {
         return parseCommentAnalysisResponse(geminiResponse);
     }
 
-    private String buildTicketAnalysisPrompt(String title, String description, String currentCategory) {
+    // Tickets the packed reply had no usable entry for are left out of the result; callers analyze those one by one
+    // through the cached single-ticket methods.
+    public Map<Long, SentimentAnalysisResult> analyzeTicketSentimentBatch(List<TicketAnalysisRequest> tickets) {
+        return analyzeTicketSentimentBatch(tickets, DEFAULT_CATEGORIES);
+    }
+
+    public Map<Long, SentimentAnalysisResult> analyzeTicketSentimentBatch(List<TicketAnalysisRequest> tickets,
+                                                                          List<String> categoryOptions) {
+        log.info("Analyzing {} tickets with packed Gemini prompts", tickets.size());
+
+        Map<Long, SentimentAnalysisResult> results = new HashMap<>();
+        for (List<TicketAnalysisRequest> chunk : partition(tickets)) {
+            List<Map<String, Object>> items = chunk.stream()
+                    .map(ticket -> {
+                        Map<String, Object> item = new LinkedHashMap<>();
+                        item.put("id", ticket.getId());
+                        item.put("title", ticket.getTitle());
+                        item.put("description", ticket.getDescription());
+                        item.put("currentCategory", ticket.getCategory());
+                        return item;
+                    })
+                    .toList();
+
+            String geminiResponse = callGeminiApi(buildPackedTicketAnalysisPrompt(toJson(items), categoryOptions));
+            Map<Long, SentimentAnalysisResult> parsed = parsePackedAnalysisResponse(geminiResponse, true);
+
+            for (TicketAnalysisRequest ticket : chunk) {
+                SentimentAnalysisResult result = parsed.get(ticket.getId());
+                if (result == null) {
+                    log.warn("Packed response had no usable entry for ticket {}", ticket.getId());
+                    continue;
+                }
+                results.put(ticket.getId(), result);
+            }
+        }
+        return results;
+    }
+
+    // Same contract as analyzeTicketSentimentBatch: comments without a usable entry are left out.
+    public Map<Long, SentimentAnalysisResult> analyzeCommentSentimentBatch(List<CommentAnalysisRequest> comments) {
+        log.info("Analyzing {} comments with packed Gemini prompts", comments.size());
+
+        Map<Long, SentimentAnalysisResult> results = new HashMap<>();
+        for (List<CommentAnalysisRequest> chunk : partition(comments)) {
+            List<Map<String, Object>> items = chunk.stream()
+                    .map(comment -> {
+                        Map<String, Object> item = new LinkedHashMap<>();
+                        item.put("id", comment.getId());
+                        item.put("comment", comment.getContent());
+                        return item;
+                    })
+                    .toList();
+
+            String geminiResponse = callGeminiApi(buildPackedCommentAnalysisPrompt(toJson(items)));
+            Map<Long, SentimentAnalysisResult> parsed = parsePackedAnalysisResponse(geminiResponse, false);
+
+            for (CommentAnalysisRequest comment : chunk) {
+                SentimentAnalysisResult result = parsed.get(comment.getId());
+                if (result == null) {
+                    log.warn("Packed response had no usable entry for comment {}", comment.getId());
+                    continue;
+                }
+                results.put(comment.getId(), result);
+            }
+        }
+        return results;
+    }
+
+    private String buildTicketAnalysisPrompt(String title, String description, String currentCategory,
+                                             List<String> categoryOptions) {
         return String.format("""
             Analyze the following customer support ticket and provide:
             1. Sentiment score (between -1.0 for very negative and 1.0 for very positive)
-            2. Suggested category from these options: "Technical Support", "Billing", "Account Management", "Product Inquiry", "Feature Request", "General"
+            2. Suggested category from these options: %s
             
             Ticket Title: %s
             Ticket Description: %s
@@ -65,7 +186,42 @@ public class GeminiService {
               "sentimentScore": <number between -1.0 and 1.0>,
               "suggestedCategory": "<one of the categories listed above>"
             }
-            """, title, description, currentCategory);
+            """, formatCategoryOptions(categoryOptions), title, description, currentCategory);
+    }
+
+    private String buildTicketSentimentPrompt(String title, String description) {
+        return String.format("""
+            Analyze the sentiment of this customer support ticket.
+            Provide a sentiment score between -1.0 (very negative) and 1.0 (very positive).
+            
+            Ticket Title: %s
+            Ticket Description: %s
+            
+            Respond ONLY in this JSON format (no additional text):
+            {
+              "sentimentScore": <number between -1.0 and 1.0>
+            }
+            """, title, description);
+    }
+
+    private String buildPackedTicketAnalysisPrompt(String ticketsJson, List<String> categoryOptions) {
+        return String.format("""
+            Analyze each of the following customer support tickets and provide for each one:
+            1. Sentiment score (between -1.0 for very negative and 1.0 for very positive)
+            2. Suggested category from these options: %s
+            
+            Tickets (JSON array, every ticket has a unique "id"):
+            %s
+            
+            Respond ONLY with a JSON array containing exactly one object per ticket (no additional text):
+            [
+              {
+                "id": <the ticket id, copied unchanged>,
+                "sentimentScore": <number between -1.0 and 1.0>,
+                "suggestedCategory": "<one of the categories listed above>"
+              }
+            ]
+            """, formatCategoryOptions(categoryOptions), ticketsJson);
     }
 
     private String buildCommentAnalysisPrompt(String content) {
@@ -82,19 +238,61 @@ public class GeminiService {
             """, content);
     }
 
+    private String buildPackedCommentAnalysisPrompt(String commentsJson) {
+        return String.format("""
+            Analyze the sentiment of each of these customer support comments.
+            Provide a sentiment score between -1.0 (very negative) and 1.0 (very positive) for each one.
+            
+            Comments (JSON array, every comment has a unique "id"):
+            %s
+            
+            Respond ONLY with a JSON array containing exactly one object per comment (no additional text):
+            [
+              {
+                "id": <the comment id, copied unchanged>,
+                "sentimentScore": <number between -1.0 and 1.0>
+              }
+            ]
+            """, commentsJson);
+    }
+
     private String callGeminiApi(String prompt) {
-        try {
-            String response = chatClient.prompt()
-                    .user(prompt)
-                    .call()
-                    .content();
+        int estimatedTokens = rateLimiter.estimateTokens(prompt);
 
-            log.info("Gemini API response: {}", response);
-            return response;
+        for (int attempt = 1; ; attempt++) {
+            GeminiRateLimiter.Permit permit = acquirePermit(estimatedTokens);
+            try {
+                String response = chatClient.prompt()
+                        .user(prompt)
+                        .call()
+                        .content();
+                permit.success();
 
-        } catch (Exception e) {
-            log.error("Error calling Gemini API: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to analyze with Gemini API", e);
+                log.info("Gemini API response: {}", response);
+                return response;
+
+            } catch (Exception e) {
+                if (GeminiRateLimiter.isRateLimitError(e)) {
+                    permit.rateLimited();
+                    if (attempt < maxRateLimitAttempts) {
+                        log.warn("Gemini API rate limited (attempt {}/{}) - re-queueing call", attempt, maxRateLimitAttempts);
+                        continue;
+                    }
+                } else {
+                    permit.failed();
+                }
+                log.error("Error calling Gemini API: {}", e.getMessage(), e);
+                throw new RuntimeException("Failed to analyze with Gemini API", e);
+            }
+        }
+    }
+
+    private GeminiRateLimiter.Permit acquirePermit(int estimatedTokens) {
+        try {
+            return rateLimiter.acquire(estimatedTokens);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a Gemini API permit", e);
         }
     }
 
@@ -103,7 +301,10 @@ public class GeminiService {
             String jsonString = extractJson(response);
             Map<String, Object> result = objectMapper.readValue(jsonString, Map.class);
 
-            Double sentimentScore = parseDouble(result.get("sentimentScore"));
+            Double sentimentScore = parseSentimentScore(result.get("sentimentScore"));
+            if (sentimentScore == null) {
+                return fallbackResult();
+            }
             String suggestedCategory = (String) result.get("suggestedCategory");
 
             return SentimentAnalysisResult.builder()
@@ -113,10 +314,7 @@ public class GeminiService {
 
         } catch (Exception e) {
             log.error("Error parsing Gemini response: {}", e.getMessage(), e);
-            return SentimentAnalysisResult.builder()
-                    .sentimentScore(0.0)
-                    .suggestedCategory(null)
-                    .build();
+            return fallbackResult();
         }
     }
 
@@ -125,7 +323,10 @@ public class GeminiService {
             String jsonString = extractJson(response);
             Map<String, Object> result = objectMapper.readValue(jsonString, Map.class);
 
-            Double sentimentScore = parseDouble(result.get("sentimentScore"));
+            Double sentimentScore = parseSentimentScore(result.get("sentimentScore"));
+            if (sentimentScore == null) {
+                return fallbackResult();
+            }
 
             return SentimentAnalysisResult.builder()
                     .sentimentScore(sentimentScore)
@@ -133,39 +334,133 @@ public class GeminiService {
 
         } catch (Exception e) {
             log.error("Error parsing Gemini response: {}", e.getMessage(), e);
-            return SentimentAnalysisResult.builder()
-                    .sentimentScore(0.0)
-                    .build();
+            return fallbackResult();
         }
     }
 
-    private String extractJson(String response) {
-        if (response == null) {
-            return "{}";
+    // Neutral score used when the reply is unusable; flagged so the analysis caches skip it.
+    private SentimentAnalysisResult fallbackResult() {
+        return SentimentAnalysisResult.builder()
+                .sentimentScore(0.0)
+                .fallback(true)
+                .build();
+    }
+
+    private Map<Long, SentimentAnalysisResult> parsePackedAnalysisResponse(String response, boolean withCategory) {
+        Map<Long, SentimentAnalysisResult> results = new HashMap<>();
+        List<Map<String, Object>> entries;
+        try {
+            entries = objectMapper.readValue(extractJsonArray(response), new TypeReference<List<Map<String, Object>>>() {});
+        } catch (Exception e) {
+            log.error("Error parsing packed Gemini response: {}", e.getMessage(), e);
+            return results;
         }
 
-        Pattern pattern = Pattern.compile("\\{[^}]+\\}");
-        Matcher matcher = pattern.matcher(response);
+        for (Map<String, Object> entry : entries) {
+            if (entry == null) {
+                continue;
+            }
+            Long id = parseId(entry.get("id"));
+            Double sentimentScore = parseStrictDouble(entry.get("sentimentScore"));
+            if (id == null || sentimentScore == null || sentimentScore < -1.0 || sentimentScore > 1.0) {
+                log.warn("Skipping unusable packed entry: {}", entry);
+                continue;
+            }
+            results.put(id, SentimentAnalysisResult.builder()
+                    .sentimentScore(sentimentScore)
+                    .suggestedCategory(withCategory ? (String) entry.get("suggestedCategory") : null)
+                    .build());
+        }
+        return results;
+    }
 
-        if (matcher.find()) {
-            return matcher.group();
+    private String formatCategoryOptions(List<String> categoryOptions) {
+        List<String> options = categoryOptions == null || categoryOptions.isEmpty() ? DEFAULT_CATEGORIES : categoryOptions;
+        return options.stream()
+                .map(option -> "\"" + option + "\"")
+                .collect(Collectors.joining(", "));
+    }
+
+    private <T> List<List<T>> partition(List<T> items) {
+        int chunkSize = Math.max(1, maxPackedItems);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += chunkSize) {
+            chunks.add(items.subList(i, Math.min(items.size(), i + chunkSize)));
+        }
+        return chunks;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize packed prompt items", e);
+        }
+    }
+
+    private String extractJsonArray(String response) {
+        if (response == null) {
+            return "[]";
+        }
+
+        int start = response.indexOf('[');
+        int end = response.lastIndexOf(']');
+        if (start >= 0 && end > start) {
+            return response.substring(start, end + 1);
         }
 
         return response.trim();
     }
 
-    private Double parseDouble(Object value) {
+    private Long parseId(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
         if (value == null) {
-            return 0.0;
+            return null;
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return null;
         }
+    }
+
+    private Double parseStrictDouble(Object value) {
         if (value instanceof Number) {
             return ((Number) value).doubleValue();
         }
+        if (value == null) {
+            return null;
+        }
         try {
             return Double.parseDouble(value.toString());
         } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String extractJson(String response) {
+        if (response == null) {
+            return "{}";
+        }
+
+        Pattern pattern = Pattern.compile("\\{[^}]+\\}");
+        Matcher matcher = pattern.matcher(response);
+
+        if (matcher.find()) {
+            return matcher.group();
+        }
+
+        return response.trim();
+    }
+
+    private Double parseSentimentScore(Object value) {
+        Double sentimentScore = parseStrictDouble(value);
+        if (sentimentScore == null || sentimentScore < -1.0 || sentimentScore > 1.0) {
             log.warn("Could not parse sentiment score: {}", value);
-            return 0.0;
+            return null;
         }
+        return sentimentScore;
     }
 }
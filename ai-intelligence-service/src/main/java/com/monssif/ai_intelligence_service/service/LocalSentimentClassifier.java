@@ -0,0 +1,156 @@
+package com.monssif.ai_intelligence_service.service;
+
+import com.monssif.ai_intelligence_service.dto.LocalSentimentResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Linear model over hashed unigram/bigram features (weights seeded from a lexicon resource).
+// Unigrams within a few tokens after a negator are scored as separate NOT_ features with a flipped weight.
+@Component
+@Slf4j
+public class LocalSentimentClassifier {
+
+    private static final int FEATURE_BITS = 20;
+    private static final int FEATURE_MASK = (1 << FEATURE_BITS) - 1;
+    private static final int NEGATION_WINDOW = 3;
+    private static final double NEGATION_FACTOR = -0.8;
+    private static final double SCORE_SCALE = 0.5;
+    private static final String NEGATED_PREFIX = "NOT_";
+    private static final Set<String> NEGATORS = Set.of(
+            "not", "no", "never", "nothing", "don't", "doesn't", "didn't", "isn't", "wasn't", "won't", "can't", "cannot", "dont", "doesnt");
+
+    private final float[] weights = new float[1 << FEATURE_BITS];
+
+    public LocalSentimentClassifier(@Value("${ai.local-sentiment.lexicon:classpath:sentiment/lexicon.tsv}") Resource lexicon) {
+        int terms = loadLexicon(lexicon);
+        log.info("Loaded local sentiment lexicon with {} terms", terms);
+    }
+
+    public LocalSentimentResult classify(String text) {
+        List<String> tokens = tokenize(text);
+
+        double net = 0.0;
+        double evidence = 0.0;
+        int matched = 0;
+        int negationLeft = 0;
+        String previous = null;
+
+        for (String token : tokens) {
+            float unigram;
+            if (NEGATORS.contains(token)) {
+                negationLeft = NEGATION_WINDOW;
+                unigram = weight(token);
+            } else if (negationLeft > 0) {
+                negationLeft--;
+                unigram = weight(NEGATED_PREFIX + token);
+            } else {
+                unigram = weight(token);
+            }
+            float bigram = previous != null ? weight(previous + ' ' + token) : 0f;
+
+            if (unigram != 0f) {
+                net += unigram;
+                evidence += Math.abs(unigram);
+                matched++;
+            }
+            if (bigram != 0f) {
+                net += bigram;
+                evidence += Math.abs(bigram);
+                matched++;
+            }
+            previous = token;
+        }
+
+        if (matched == 0) {
+            return LocalSentimentResult.builder()
+                    .sentimentScore(0.0)
+                    .confidence(0.0)
+                    .matchedFeatures(0)
+                    .tokenCount(tokens.size())
+                    .build();
+        }
+
+        double agreement = Math.abs(net) / evidence;
+        double strength = 1.0 - Math.exp(-evidence);
+        return LocalSentimentResult.builder()
+                .sentimentScore(Math.tanh(net * SCORE_SCALE))
+                .confidence(agreement * strength)
+                .matchedFeatures(matched)
+                .tokenCount(tokens.size())
+                .build();
+    }
+
+    private int loadLexicon(Resource lexicon) {
+        int terms = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(lexicon.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\t");
+                if (parts.length != 2) {
+                    log.warn("Skipping malformed sentiment lexicon line: {}", line);
+                    continue;
+                }
+                String term = parts[0].trim().toLowerCase(Locale.ROOT);
+                float weight = Float.parseFloat(parts[1].trim());
+                weights[bucket(term)] += weight;
+                if (term.indexOf(' ') < 0) {
+                    weights[bucket(NEGATED_PREFIX + term)] += (float) (weight * NEGATION_FACTOR);
+                }
+                terms++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load sentiment lexicon " + lexicon.getDescription(), e);
+        }
+        return terms;
+    }
+
+    private float weight(String feature) {
+        return weights[bucket(feature)];
+    }
+
+    // FNV-1a; with ~1M buckets and a few hundred weighted terms, an unknown token rarely lands on a weighted bucket.
+    private static int bucket(String feature) {
+        int hash = 0x811c9dc5;
+        for (int i = 0; i < feature.length(); i++) {
+            hash ^= feature.charAt(i);
+            hash *= 0x01000193;
+        }
+        return hash & FEATURE_MASK;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '\'' || c == '’') {
+                current.append(c == '’' ? '\'' : Character.toLowerCase(c));
+            } else if (!current.isEmpty()) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+}
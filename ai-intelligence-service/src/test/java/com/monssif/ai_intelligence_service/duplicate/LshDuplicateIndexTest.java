@@ -0,0 +1,173 @@
+package com.monssif.ai_intelligence_service.duplicate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LshDuplicateIndexTest {
+
+    private static final int BANDS = 16;
+    private static final int ROWS_PER_BAND = 4;
+    private static final double MIN_SIMILARITY = 0.6;
+    private static final int INDEXED_TICKETS = 50_000;
+    private static final int DUPLICATES = 1_000;
+    private static final int UNRELATED = 1_000;
+    private static final int BENCHMARK_LOOKUPS = 20_000;
+
+    private final MinHasher minHasher = new MinHasher(BANDS * ROWS_PER_BAND, 5);
+
+    @Test
+    void findsRewordedTicket() {
+        LshDuplicateIndex index = new LshDuplicateIndex(BANDS, ROWS_PER_BAND, 1_000);
+        index.add(1L, minHasher.signature("Cannot log in\nThe login page keeps showing an invalid password error since this morning."), 1L);
+        index.add(2L, minHasher.signature("Invoice total is wrong\nThe March invoice charges us twice for the premium plan."), 1L);
+
+        DuplicateMatch match = index.findBest(3L,
+                minHasher.signature("Cannot log in!\nThe login page keeps showing an invalid password error since this morning"), 0L, MIN_SIMILARITY);
+        DuplicateMatch none = index.findBest(4L,
+                minHasher.signature("Feature request\nPlease add dark mode to the mobile app."), 0L, MIN_SIMILARITY);
+
+        assertThat(match).isNotNull();
+        assertThat(match.getTicketId()).isEqualTo(1L);
+        assertThat(none).isNull();
+    }
+
+    @Test
+    void ignoresSelfTicketsOutsideTheWindowAndEvictedRows() {
+        LshDuplicateIndex index = new LshDuplicateIndex(BANDS, ROWS_PER_BAND, 2);
+        int[] signature = minHasher.signature("Printer on floor 3 is jammed again");
+        index.add(1L, signature, 100L);
+
+        assertThat(index.findBest(2L, signature, 101L, MIN_SIMILARITY)).isNull();
+        assertThat(index.findBest(1L, signature, 0L, MIN_SIMILARITY)).isNull();
+
+        index.add(2L, minHasher.signature("VPN drops every ten minutes"), 200L);
+        index.add(3L, minHasher.signature("Cannot reset my password"), 300L);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findBest(4L, signature, 0L, MIN_SIMILARITY)).isNull();
+    }
+
+    // Synthetic load: 50k indexed tickets, then near-duplicates (two words changed) and unrelated tickets.
+    @Test
+    void recallAndPrecisionOnSyntheticLoad() {
+        Random random = new Random(42);
+        String[] vocabulary = vocabulary(random, 3_000);
+        LshDuplicateIndex index = new LshDuplicateIndex(BANDS, ROWS_PER_BAND, INDEXED_TICKETS);
+        List<String[]> tickets = indexSyntheticTickets(random, vocabulary, index);
+
+        int found = 0;
+        int correct = 0;
+        for (int i = 0; i < DUPLICATES; i++) {
+            int original = random.nextInt(INDEXED_TICKETS);
+            String[] words = tickets.get(original).clone();
+            for (int edit = 0; edit < 2; edit++) {
+                words[random.nextInt(words.length)] = vocabulary[random.nextInt(vocabulary.length)];
+            }
+            int[] signature = minHasher.signature(String.join(" ", words));
+
+            DuplicateMatch match = index.findBest(INDEXED_TICKETS + i, signature, 0L, MIN_SIMILARITY);
+
+            if (match != null) {
+                found++;
+                if (match.getTicketId() == original) {
+                    correct++;
+                }
+            }
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < UNRELATED; i++) {
+            int[] signature = minHasher.signature(String.join(" ", words(random, vocabulary, 40)));
+            if (index.findBest(-i - 1, signature, 0L, MIN_SIMILARITY) != null) {
+                falsePositives++;
+            }
+        }
+
+        double recall = (double) correct / DUPLICATES;
+        double precision = found + falsePositives == 0 ? 1.0 : (double) correct / (found + falsePositives);
+
+        assertThat(recall).isGreaterThanOrEqualTo(0.95);
+        assertThat(precision).isGreaterThanOrEqualTo(0.99);
+    }
+
+    // Opt-in: mvn test -Dbenchmark.lsh=true. Signatures are computed up front so only findBest is timed; half the
+    // lookups are near-duplicates and half unrelated tickets.
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.lsh", matches = "true")
+    void reportsLookupLatencyOnSyntheticLoad() {
+        Random random = new Random(42);
+        String[] vocabulary = vocabulary(random, 3_000);
+        LshDuplicateIndex index = new LshDuplicateIndex(BANDS, ROWS_PER_BAND, INDEXED_TICKETS);
+        List<String[]> tickets = indexSyntheticTickets(random, vocabulary, index);
+
+        List<int[]> queries = new ArrayList<>(BENCHMARK_LOOKUPS);
+        for (int i = 0; i < BENCHMARK_LOOKUPS; i++) {
+            String[] words = i % 2 == 0
+                    ? tickets.get(random.nextInt(INDEXED_TICKETS)).clone()
+                    : words(random, vocabulary, 40);
+            words[random.nextInt(words.length)] = vocabulary[random.nextInt(vocabulary.length)];
+            queries.add(minHasher.signature(String.join(" ", words)));
+        }
+
+        // Warm up the lookup path before timing it
+        for (int i = 0; i < BENCHMARK_LOOKUPS; i++) {
+            index.findBest(-i - 1, queries.get(i), 0L, MIN_SIMILARITY);
+        }
+
+        long[] nanos = new long[BENCHMARK_LOOKUPS];
+        int matches = 0;
+        for (int i = 0; i < BENCHMARK_LOOKUPS; i++) {
+            long started = System.nanoTime();
+            DuplicateMatch match = index.findBest(-i - 1, queries.get(i), 0L, MIN_SIMILARITY);
+            nanos[i] = System.nanoTime() - started;
+            if (match != null) {
+                matches++;
+            }
+        }
+
+        Arrays.sort(nanos);
+        double meanMicros = Arrays.stream(nanos).average().orElse(0) / 1_000.0;
+        double p99Micros = nanos[(int) Math.ceil(BENCHMARK_LOOKUPS * 0.99) - 1] / 1_000.0;
+        System.out.printf("LSH lookup over %d tickets: mean %.1f us, p99 %.1f us, %d/%d matched%n",
+                INDEXED_TICKETS, meanMicros, p99Micros, matches, BENCHMARK_LOOKUPS);
+        assertThat(matches).isPositive();
+    }
+
+    private List<String[]> indexSyntheticTickets(Random random, String[] vocabulary, LshDuplicateIndex index) {
+        List<String[]> tickets = new ArrayList<>(INDEXED_TICKETS);
+        for (int i = 0; i < INDEXED_TICKETS; i++) {
+            String[] words = words(random, vocabulary, 40);
+            tickets.add(words);
+            index.add(i, minHasher.signature(String.join(" ", words)), i);
+        }
+        return tickets;
+    }
+
+    private static String[] vocabulary(Random random, int size) {
+        String[] vocabulary = new String[size];
+        for (int i = 0; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 3 + random.nextInt(7);
+            for (int c = 0; c < length; c++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            vocabulary[i] = word.toString();
+        }
+        return vocabulary;
+    }
+
+    private static String[] words(Random random, String[] vocabulary, int count) {
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            words[i] = vocabulary[random.nextInt(vocabulary.length)];
+        }
+        return words;
+    }
+}
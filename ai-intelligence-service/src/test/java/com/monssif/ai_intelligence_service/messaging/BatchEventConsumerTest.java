@@ -0,0 +1,185 @@
+package com.monssif.ai_intelligence_service.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monssif.ai_intelligence_service.dto.CategorySuggestion;
+import com.monssif.ai_intelligence_service.events.AIAnalysisResultEvent;
+import com.monssif.ai_intelligence_service.events.CommentCreatedEvent;
+import com.monssif.ai_intelligence_service.events.TicketCreatedEvent;
+import com.monssif.ai_intelligence_service.service.AIAnalysisService;
+import com.monssif.ai_intelligence_service.service.CategorySuggestionService;
+import com.monssif.ai_intelligence_service.service.GeminiRateLimiter;
+import com.monssif.ai_intelligence_service.service.GeminiService;
+import com.monssif.ai_intelligence_service.service.LocalSentimentClassifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchEventConsumerTest {
+
+    private static final int PACKED_ITEMS = 20;
+    private static final Pattern PACKED_ID = Pattern.compile("\"id\":(\\d+)");
+
+    private final AtomicInteger packedCalls = new AtomicInteger();
+    private final AtomicInteger singleCalls = new AtomicInteger();
+    private final AtomicBoolean packedCallsFail = new AtomicBoolean();
+    private final Map<Long, Double> published = new ConcurrentHashMap<>();
+    private final Set<Long> failingPublishes = ConcurrentHashMap.newKeySet();
+
+    private RetryTopicRouter retryTopicRouter;
+    private BatchEventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        ChatClient chatClient = mock(ChatClient.class);
+        ChatClient.Builder builder = mock(ChatClient.Builder.class);
+        when(builder.build()).thenReturn(chatClient);
+        when(chatClient.prompt()).thenAnswer(invocation -> stubRequest());
+
+        GeminiService geminiService = new GeminiService(new ObjectMapper(), builder, PACKED_ITEMS,
+                new GeminiRateLimiter(new SimpleMeterRegistry(), 60_000, 100_000_000, 8, 1, 16,
+                        Duration.ofSeconds(10), 0.5, 8, 1_000), 1);
+
+        CategorySuggestionService categorySuggestionService = mock(CategorySuggestionService.class);
+        when(categorySuggestionService.suggest(anyString(), anyString()))
+                .thenReturn(CategorySuggestion.builder().confident(false).build());
+        when(categorySuggestionService.getKnownCategories()).thenReturn(GeminiService.DEFAULT_CATEGORIES);
+
+        AiAnalysisProducer producer = mock(AiAnalysisProducer.class);
+        when(producer.publishAnalysisResult(any())).thenAnswer(invocation -> {
+            AIAnalysisResultEvent event = invocation.getArgument(0);
+            Long id = event.getCommentId() != null ? event.getCommentId() : event.getTicketId();
+            if (failingPublishes.contains(id)) {
+                return CompletableFuture.failedFuture(new IllegalStateException("broker unavailable"));
+            }
+            published.put(id, event.getSentimentScore());
+            return CompletableFuture.completedFuture(null);
+        });
+        retryTopicRouter = mock(RetryTopicRouter.class);
+        when(retryTopicRouter.routeFailure(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        AIAnalysisService aiAnalysisService = new AIAnalysisService(producer, geminiService,
+                mock(LocalSentimentClassifier.class), categorySuggestionService, new SimpleMeterRegistry());
+        consumer = new BatchEventConsumer(aiAnalysisService, new SimpleAsyncTaskExecutor(), retryTopicRouter);
+        ReflectionTestUtils.setField(consumer, "maxPackedItems", PACKED_ITEMS);
+    }
+
+    @Test
+    void packsAPollOfCommentsIntoOnePromptPerChunk() {
+        List<ConsumerRecord<String, CommentCreatedEvent>> records = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            records.add(new ConsumerRecord<>("comment-created", 0, id, "ticket-" + (id % 7), comment(id)));
+        }
+
+        consumer.consumeCommentCreatedBatch(records);
+
+        assertThat(packedCalls).hasValue(3);
+        assertThat(singleCalls).hasValue(0);
+        assertThat(published).hasSize(50).allSatisfy((id, score) -> assertThat(score).isEqualTo(0.5));
+        verify(retryTopicRouter, never()).routeFailure(any(), any());
+    }
+
+    @Test
+    void fallsBackToSingleCallsWhenThePackedCallFails() {
+        packedCallsFail.set(true);
+        List<ConsumerRecord<String, TicketCreatedEvent>> records = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            records.add(new ConsumerRecord<>("ticket-created", 0, id, String.valueOf(id), ticket(id)));
+        }
+
+        consumer.consumeTicketCreatedBatch(records);
+
+        assertThat(packedCalls).hasValue(1);
+        assertThat(singleCalls).hasValue(5);
+        assertThat(published).hasSize(5).allSatisfy((id, score) -> assertThat(score).isEqualTo(-0.3));
+        verify(retryTopicRouter, never()).routeFailure(any(), any());
+    }
+
+    @Test
+    void failedSendHandsTheRestOfItsKeyToTheRetryTopics() {
+        failingPublishes.add(2L);
+        List<ConsumerRecord<String, CommentCreatedEvent>> records = new ArrayList<>();
+        for (long id = 1; id <= 6; id++) {
+            records.add(new ConsumerRecord<>("comment-created", 0, id, id <= 4 ? "ticket-1" : "ticket-2", comment(id)));
+        }
+
+        consumer.consumeCommentCreatedBatch(records);
+
+        assertThat(published).containsOnlyKeys(1L, 5L, 6L);
+        ArgumentCaptor<ConsumerRecord<String, ?>> routed = ArgumentCaptor.forClass(ConsumerRecord.class);
+        verify(retryTopicRouter, times(3)).routeFailure(routed.capture(), any());
+        assertThat(routed.getAllValues()).extracting(ConsumerRecord::offset).containsExactly(2L, 3L, 4L);
+    }
+
+    // Packed prompts are answered with one entry per "id" in the prompt; single prompts with one score.
+    private ChatClient.ChatClientRequestSpec stubRequest() {
+        ChatClient.ChatClientRequestSpec requestSpec = mock(ChatClient.ChatClientRequestSpec.class);
+        ChatClient.CallResponseSpec callSpec = mock(ChatClient.CallResponseSpec.class);
+        String[] prompt = new String[1];
+        when(requestSpec.user(anyString())).thenAnswer(invocation -> {
+            prompt[0] = invocation.getArgument(0);
+            return requestSpec;
+        });
+        when(requestSpec.call()).thenReturn(callSpec);
+        when(callSpec.content()).thenAnswer(invocation -> {
+            Matcher ids = PACKED_ID.matcher(prompt[0]);
+            if (!ids.find()) {
+                singleCalls.incrementAndGet();
+                return "{\"sentimentScore\": -0.3, \"suggestedCategory\": \"General\"}";
+            }
+            packedCalls.incrementAndGet();
+            if (packedCallsFail.get()) {
+                throw new IllegalStateException("model unavailable");
+            }
+            List<String> entries = new ArrayList<>();
+            do {
+                entries.add("{\"id\": " + ids.group(1) + ", \"sentimentScore\": 0.5}");
+            } while (ids.find());
+            return entries.stream().collect(Collectors.joining(",", "[", "]"));
+        });
+        return requestSpec;
+    }
+
+    private CommentCreatedEvent comment(long id) {
+        return CommentCreatedEvent.builder()
+                .commentId(id)
+                .ticketId(id % 7)
+                .content("Comment number " + id + " about the outage")
+                .build();
+    }
+
+    private TicketCreatedEvent ticket(long id) {
+        return TicketCreatedEvent.builder()
+                .ticketId(id)
+                .title("Ticket " + id)
+                .description("Details for ticket " + id)
+                .categoryName("General")
+                .build();
+    }
+}
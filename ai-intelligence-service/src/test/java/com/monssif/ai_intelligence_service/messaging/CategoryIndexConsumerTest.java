@@ -0,0 +1,57 @@
+package com.monssif.ai_intelligence_service.messaging;
+
+import com.monssif.ai_intelligence_service.events.TicketUpdatedEvent;
+import com.monssif.ai_intelligence_service.service.CategorySuggestionService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Status and assignment changes are published as TicketUpdatedEvents with only that field in changedFields.
+class CategoryIndexConsumerTest {
+
+    private final CategorySuggestionService categorySuggestionService = mock(CategorySuggestionService.class);
+    private final CategoryIndexConsumer consumer = new CategoryIndexConsumer(categorySuggestionService);
+
+    @BeforeEach
+    void setUp() {
+        when(categorySuggestionService.isResolved("RESOLVED")).thenReturn(true);
+    }
+
+    @Test
+    void learnsTheCategoryWhenAWorkflowTransitionResolvesTheTicket() {
+        consumer.consumeTicketEvent(record(event("RESOLVED", TicketUpdatedEvent.FIELD_STATUS)));
+
+        verify(categorySuggestionService).learn(10L, "Printer jam", "Tray two jams", "Hardware");
+    }
+
+    @Test
+    void ignoresAssignmentChangesOnOpenTickets() {
+        consumer.consumeTicketEvent(record(event("OPEN", TicketUpdatedEvent.FIELD_ASSIGNED_AGENT)));
+
+        verify(categorySuggestionService, never()).learn(any(), anyString(), anyString(), anyString());
+    }
+
+    private static TicketUpdatedEvent event(String statusName, String changedField) {
+        return TicketUpdatedEvent.builder()
+                .ticketId(10L)
+                .title("Printer jam")
+                .description("Tray two jams")
+                .statusName(statusName)
+                .categoryName("Hardware")
+                .changedFields(Set.of(changedField))
+                .build();
+    }
+
+    private static ConsumerRecord<String, Object> record(TicketUpdatedEvent event) {
+        return new ConsumerRecord<>("ticket-updated", 0, 0L, event.getTicketId().toString(), event);
+    }
+}
@@ -0,0 +1,87 @@
+package com.monssif.ai_intelligence_service.messaging;
+
+import com.monssif.ai_intelligence_service.events.CommentCreatedEvent;
+import com.monssif.ai_intelligence_service.service.AIAnalysisService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RetryEventConsumerTest {
+
+    private final AIAnalysisService aiAnalysisService = mock(AIAnalysisService.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+    private final Acknowledgment ack = mock(Acknowledgment.class);
+
+    private RetryEventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        RetryTopicRouter router = new RetryTopicRouter(kafkaTemplate, "ticket.created", "ticket.updated",
+                "comment.created", Duration.ofSeconds(5), 4, Duration.ofMinutes(5));
+        consumer = new RetryEventConsumer(aiAnalysisService, router);
+        ReflectionTestUtils.setField(consumer, "maxPause", Duration.ofSeconds(30));
+    }
+
+    @Test
+    void recordThatIsNotDueYetIsNackedForAtMostTheMaxPause() {
+        consumer.consumeRetryLevel3(record("comment.created.retry-3", 3, System.currentTimeMillis() + 120_000), ack);
+
+        ArgumentCaptor<Duration> pause = ArgumentCaptor.forClass(Duration.class);
+        verify(ack).nack(pause.capture());
+        assertThat(pause.getValue()).isEqualTo(Duration.ofSeconds(30));
+        verify(ack, never()).acknowledge();
+        verify(aiAnalysisService, never()).processCommentCreated(any());
+    }
+
+    @Test
+    void dueRecordThatSucceedsIsAcknowledgedWithoutBeingRepublished() {
+        when(aiAnalysisService.processCommentCreated(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        consumer.consumeRetryLevel1(record("comment.created.retry-1", 1, System.currentTimeMillis() - 1), ack);
+
+        verify(aiAnalysisService).processCommentCreated(any());
+        verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    void dueRecordThatFailsMovesToTheNextRetryLevelBeforeItIsAcknowledged() {
+        when(aiAnalysisService.processCommentCreated(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        consumer.consumeRetryLevel1(record("comment.created.retry-1", 1, System.currentTimeMillis() - 1), ack);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<String, Object>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(sent.capture());
+        assertThat(sent.getValue().topic()).isEqualTo("comment.created.retry-2");
+        verify(ack).acknowledge();
+    }
+
+    private static ConsumerRecord<String, Object> record(String topic, int attempt, long dueAt) {
+        CommentCreatedEvent event = CommentCreatedEvent.builder().commentId(5L).ticketId(10L).content("Still broken").build();
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>(topic, 0, 0L, "10", event);
+        record.headers().add(RetryTopicRouter.HEADER_ORIGINAL_TOPIC, "comment.created".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(RetryTopicRouter.HEADER_ATTEMPT, String.valueOf(attempt).getBytes(StandardCharsets.UTF_8));
+        record.headers().add(RetryTopicRouter.HEADER_DUE_AT, String.valueOf(dueAt).getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
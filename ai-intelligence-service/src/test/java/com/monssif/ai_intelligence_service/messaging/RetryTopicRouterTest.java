@@ -0,0 +1,105 @@
+package com.monssif.ai_intelligence_service.messaging;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RetryTopicRouterTest {
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+
+    private RetryTopicRouter router;
+
+    @BeforeEach
+    void setUp() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        router = new RetryTopicRouter(kafkaTemplate, "ticket.created", "ticket.updated", "comment.created",
+                Duration.ofSeconds(5), 4, Duration.ofSeconds(60));
+    }
+
+    @Test
+    void backoffGrowsByTheMultiplierUpToTheMaxInterval() {
+        assertThat(router.backoff(1)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(router.backoff(2)).isEqualTo(Duration.ofSeconds(20));
+        assertThat(router.backoff(3)).isEqualTo(Duration.ofSeconds(60));
+    }
+
+    @Test
+    void firstFailureGoesToTheFirstRetryLevelWithItsRootCause() {
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>("ticket.created", 0, 7L, "10", "payload");
+        long before = System.currentTimeMillis();
+
+        router.routeFailure(record, new IllegalStateException("wrapped", new IOException("model timeout")));
+
+        ProducerRecord<String, Object> sent = sent();
+        assertThat(sent.topic()).isEqualTo("ticket.created.retry-1");
+        assertThat(sent.key()).isEqualTo("10");
+        assertThat(sent.value()).isEqualTo("payload");
+        assertThat(header(sent, RetryTopicRouter.HEADER_ORIGINAL_TOPIC)).isEqualTo("ticket.created");
+        assertThat(header(sent, RetryTopicRouter.HEADER_ATTEMPT)).isEqualTo("1");
+        assertThat(Long.parseLong(header(sent, RetryTopicRouter.HEADER_DUE_AT))).isCloseTo(before + 5_000, within(1_000L));
+        assertThat(header(sent, RetryTopicRouter.HEADER_EXCEPTION_CLASS)).isEqualTo("java.io.IOException");
+        assertThat(header(sent, RetryTopicRouter.HEADER_EXCEPTION_MESSAGE)).isEqualTo("model timeout");
+    }
+
+    @Test
+    void failureAfterTheLastRetryLevelGoesToTheDlt() {
+        ConsumerRecord<String, Object> record = retryRecord("comment.created.retry-3", "comment.created", RetryTopicRouter.RETRY_LEVELS);
+
+        router.routeFailure(record, new IllegalStateException("still failing"));
+
+        ProducerRecord<String, Object> sent = sent();
+        assertThat(sent.topic()).isEqualTo("comment.created.dlt");
+        assertThat(header(sent, RetryTopicRouter.HEADER_ORIGINAL_TOPIC)).isEqualTo("comment.created");
+        assertThat(header(sent, RetryTopicRouter.HEADER_ATTEMPT)).isEqualTo(String.valueOf(RetryTopicRouter.RETRY_LEVELS + 1));
+    }
+
+    @Test
+    void replayStartsTheRetryChainOverAndIsDueImmediately() {
+        ConsumerRecord<String, Object> dltRecord = retryRecord("ticket.updated.dlt", "ticket.updated", RetryTopicRouter.RETRY_LEVELS + 1);
+        long before = System.currentTimeMillis();
+
+        router.replay(dltRecord);
+
+        ProducerRecord<String, Object> sent = sent();
+        assertThat(sent.topic()).isEqualTo("ticket.updated.retry-1");
+        assertThat(header(sent, RetryTopicRouter.HEADER_ATTEMPT)).isEqualTo("1");
+        assertThat(Long.parseLong(header(sent, RetryTopicRouter.HEADER_DUE_AT))).isBetween(before, System.currentTimeMillis());
+    }
+
+    private ProducerRecord<String, Object> sent() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        return captor.getValue();
+    }
+
+    private static ConsumerRecord<String, Object> retryRecord(String topic, String originalTopic, int attempt) {
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>(topic, 0, 3L, "10", "payload");
+        record.headers().add(RetryTopicRouter.HEADER_ORIGINAL_TOPIC, originalTopic.getBytes(StandardCharsets.UTF_8));
+        record.headers().add(RetryTopicRouter.HEADER_ATTEMPT, String.valueOf(attempt).getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    private static String header(ProducerRecord<String, Object> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
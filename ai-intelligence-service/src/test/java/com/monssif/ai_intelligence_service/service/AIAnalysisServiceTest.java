@@ -0,0 +1,116 @@
+package com.monssif.ai_intelligence_service.service;
+
+import com.monssif.ai_intelligence_service.dto.CategorySuggestion;
+import com.monssif.ai_intelligence_service.dto.LocalSentimentResult;
+import com.monssif.ai_intelligence_service.dto.SentimentAnalysisResult;
+import com.monssif.ai_intelligence_service.events.AIAnalysisResultEvent;
+import com.monssif.ai_intelligence_service.events.CommentCreatedEvent;
+import com.monssif.ai_intelligence_service.events.TicketCreatedEvent;
+import com.monssif.ai_intelligence_service.events.TicketUpdatedEvent;
+import com.monssif.ai_intelligence_service.messaging.AiAnalysisProducer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AIAnalysisServiceTest {
+
+    private static final SentimentAnalysisResult UNPARSEABLE =
+            SentimentAnalysisResult.builder().sentimentScore(0.0).fallback(true).build();
+
+    private final AiAnalysisProducer producer = mock(AiAnalysisProducer.class);
+    private final GeminiService geminiService = mock(GeminiService.class);
+    private final LocalSentimentClassifier localSentimentClassifier = mock(LocalSentimentClassifier.class);
+    private final CategorySuggestionService categorySuggestionService = mock(CategorySuggestionService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AIAnalysisService service;
+
+    @BeforeEach
+    void setUp() {
+        when(producer.publishAnalysisResult(any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(categorySuggestionService.suggest(anyString(), anyString()))
+                .thenReturn(CategorySuggestion.builder().confident(false).build());
+        when(localSentimentClassifier.classify(anyString()))
+                .thenReturn(LocalSentimentResult.builder().sentimentScore(0.0).confidence(0.1).build());
+
+        service = new AIAnalysisService(producer, geminiService, localSentimentClassifier, categorySuggestionService,
+                meterRegistry);
+        ReflectionTestUtils.setField(service, "localSentimentEnabled", true);
+        ReflectionTestUtils.setField(service, "localSentimentMinConfidence", 0.7);
+        ReflectionTestUtils.setField(service, "localSentimentMaxLength", 200);
+    }
+
+    @Test
+    void usableTicketAnalysisIsPublished() {
+        when(geminiService.analyzeTicketSentiment(anyString(), anyString(), anyString(), anyList()))
+                .thenReturn(SentimentAnalysisResult.builder().sentimentScore(-0.6).suggestedCategory("Billing").build());
+
+        service.processTicketCreated(ticketCreated()).join();
+
+        ArgumentCaptor<AIAnalysisResultEvent> event = ArgumentCaptor.forClass(AIAnalysisResultEvent.class);
+        verify(producer).publishAnalysisResult(event.capture());
+        assertThat(event.getValue().getSentimentScore()).isEqualTo(-0.6);
+        assertThat(event.getValue().getSuggestedCategoryName()).isEqualTo("Billing");
+    }
+
+    @Test
+    void unparseableTicketReplyFailsInsteadOfPublishingANeutralScore() {
+        when(geminiService.analyzeTicketSentiment(anyString(), anyString(), anyString(), anyList()))
+                .thenReturn(UNPARSEABLE);
+
+        assertThatThrownBy(() -> service.processTicketCreated(ticketCreated()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ticket 10");
+        assertThatThrownBy(() -> service.processTicketUpdated(TicketUpdatedEvent.builder()
+                .ticketId(10L).title("Refund").description("Charged twice").categoryName("Billing").build()))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(producer, never()).publishAnalysisResult(any());
+        assertThat(meterRegistry.get("ai.analysis.unusable").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void unparseableSentimentFailsEvenWhenTheCategoryCameFromNeighbours() {
+        when(categorySuggestionService.suggest(anyString(), anyString())).thenReturn(CategorySuggestion.builder()
+                .categoryName("Billing").voteShare(0.9).neighbors(5).confident(true).build());
+        when(geminiService.analyzeTicketSentimentOnly(anyString(), anyString())).thenReturn(UNPARSEABLE);
+
+        assertThatThrownBy(() -> service.processTicketCreated(ticketCreated()))
+                .isInstanceOf(IllegalStateException.class);
+        verify(producer, never()).publishAnalysisResult(any());
+    }
+
+    @Test
+    void unparseableCommentReplyFailsInsteadOfPublishingANeutralScore() {
+        when(geminiService.analyzeCommentSentiment(anyString())).thenReturn(UNPARSEABLE);
+
+        assertThatThrownBy(() -> service.processCommentCreated(CommentCreatedEvent.builder()
+                .commentId(5L).ticketId(10L).content("Still waiting on that refund").build()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("comment 5");
+        verify(producer, never()).publishAnalysisResult(any());
+    }
+
+    private static TicketCreatedEvent ticketCreated() {
+        return TicketCreatedEvent.builder()
+                .ticketId(10L)
+                .title("Refund")
+                .description("Charged twice for one order")
+                .categoryName("Billing")
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.monssif.ai_intelligence_service.service;
+
+import com.monssif.ai_intelligence_service.dto.CategorySuggestion;
+import com.monssif.ai_intelligence_service.embedding.HashingTextEmbedder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class CategorySuggestionServiceTest {
+
+    private CategorySuggestionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CategorySuggestionService(new HashingTextEmbedder(256), mock(StringRedisTemplate.class),
+                1000, "category-index", Set.of("RESOLVED", "CLOSED"), 10, 0.2, 0.6, 3);
+
+        long id = 1;
+        for (String subject : List.of("invoice", "refund", "payment", "charge", "subscription fee")) {
+            service.learn(id++, "Wrong " + subject + " amount", "I was billed twice for my " + subject + " this month", "Billing");
+            service.learn(id++, "Question about my " + subject, "The " + subject + " on my credit card statement looks wrong", "Billing");
+        }
+        for (String subject : List.of("mobile app", "dashboard", "export", "login page", "api")) {
+            service.learn(id++, "The " + subject + " crashes", "The " + subject + " crashes with an error after the latest update", "Technical Support");
+            service.learn(id++, subject + " not loading", "Getting a server error and timeout when opening the " + subject, "Technical Support");
+        }
+    }
+
+    @Test
+    void suggestsCategoryFromNearestResolvedTickets() {
+        CategorySuggestion billing = service.suggest("Billed twice", "My credit card was billed twice for the invoice");
+        CategorySuggestion technical = service.suggest("Dashboard error", "The dashboard crashes with a server error");
+
+        assertThat(billing.isConfident()).isTrue();
+        assertThat(billing.getCategoryName()).isEqualTo("Billing");
+        assertThat(technical.isConfident()).isTrue();
+        assertThat(technical.getCategoryName()).isEqualTo("Technical Support");
+    }
+
+    @Test
+    void leavesUnfamiliarTicketsToTheLlm() {
+        CategorySuggestion suggestion = service.suggest("Feature idea", "Would love dark mode for reports");
+
+        assertThat(suggestion.isConfident()).isFalse();
+        assertThat(service.getKnownCategories()).containsExactly("Billing", "Technical Support");
+    }
+
+    @Test
+    void relearningTicketMovesItToNewCategory() {
+        service.learn(1L, "Wrong invoice amount", "I was billed twice for my invoice this month", "Account Management");
+
+        assertThat(service.getIndexedCounts())
+                .containsEntry("Billing", 9)
+                .containsEntry("Account Management", 1);
+    }
+}
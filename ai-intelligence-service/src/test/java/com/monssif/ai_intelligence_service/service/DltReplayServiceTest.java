@@ -0,0 +1,128 @@
+package com.monssif.ai_intelligence_service.service;
+
+import com.monssif.ai_intelligence_service.messaging.RetryTopicRouter;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DltReplayServiceTest {
+
+    private static final String DLT = "ticket.created.dlt";
+    private static final TopicPartition PARTITION = new TopicPartition(DLT, 0);
+
+    @SuppressWarnings("unchecked")
+    private final ConsumerFactory<Object, Object> consumerFactory = mock(ConsumerFactory.class);
+    @SuppressWarnings("unchecked")
+    private final Consumer<Object, Object> consumer = mock(Consumer.class);
+    private final RetryTopicRouter retryTopicRouter = mock(RetryTopicRouter.class);
+
+    private DltReplayService service;
+
+    @BeforeEach
+    void setUp() {
+        when(consumerFactory.createConsumer(anyString(), isNull(), anyString(), any(Properties.class))).thenReturn(consumer);
+        when(consumer.partitionsFor(DLT)).thenReturn(List.of(new PartitionInfo(DLT, 0, null, null, null)));
+        when(retryTopicRouter.getSourceTopics()).thenReturn(List.of("ticket.created"));
+        when(retryTopicRouter.dltTopic("ticket.created")).thenReturn(DLT);
+        when(retryTopicRouter.replay(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        service = new DltReplayService(consumerFactory, retryTopicRouter);
+        ReflectionTestUtils.setField(service, "groupId", "ai-intelligence-service");
+        ReflectionTestUtils.setField(service, "pollTimeout", Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void onlySourceTopicsCanBeReplayed() {
+        assertThat(service.isReplayableTopic("ticket.created")).isTrue();
+        assertThat(service.isReplayableTopic("ticket.created.dlt")).isFalse();
+    }
+
+    @Test
+    void replaysUpToMaxRecordsAndCommitsOnlyWhatWasRepublished() {
+        when(consumer.poll(any(Duration.class))).thenReturn(records(0, 5), records(5, 5), ConsumerRecords.empty());
+
+        assertThat(service.requestReplay("ticket.created", 7, 1_000)).isTrue();
+
+        verify(consumer, timeout(5_000)).close();
+        verify(consumer).assign(List.of(PARTITION));
+        verify(retryTopicRouter, times(7)).replay(any());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<TopicPartition, OffsetAndMetadata>> commits = ArgumentCaptor.forClass(Map.class);
+        verify(consumer, times(2)).commitSync(commits.capture());
+        assertThat(commits.getAllValues()).extracting(offsets -> offsets.get(PARTITION).offset()).containsExactly(5L, 7L);
+    }
+
+    @Test
+    void failedRepublishCommitsOnlyTheRecordsBeforeIt() {
+        when(consumer.poll(any(Duration.class))).thenReturn(records(0, 3));
+        when(retryTopicRouter.replay(any())).thenReturn(CompletableFuture.completedFuture(null),
+                CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        assertThat(service.requestReplay("ticket.created", 10, 1_000)).isTrue();
+
+        verify(consumer, timeout(5_000)).close();
+        verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(1)));
+        verify(retryTopicRouter, times(2)).replay(any());
+    }
+
+    @Test
+    void onlyOneReplayRunsAtATime() throws Exception {
+        CountDownLatch polling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(consumer.poll(any(Duration.class))).thenAnswer(invocation -> {
+            polling.countDown();
+            release.await();
+            return ConsumerRecords.empty();
+        });
+
+        assertThat(service.requestReplay("ticket.created", 10, 1_000)).isTrue();
+        polling.await();
+        assertThat(service.requestReplay("ticket.created", 10, 1_000)).isFalse();
+
+        release.countDown();
+        verify(consumer, timeout(5_000)).close();
+        verify(consumerFactory, timeout(5_000)).createConsumer(eq("ai-intelligence-service-dlt-replay"), isNull(),
+                eq("-dlt-replay"), any(Properties.class));
+    }
+
+    private static ConsumerRecords<Object, Object> records(int fromOffset, int count) {
+        List<ConsumerRecord<Object, Object>> records = new ArrayList<>();
+        for (int offset = fromOffset; offset < fromOffset + count; offset++) {
+            records.add(new ConsumerRecord<>(DLT, 0, offset, String.valueOf(offset), "payload-" + offset));
+        }
+        return new ConsumerRecords<>(Map.of(PARTITION, records));
+    }
+}
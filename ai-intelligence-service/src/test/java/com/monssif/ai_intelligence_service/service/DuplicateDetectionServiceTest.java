@@ -0,0 +1,51 @@
+package com.monssif.ai_intelligence_service.service;
+
+import com.monssif.ai_intelligence_service.duplicate.DuplicateMatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DuplicateDetectionServiceTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+
+    private DuplicateDetectionService service;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        service = new DuplicateDetectionService(redisTemplate, new SimpleMeterRegistry(),
+                16, 4, 5, 1_000, Duration.ofHours(24), 0.6, "duplicate-index");
+    }
+
+    @Test
+    void onlyTheCheckingInstancePersistsSignatures() {
+        service.index(1L, "Cannot log in", "The login page keeps showing an invalid password error since this morning.");
+
+        verify(hashOperations, never()).put(anyString(), any(), any());
+        assertThat(service.getIndexedCount()).isEqualTo(1);
+
+        DuplicateMatch match = service.detectAndIndex(2L, "Cannot log in!",
+                "The login page keeps showing an invalid password error since this morning");
+
+        assertThat(match).isNotNull();
+        assertThat(match.getTicketId()).isEqualTo(1L);
+        verify(hashOperations).put(anyString(), eq("2"), anyString());
+        verify(hashOperations, never()).put(anyString(), eq("1"), any());
+    }
+}
@@ -0,0 +1,165 @@
+package com.monssif.ai_intelligence_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeminiRateLimiterTest {
+
+    private static final int UNLIMITED = 100_000_000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void estimatesPromptTokensPlusExpectedOutput() {
+        GeminiRateLimiter limiter = limiter(UNLIMITED, UNLIMITED, 4, 1, 16, Duration.ofSeconds(10));
+
+        assertThat(limiter.estimateTokens(null)).isEqualTo(256);
+        assertThat(limiter.estimateTokens("abcd")).isEqualTo(257);
+        assertThat(limiter.estimateTokens("abcde")).isEqualTo(258);
+    }
+
+    @Test
+    void waitsForTheRequestBucketToRefill() throws Exception {
+        // 600 requests/min: a full bucket of 600, then one permit every 100 ms
+        GeminiRateLimiter limiter = limiter(600, UNLIMITED, 16, 1, 16, Duration.ofSeconds(10));
+        while (limiter.getAvailableRequestPermits() >= 1) {
+            limiter.acquire(1).success();
+        }
+
+        // Less than one permit is left, so three more need at least two refilled ones
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(1).success();
+        }
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(190));
+    }
+
+    @Test
+    void waitsForTheTokenBucketToRefill() throws Exception {
+        // 60,000 tokens/min: 1,000 tokens per second once the bucket is drained
+        GeminiRateLimiter limiter = limiter(UNLIMITED, 60_000, 16, 1, 16, Duration.ofSeconds(10));
+        limiter.acquire(60_000).success();
+        while (limiter.getAvailableTokenPermits() >= 100) {
+            limiter.acquire(100).success();
+        }
+
+        // Less than 100 tokens are left, so three 100-token calls need at least 200 refilled ones
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(100).success();
+        }
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(190));
+    }
+
+    @Test
+    void rateLimitedCallsHalveTheLimitOncePerLatencyWindowAndDrainTheRequestBucket() throws Exception {
+        GeminiRateLimiter limiter = limiter(600, UNLIMITED, 8, 1, 16, Duration.ofSeconds(10));
+
+        GeminiRateLimiter.Permit first = limiter.acquire(1);
+        GeminiRateLimiter.Permit second = limiter.acquire(1);
+        first.rateLimited();
+        assertThat(limiter.getConcurrencyLimit()).isEqualTo(4.0);
+        assertThat(limiter.getAvailableRequestPermits()).isLessThan(1);
+
+        second.rateLimited();
+        assertThat(limiter.getConcurrencyLimit()).isEqualTo(4.0);
+        assertThat(meterRegistry.get("gemini.limiter.throttled").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void slowCallsHalveTheLimitButNotBelowTheMinimum() throws Exception {
+        GeminiRateLimiter limiter = limiter(UNLIMITED, UNLIMITED, 3, 2, 16, Duration.ofMillis(20));
+
+        GeminiRateLimiter.Permit permit = limiter.acquire(1);
+        Thread.sleep(30);
+        permit.success();
+
+        assertThat(limiter.getConcurrencyLimit()).isEqualTo(2.0);
+    }
+
+    @Test
+    void saturatedSuccessfulCallsRaiseTheLimitAdditivelyUpToTheMaximum() throws Exception {
+        GeminiRateLimiter limiter = limiter(UNLIMITED, UNLIMITED, 2, 1, 4, Duration.ofSeconds(10));
+
+        saturate(limiter);
+        assertThat(limiter.getConcurrencyLimit()).isEqualTo(2.5);
+
+        for (int round = 0; round < 50; round++) {
+            saturate(limiter);
+        }
+        assertThat(limiter.getConcurrencyLimit()).isEqualTo(4.0);
+    }
+
+    @Test
+    void callersQueueBehindTheConcurrencyLimitAndDrain() throws Exception {
+        GeminiRateLimiter limiter = limiter(UNLIMITED, UNLIMITED, 2, 2, 2, Duration.ofSeconds(10));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger maxInFlight = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<?>> callers = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                callers.add(executor.submit(() -> {
+                    GeminiRateLimiter.Permit permit = limiter.acquire(1);
+                    maxInFlight.accumulateAndGet(limiter.getInFlight(), Math::max);
+                    release.await();
+                    permit.success();
+                    return null;
+                }));
+            }
+
+            awaitUntil(() -> limiter.getInFlight() == 2 && limiter.getQueueDepth() == 4);
+            assertThat(meterRegistry.get("gemini.limiter.queue.depth").gauge().value()).isEqualTo(4.0);
+
+            release.countDown();
+            for (Future<?> caller : callers) {
+                caller.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(maxInFlight).hasValue(2);
+        assertThat(limiter.getQueueDepth()).isZero();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    // Takes every permit the current limit allows, then completes them all successfully.
+    private static void saturate(GeminiRateLimiter limiter) throws InterruptedException {
+        int limit = (int) Math.floor(limiter.getConcurrencyLimit());
+        List<GeminiRateLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < limit; i++) {
+            permits.add(limiter.acquire(1));
+        }
+        permits.forEach(GeminiRateLimiter.Permit::success);
+    }
+
+    private GeminiRateLimiter limiter(int requestsPerMinute, int tokensPerMinute, int initialConcurrency,
+                                      int minConcurrency, int maxConcurrency, Duration targetLatency) {
+        return new GeminiRateLimiter(meterRegistry, requestsPerMinute, tokensPerMinute, initialConcurrency,
+                minConcurrency, maxConcurrency, targetLatency, 0.5, 4, 256);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.monssif.ai_intelligence_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monssif.ai_intelligence_service.config.AnalysisCacheKeyGenerator;
+import com.monssif.ai_intelligence_service.config.CacheConfig;
+import com.monssif.ai_intelligence_service.dto.SentimentAnalysisResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig(GeminiServiceCachingTest.Config.class)
+@TestPropertySource(properties = "ai.analysis.cache.max-input-length=20000")
+class GeminiServiceCachingTest {
+
+    private static final Deque<String> RESPONSES = new ArrayDeque<>();
+    private static final AtomicInteger CALLS = new AtomicInteger();
+
+    @Autowired
+    private GeminiService geminiService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        RESPONSES.clear();
+        CALLS.set(0);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void cachesUsableResults() {
+        RESPONSES.add("{\"sentimentScore\": 0.7}");
+
+        SentimentAnalysisResult first = geminiService.analyzeCommentSentiment("Thanks for the quick fix");
+        SentimentAnalysisResult second = geminiService.analyzeCommentSentiment("Thanks for the quick fix");
+
+        assertThat(CALLS).hasValue(1);
+        assertThat(second.getSentimentScore()).isEqualTo(first.getSentimentScore()).isEqualTo(0.7);
+    }
+
+    @Test
+    void doesNotCacheFallbackResults() {
+        RESPONSES.add("Sorry, I cannot help with that");
+        RESPONSES.add("{\"sentimentScore\": -0.5}");
+
+        SentimentAnalysisResult first = geminiService.analyzeCommentSentiment("Still waiting on a refund");
+        SentimentAnalysisResult second = geminiService.analyzeCommentSentiment("Still waiting on a refund");
+
+        assertThat(CALLS).hasValue(2);
+        assertThat(first.isFallback()).isTrue();
+        assertThat(second.isFallback()).isFalse();
+        assertThat(second.getSentimentScore()).isEqualTo(-0.5);
+    }
+
+    @Configuration
+    @EnableCaching
+    @Import(AnalysisCacheKeyGenerator.class)
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConfig.TICKET_ANALYSIS_CACHE, CacheConfig.COMMENT_ANALYSIS_CACHE);
+        }
+
+        @Bean
+        GeminiService geminiService() {
+            ChatClient chatClient = mock(ChatClient.class);
+            ChatClient.ChatClientRequestSpec requestSpec = mock(ChatClient.ChatClientRequestSpec.class);
+            ChatClient.CallResponseSpec callSpec = mock(ChatClient.CallResponseSpec.class);
+            ChatClient.Builder builder = mock(ChatClient.Builder.class);
+
+            when(builder.build()).thenReturn(chatClient);
+            when(chatClient.prompt()).thenReturn(requestSpec);
+            when(requestSpec.user(anyString())).thenReturn(requestSpec);
+            when(requestSpec.call()).thenReturn(callSpec);
+            when(callSpec.content()).thenAnswer(invocation -> {
+                CALLS.incrementAndGet();
+                return RESPONSES.poll();
+            });
+
+            return new GeminiService(new ObjectMapper(), builder, 20, new GeminiRateLimiter(new SimpleMeterRegistry(),
+                    600, 1_000_000, 4, 1, 16, Duration.ofSeconds(10), 0.5, 4, 256), 3);
+        }
+    }
+}
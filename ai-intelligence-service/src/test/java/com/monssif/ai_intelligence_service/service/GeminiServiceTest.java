@@ -0,0 +1,130 @@
+package com.monssif.ai_intelligence_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monssif.ai_intelligence_service.dto.CommentAnalysisRequest;
+import com.monssif.ai_intelligence_service.dto.SentimentAnalysisResult;
+import com.monssif.ai_intelligence_service.dto.TicketAnalysisRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GeminiServiceTest {
+
+    private final List<String> prompts = new ArrayList<>();
+    private final Deque<String> responses = new ArrayDeque<>();
+
+    private GeminiService geminiService;
+
+    @BeforeEach
+    void setUp() {
+        ChatClient chatClient = mock(ChatClient.class);
+        ChatClient.ChatClientRequestSpec requestSpec = mock(ChatClient.ChatClientRequestSpec.class);
+        ChatClient.CallResponseSpec callSpec = mock(ChatClient.CallResponseSpec.class);
+        ChatClient.Builder builder = mock(ChatClient.Builder.class);
+
+        when(builder.build()).thenReturn(chatClient);
+        when(chatClient.prompt()).thenReturn(requestSpec);
+        when(requestSpec.user(anyString())).thenAnswer(invocation -> {
+            prompts.add(invocation.getArgument(0));
+            return requestSpec;
+        });
+        when(requestSpec.call()).thenReturn(callSpec);
+        when(callSpec.content()).thenAnswer(invocation -> responses.poll());
+
+        geminiService = new GeminiService(new ObjectMapper(), builder, 20, new GeminiRateLimiter(new SimpleMeterRegistry(),
+                600, 1_000_000, 4, 1, 16, Duration.ofSeconds(10), 0.5, 4, 256), 3);
+    }
+
+    @Test
+    void packsAllTicketsIntoSinglePrompt() {
+        responses.add("""
+                ```json
+                [
+                  {"id": 1, "sentimentScore": -0.8, "suggestedCategory": "Billing"},
+                  {"id": "2", "sentimentScore": 0.4, "suggestedCategory": "General"},
+                  {"id": 3, "sentimentScore": 0.0, "suggestedCategory": "Technical Support"}
+                ]
+                ```
+                """);
+
+        Map<Long, SentimentAnalysisResult> results = geminiService.analyzeTicketSentimentBatch(List.of(
+                ticket(1L, "Charged twice"),
+                ticket(2L, "Question about plans"),
+                ticket(3L, "App crashes on startup")));
+
+        assertThat(prompts).hasSize(1);
+        assertThat(prompts.get(0)).contains("\"id\":1", "\"id\":2", "\"id\":3");
+        assertThat(results).hasSize(3);
+        assertThat(results.get(1L).getSentimentScore()).isEqualTo(-0.8);
+        assertThat(results.get(1L).getSuggestedCategory()).isEqualTo("Billing");
+        assertThat(results.get(2L).getSentimentScore()).isEqualTo(0.4);
+    }
+
+    @Test
+    void leavesOutUnparseableItems() {
+        responses.add("""
+                [
+                  {"id": 10, "sentimentScore": 0.9},
+                  {"id": 11, "sentimentScore": "very angry"}
+                ]
+                """);
+
+        Map<Long, SentimentAnalysisResult> results = geminiService.analyzeCommentSentimentBatch(List.of(
+                comment(10L, "Thanks, that fixed it!"),
+                comment(11L, "Still broken after the update"),
+                comment(12L, "Any news?")));
+
+        assertThat(prompts).hasSize(1);
+        assertThat(results).containsOnlyKeys(10L);
+        assertThat(results.get(10L).getSentimentScore()).isEqualTo(0.9);
+    }
+
+    @Test
+    void flagsUnusableRepliesAsFallback() {
+        responses.add("{\"sentimentScore\": -0.6}");
+        responses.add("{\"sentimentScore\": \"very angry\"}");
+        responses.add("{\"sentimentScore\": 4.2, \"suggestedCategory\": \"Billing\"}");
+        responses.add("I could not analyze that");
+
+        SentimentAnalysisResult valid = geminiService.analyzeCommentSentiment("Still broken");
+        SentimentAnalysisResult notANumber = geminiService.analyzeCommentSentiment("Still broken");
+        SentimentAnalysisResult outOfRange = geminiService.analyzeTicketSentiment("Charged twice", "details", "General", List.of());
+        SentimentAnalysisResult notJson = geminiService.analyzeTicketSentimentOnly("Charged twice", "details");
+
+        assertThat(valid.isFallback()).isFalse();
+        assertThat(valid.getSentimentScore()).isEqualTo(-0.6);
+        assertThat(List.of(notANumber, outOfRange, notJson)).allSatisfy(result -> {
+            assertThat(result.isFallback()).isTrue();
+            assertThat(result.getSentimentScore()).isEqualTo(0.0);
+        });
+    }
+
+    private TicketAnalysisRequest ticket(Long id, String title) {
+        return TicketAnalysisRequest.builder()
+                .id(id)
+                .title(title)
+                .description(title + " - details")
+                .category("General")
+                .build();
+    }
+
+    private CommentAnalysisRequest comment(Long id, String content) {
+        return CommentAnalysisRequest.builder()
+                .id(id)
+                .content(content)
+                .build();
+    }
+}
@@ -0,0 +1,173 @@
+package com.monssif.ai_intelligence_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monssif.ai_intelligence_service.dto.LocalSentimentResult;
+import com.monssif.ai_intelligence_service.events.CommentCreatedEvent;
+import com.monssif.ai_intelligence_service.messaging.AiAnalysisProducer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LocalSentimentClassifierTest {
+
+    private static final double MIN_CONFIDENCE = 0.7;
+    private static final int MAX_LENGTH = 200;
+    private static final double NEUTRAL_BAND = 0.25;
+    private static final int BENCHMARK_COMMENTS = 5_000;
+
+    private LocalSentimentClassifier classifier;
+    private List<String[]> holdout;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        classifier = new LocalSentimentClassifier(new ClassPathResource("sentiment/lexicon.tsv"));
+
+        holdout = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource("sentiment/holdout.tsv").getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    holdout.add(line.split("\t", 2));
+                }
+            }
+        }
+    }
+
+    @Test
+    void scoresShortCommentsWithConfidence() {
+        LocalSentimentResult thanks = classifier.classify("thanks");
+        LocalSentimentResult broken = classifier.classify("still broken");
+        LocalSentimentResult negated = classifier.classify("this is not good");
+        LocalSentimentResult mixed = classifier.classify("The export works but the import is broken");
+        LocalSentimentResult unknown = classifier.classify("Please see the attached screenshot.");
+
+        assertThat(thanks.getSentimentScore()).isPositive();
+        assertThat(thanks.getConfidence()).isGreaterThanOrEqualTo(MIN_CONFIDENCE);
+        assertThat(broken.getSentimentScore()).isNegative();
+        assertThat(broken.getConfidence()).isGreaterThanOrEqualTo(MIN_CONFIDENCE);
+        assertThat(negated.getSentimentScore()).isNegative();
+        assertThat(mixed.getConfidence()).isLessThan(MIN_CONFIDENCE);
+        assertThat(unknown.getConfidence()).isZero();
+    }
+
+    // holdout.tsv is labelled by hand and kept apart from the lexicon, so this measures how the local path generalises.
+    @Test
+    void agreesWithHeldOutLabelsOnLocallyRoutedComments() {
+        int routedLocally = 0;
+        int agreeing = 0;
+
+        for (String[] entry : holdout) {
+            int label = Integer.parseInt(entry[0]);
+            String comment = entry[1];
+            LocalSentimentResult result = classifier.classify(comment);
+            if (comment.length() > MAX_LENGTH || result.getConfidence() < MIN_CONFIDENCE) {
+                continue;
+            }
+            routedLocally++;
+            if (polarity(result.getSentimentScore()) == label) {
+                agreeing++;
+            }
+        }
+
+        assertThat((double) routedLocally / holdout.size()).isGreaterThanOrEqualTo(0.3);
+        assertThat((double) agreeing / routedLocally).isGreaterThanOrEqualTo(0.9);
+    }
+
+    private int polarity(double score) {
+        if (score > NEUTRAL_BAND) {
+            return 1;
+        }
+        return score < -NEUTRAL_BAND ? -1 : 0;
+    }
+
+    // Opt-in: mvn test -Dbenchmark.local-sentiment=true. The Gemini path runs against a mocked ChatClient, so it only
+    // shows the in-process cost; -Dbenchmark.local-sentiment.gemini-latency-ms adds a simulated round trip per call.
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.local-sentiment", matches = "true")
+    void reportsCommentsPerSecondForLocalAndGeminiPaths() {
+        long geminiLatencyMs = Long.getLong("benchmark.local-sentiment.gemini-latency-ms", 0L);
+        AtomicInteger geminiCalls = new AtomicInteger();
+        AIAnalysisService localFirst = analysisService(true, geminiLatencyMs, geminiCalls);
+        AIAnalysisService geminiOnly = analysisService(false, geminiLatencyMs, new AtomicInteger());
+        List<CommentCreatedEvent> comments = new ArrayList<>(BENCHMARK_COMMENTS);
+        for (int i = 0; i < BENCHMARK_COMMENTS; i++) {
+            comments.add(CommentCreatedEvent.builder()
+                    .commentId((long) i)
+                    .ticketId((long) i % 100)
+                    .content(holdout.get(i % holdout.size())[1])
+                    .build());
+        }
+
+        // Warm both paths up before timing them
+        comments.subList(0, 500).forEach(localFirst::processCommentCreated);
+        comments.subList(0, 500).forEach(geminiOnly::processCommentCreated);
+        geminiCalls.set(0);
+
+        double localPerSecond = commentsPerSecond(localFirst, comments);
+        double geminiPerSecond = commentsPerSecond(geminiOnly, comments);
+
+        System.out.printf("local path:  %.0f comments/s (%.0f%% answered locally)%n",
+                localPerSecond, 100.0 * (BENCHMARK_COMMENTS - geminiCalls.get()) / BENCHMARK_COMMENTS);
+        System.out.printf("gemini path: %.0f comments/s (simulated latency %d ms)%n", geminiPerSecond, geminiLatencyMs);
+        assertThat(geminiCalls.get()).isLessThan(BENCHMARK_COMMENTS);
+    }
+
+    private double commentsPerSecond(AIAnalysisService service, List<CommentCreatedEvent> comments) {
+        long started = System.nanoTime();
+        comments.forEach(service::processCommentCreated);
+        return comments.size() / ((System.nanoTime() - started) / 1e9);
+    }
+
+    private AIAnalysisService analysisService(boolean localSentimentEnabled, long geminiLatencyMs,
+                                              AtomicInteger geminiCalls) {
+        ChatClient chatClient = mock(ChatClient.class);
+        ChatClient.Builder builder = mock(ChatClient.Builder.class);
+        when(builder.build()).thenReturn(chatClient);
+        ChatClient.ChatClientRequestSpec requestSpec = mock(ChatClient.ChatClientRequestSpec.class);
+        ChatClient.CallResponseSpec callSpec = mock(ChatClient.CallResponseSpec.class);
+        when(chatClient.prompt()).thenReturn(requestSpec);
+        when(requestSpec.user(anyString())).thenReturn(requestSpec);
+        when(requestSpec.call()).thenReturn(callSpec);
+        when(callSpec.content()).thenAnswer(call -> {
+            geminiCalls.incrementAndGet();
+            if (geminiLatencyMs > 0) {
+                TimeUnit.MILLISECONDS.sleep(geminiLatencyMs);
+            }
+            return "{\"sentimentScore\": -0.3}";
+        });
+        GeminiService geminiService = new GeminiService(new ObjectMapper(), builder, 20,
+                new GeminiRateLimiter(new SimpleMeterRegistry(), 60_000, 100_000_000, 8, 1, 16,
+                        Duration.ofSeconds(10), 0.5, 8, 1_000), 1);
+
+        AiAnalysisProducer producer = mock(AiAnalysisProducer.class);
+        when(producer.publishAnalysisResult(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        AIAnalysisService service = new AIAnalysisService(producer, geminiService, classifier,
+                mock(CategorySuggestionService.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "localSentimentEnabled", localSentimentEnabled);
+        ReflectionTestUtils.setField(service, "localSentimentMinConfidence", MIN_CONFIDENCE);
+        ReflectionTestUtils.setField(service, "localSentimentMaxLength", MAX_LENGTH);
+        return service;
+    }
+}
@@ -0,0 +1,16 @@
+package com.monssif.ticket_management_service.assignment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgentProfile {
+    private Long agentId;
+    private String fullName;
+    private Map<String, Double> skills;
+}
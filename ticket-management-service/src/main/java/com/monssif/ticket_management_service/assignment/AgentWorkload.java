@@ -0,0 +1,15 @@
+package com.monssif.ticket_management_service.assignment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgentWorkload {
+    private Long agentId;
+    private String fullName;
+    private long weightedLoad;
+    private int openTickets;
+}
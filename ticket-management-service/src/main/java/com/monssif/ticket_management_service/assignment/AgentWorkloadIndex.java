@@ -0,0 +1,307 @@
+package com.monssif.ticket_management_service.assignment;
+
+import com.monssif.ticket_management_service.entity.Ticket;
+import com.monssif.ticket_management_service.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory open workload per active agent, weighted by priority level. Agents are kept in a skip list ordered by
+ * load, so the least-loaded agent is found without scanning everyone. Updates are serialized per ticket and per
+ * agent with striped locks; a rebuild from the database swaps the whole state under an exclusive lock.
+ */
+@Component
+@Slf4j
+public class AgentWorkloadIndex {
+
+    private static final int STRIPES = 64;
+
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final ReentrantLock[] ticketStripes = newStripes();
+    private final ReentrantLock[] agentStripes = newStripes();
+
+    private final Map<Long, AgentLoad> agents = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<LoadKey> byLoad = new ConcurrentSkipListSet<>();
+    private final Map<Long, OpenTicket> tickets = new ConcurrentHashMap<>();
+
+    private volatile double maxSkillFactor = 1.0;
+
+    public void rebuild(Collection<AgentProfile> activeAgents, Collection<OpenAssignment> openAssignments) {
+        rebuildLock.writeLock().lock();
+        try {
+            agents.clear();
+            byLoad.clear();
+            tickets.clear();
+            maxSkillFactor = 1.0;
+
+            for (AgentProfile profile : activeAgents) {
+                putAgent(profile);
+            }
+            for (OpenAssignment assignment : openAssignments) {
+                AgentLoad agent = agents.get(assignment.getAgentId());
+                if (agent == null) {
+                    continue;
+                }
+                int weight = weight(assignment.getPriorityLevel());
+                tickets.put(assignment.getTicketId(), new OpenTicket(assignment.getAgentId(), weight));
+                agent.load += weight;
+                agent.openTickets++;
+            }
+            for (AgentLoad agent : agents.values()) {
+                agent.key = new LoadKey(agent.load, agent.agentId);
+                byLoad.add(agent.key);
+            }
+            log.info("Rebuilt agent workload index with {} agents and {} open assignments", agents.size(), tickets.size());
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    // Keeps the agent set in line with user changes; skills stay as learned at the last rebuild.
+    public void syncAgent(User user) {
+        if (!Boolean.TRUE.equals(user.getIsActive()) || !(user.isAgent() || user.isAdmin())) {
+            removeAgent(user.getId());
+            return;
+        }
+
+        rebuildLock.readLock().lock();
+        ReentrantLock stripe = stripe(agentStripes, user.getId());
+        stripe.lock();
+        try {
+            AgentLoad existing = agents.get(user.getId());
+            if (existing != null) {
+                existing.fullName = user.getFullName();
+            } else {
+                AgentLoad agent = putAgent(new AgentProfile(user.getId(), user.getFullName(), Map.of()));
+                agent.key = new LoadKey(0, agent.agentId);
+                byLoad.add(agent.key);
+            }
+        } finally {
+            stripe.unlock();
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    // Deactivated agents stop receiving tickets; their open tickets are dropped until reassigned. Every ticket
+    // stripe is held (in the same ticket-then-agent order as track) so no concurrent track can move one of the
+    // agent's tickets while they are being dropped.
+    public void removeAgent(Long agentId) {
+        rebuildLock.readLock().lock();
+        for (ReentrantLock ticketStripe : ticketStripes) {
+            ticketStripe.lock();
+        }
+        ReentrantLock stripe = stripe(agentStripes, agentId);
+        stripe.lock();
+        try {
+            AgentLoad agent = agents.remove(agentId);
+            if (agent != null) {
+                byLoad.remove(agent.key);
+                tickets.values().removeIf(ticket -> ticket.agentId == agentId);
+            }
+        } finally {
+            stripe.unlock();
+            for (int i = ticketStripes.length - 1; i >= 0; i--) {
+                ticketStripes[i].unlock();
+            }
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    // Idempotent: records where the ticket stands now, whatever was recorded before. Inside a transaction the
+    // change is applied only once it commits, so a rollback never leaves the index ahead of the database.
+    public void syncAfterCommit(Ticket ticket) {
+        syncAfterCommit(ticket, ticket.getStatus().getIsFinal(), ticket.getPriority().getLevel());
+    }
+
+    // For writers that hold the status and priority from the lookup snapshot, so the ticket's lookup references
+    // are not loaded just to read them.
+    public void syncAfterCommit(Ticket ticket, Boolean statusFinal, Integer priorityLevel) {
+        boolean open = ticket.getResolvedAt() == null && !Boolean.TRUE.equals(statusFinal);
+        Long ticketId = ticket.getId();
+        Long agentId = open && ticket.getAssignedAgent() != null ? ticket.getAssignedAgent().getId() : null;
+        afterCommit(() -> track(ticketId, agentId, priorityLevel));
+    }
+
+    public void releaseAfterCommit(Long ticketId) {
+        afterCommit(() -> release(ticketId));
+    }
+
+    public void track(Long ticketId, Long agentId, Integer priorityLevel) {
+        rebuildLock.readLock().lock();
+        ReentrantLock stripe = stripe(ticketStripes, ticketId);
+        stripe.lock();
+        try {
+            // Tickets of agents outside the index are not recorded, so a removed agent that comes back starts
+            // from a load that matches the tickets held against it
+            boolean indexed = agentId != null && agents.containsKey(agentId);
+            OpenTicket previous = indexed
+                    ? tickets.put(ticketId, new OpenTicket(agentId, weight(priorityLevel)))
+                    : tickets.remove(ticketId);
+            if (previous != null) {
+                adjust(previous.agentId, -previous.weight, -1);
+            }
+            if (indexed) {
+                adjust(agentId, weight(priorityLevel), 1);
+            }
+        } finally {
+            stripe.unlock();
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    public void release(Long ticketId) {
+        track(ticketId, null, null);
+    }
+
+    /**
+     * Picks the agent with the lowest (load + weight) / skill for the ticket's category and records the ticket
+     * against them. Two concurrent picks may choose the same agent; the next pick already sees both loads.
+     */
+    public Optional<Long> reserve(Long ticketId, String categoryName, Integer priorityLevel) {
+        int weight = weight(priorityLevel);
+        Long chosen = null;
+        double bestScore = Double.MAX_VALUE;
+        double maxSkill = maxSkillFactor;
+
+        for (LoadKey key : byLoad) {
+            if ((key.load + weight) / maxSkill >= bestScore) {
+                break;
+            }
+            AgentLoad agent = agents.get(key.agentId);
+            if (agent == null) {
+                continue;
+            }
+            double skill = categoryName != null ? agent.skills.getOrDefault(categoryName, 1.0) : 1.0;
+            double score = (key.load + weight) / skill;
+            if (score < bestScore) {
+                bestScore = score;
+                chosen = key.agentId;
+            }
+        }
+
+        if (chosen != null) {
+            track(ticketId, chosen, priorityLevel);
+        }
+        return Optional.ofNullable(chosen);
+    }
+
+    public Optional<Long> agentOf(Long ticketId) {
+        OpenTicket ticket = tickets.get(ticketId);
+        return ticket != null ? Optional.of(ticket.agentId()) : Optional.empty();
+    }
+
+    public List<AgentWorkload> snapshot() {
+        List<AgentWorkload> workloads = new ArrayList<>();
+        for (LoadKey key : byLoad) {
+            AgentLoad agent = agents.get(key.agentId);
+            if (agent != null) {
+                workloads.add(new AgentWorkload(agent.agentId, agent.fullName, agent.load, agent.openTickets));
+            }
+        }
+        workloads.sort(Comparator.comparingLong(AgentWorkload::getWeightedLoad).thenComparing(AgentWorkload::getAgentId));
+        return workloads;
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private void adjust(long agentId, long loadDelta, int ticketDelta) {
+        ReentrantLock stripe = stripe(agentStripes, agentId);
+        stripe.lock();
+        try {
+            AgentLoad agent = agents.get(agentId);
+            if (agent == null) {
+                return;
+            }
+            byLoad.remove(agent.key);
+            agent.load += loadDelta;
+            agent.openTickets += ticketDelta;
+            agent.key = new LoadKey(agent.load, agentId);
+            byLoad.add(agent.key);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    private AgentLoad putAgent(AgentProfile profile) {
+        AgentLoad agent = new AgentLoad(profile.getAgentId(), profile.getFullName(), Map.copyOf(profile.getSkills()));
+        agents.put(agent.agentId, agent);
+        raiseMaxSkill(profile.getSkills());
+        return agent;
+    }
+
+    private void raiseMaxSkill(Map<String, Double> skills) {
+        for (double factor : skills.values()) {
+            if (factor > maxSkillFactor) {
+                maxSkillFactor = factor;
+            }
+        }
+    }
+
+    private static int weight(Integer priorityLevel) {
+        return priorityLevel != null ? Math.max(1, priorityLevel) : 1;
+    }
+
+    private static ReentrantLock stripe(ReentrantLock[] stripes, long id) {
+        return stripes[(int) ((id ^ (id >>> 32)) & (STRIPES - 1))];
+    }
+
+    private static ReentrantLock[] newStripes() {
+        ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        return stripes;
+    }
+
+    private static final class AgentLoad {
+
+        private final long agentId;
+        private volatile String fullName;
+        private volatile Map<String, Double> skills;
+        private long load;
+        private int openTickets;
+        private volatile LoadKey key;
+
+        private AgentLoad(long agentId, String fullName, Map<String, Double> skills) {
+            this.agentId = agentId;
+            this.fullName = fullName;
+            this.skills = skills;
+        }
+    }
+
+    private record OpenTicket(long agentId, int weight) {
+    }
+
+    private record LoadKey(long load, long agentId) implements Comparable<LoadKey> {
+
+        @Override
+        public int compareTo(LoadKey other) {
+            int byLoad = Long.compare(load, other.load);
+            return byLoad != 0 ? byLoad : Long.compare(agentId, other.agentId);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.monssif.ticket_management_service.assignment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpenAssignment {
+    private Long ticketId;
+    private Long agentId;
+    private Integer priorityLevel;
+}
@@ -0,0 +1,14 @@
+package com.monssif.ticket_management_service.assignment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketWorkItem {
+    private Long ticketId;
+    private String categoryName;
+    private Integer priorityLevel;
+}
@@ -0,0 +1,138 @@
+package com.monssif.ticket_management_service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monssif.ticket_management_service.dto.CategoryDTO;
+import com.monssif.ticket_management_service.dto.LookupDataSummaryDTO;
+import com.monssif.ticket_management_service.dto.PriorityDTO;
+import com.monssif.ticket_management_service.dto.StatusDTO;
+import com.monssif.ticket_management_service.mapper.CategoryMapper;
+import com.monssif.ticket_management_service.mapper.PriorityMapper;
+import com.monssif.ticket_management_service.mapper.StatusMapper;
+import com.monssif.ticket_management_service.repository.CategoryRepository;
+import com.monssif.ticket_management_service.repository.PriorityRepository;
+import com.monssif.ticket_management_service.repository.StatusRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Two-tier cache for lookup data: an in-heap {@link LookupSnapshot} per instance, backed by a JSON snapshot
+ * in Redis shared by all instances. Evictions delete the Redis copy and are broadcast over Redis pub/sub
+ * so every instance drops its local snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LookupDataCache implements MessageListener {
+
+    private final CategoryRepository categoryRepository;
+    private final PriorityRepository priorityRepository;
+    private final StatusRepository statusRepository;
+
+    private final CategoryMapper categoryMapper;
+    private final PriorityMapper priorityMapper;
+    private final StatusMapper statusMapper;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Not a synchronized block: the load does Redis and JDBC I/O, which would pin a virtual thread's carrier.
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile LookupSnapshot snapshot;
+
+    @Value("${lookup.cache.ttl}")
+    private Duration ttl;
+
+    @Value("${lookup.cache.redis-key}")
+    private String redisKey;
+
+    @Value("${lookup.cache.invalidation-channel}")
+    private String invalidationChannel;
+
+    public LookupSnapshot get() {
+        LookupSnapshot current = snapshot;
+        if (current != null && !current.isExpired(ttl)) {
+            return current;
+        }
+
+        loadLock.lock();
+        try {
+            current = snapshot;
+            if (current == null || current.isExpired(ttl)) {
+                current = loadFromRedis().orElseGet(this::loadFromDatabase);
+                snapshot = current;
+            }
+            return current;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    public void evictAll() {
+        log.info("Evicting lookup data cache");
+        try {
+            redisTemplate.delete(redisKey);
+            redisTemplate.convertAndSend(invalidationChannel, redisKey);
+        } catch (Exception e) {
+            log.warn("Failed to evict lookup data from Redis: {}", e.getMessage());
+        }
+        snapshot = null;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        log.info("Received lookup data invalidation, dropping local snapshot");
+        snapshot = null;
+    }
+
+    private Optional<LookupSnapshot> loadFromRedis() {
+        try {
+            String json = redisTemplate.opsForValue().get(redisKey);
+            if (json == null) {
+                return Optional.empty();
+            }
+            log.info("Loaded lookup data snapshot from Redis");
+            return Optional.of(LookupSnapshot.of(objectMapper.readValue(json, LookupDataSummaryDTO.class)));
+        } catch (Exception e) {
+            log.warn("Failed to read lookup data from Redis, falling back to database: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private LookupSnapshot loadFromDatabase() {
+        log.info("Loading lookup data snapshot from database");
+
+        List<CategoryDTO> categories = categoryRepository.findAll().stream()
+                .map(categoryMapper::toDTO)
+                .toList();
+        List<PriorityDTO> priorities = priorityRepository.findAllOrderedByLevel().stream()
+                .map(priorityMapper::toDTO)
+                .toList();
+        List<StatusDTO> statuses = statusRepository.findAll().stream()
+                .map(statusMapper::toDTO)
+                .toList();
+
+        LookupSnapshot loaded = LookupSnapshot.of(LookupDataSummaryDTO.builder()
+                .categories(categories)
+                .priorities(priorities)
+                .statuses(statuses)
+                .build());
+
+        try {
+            redisTemplate.opsForValue().set(redisKey, objectMapper.writeValueAsString(loaded.toSummary()), ttl);
+        } catch (Exception e) {
+            log.warn("Failed to write lookup data to Redis: {}", e.getMessage());
+        }
+
+        return loaded;
+    }
+}
@@ -0,0 +1,109 @@
+package com.monssif.ticket_management_service.cache;
+
+import com.monssif.ticket_management_service.dto.CategoryDTO;
+import com.monssif.ticket_management_service.dto.LookupDataSummaryDTO;
+import com.monssif.ticket_management_service.dto.PriorityDTO;
+import com.monssif.ticket_management_service.dto.StatusDTO;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable lookup data held in memory. Only DTO copies leave the snapshot; writers attach the managed side
+ * with {@code EntityManager.getReference} so no detached lookup entity ends up in a ticket's association.
+ */
+public final class LookupSnapshot {
+
+    private final Map<Long, CategoryDTO> categoriesById;
+    private final Map<String, CategoryDTO> categoriesByName;
+    private final Map<Long, PriorityDTO> prioritiesById;
+    private final Map<Long, StatusDTO> statusesById;
+    private final Instant loadedAt;
+
+    private LookupSnapshot(List<CategoryDTO> categories, List<PriorityDTO> priorities, List<StatusDTO> statuses) {
+        Map<Long, CategoryDTO> categoryMap = new LinkedHashMap<>();
+        Map<String, CategoryDTO> categoryNameMap = new LinkedHashMap<>();
+        for (CategoryDTO category : categories) {
+            CategoryDTO copy = category.toBuilder().ticketCount(null).build();
+            categoryMap.put(copy.getId(), copy);
+            categoryNameMap.put(copy.getName().toLowerCase(Locale.ROOT), copy);
+        }
+
+        Map<Long, PriorityDTO> priorityMap = new LinkedHashMap<>();
+        for (PriorityDTO priority : priorities) {
+            priorityMap.put(priority.getId(), priority.toBuilder().ticketCount(null).build());
+        }
+
+        Map<Long, StatusDTO> statusMap = new LinkedHashMap<>();
+        for (StatusDTO status : statuses) {
+            statusMap.put(status.getId(), status.toBuilder().ticketCount(null).build());
+        }
+
+        this.categoriesById = Collections.unmodifiableMap(categoryMap);
+        this.categoriesByName = Collections.unmodifiableMap(categoryNameMap);
+        this.prioritiesById = Collections.unmodifiableMap(priorityMap);
+        this.statusesById = Collections.unmodifiableMap(statusMap);
+        this.loadedAt = Instant.now();
+    }
+
+    public static LookupSnapshot of(LookupDataSummaryDTO data) {
+        return new LookupSnapshot(data.getCategories(), data.getPriorities(), data.getStatuses());
+    }
+
+    public LookupDataSummaryDTO toSummary() {
+        List<CategoryDTO> categories = getCategories();
+        List<PriorityDTO> priorities = getPriorities();
+        List<StatusDTO> statuses = getStatuses();
+
+        return LookupDataSummaryDTO.builder()
+                .categories(categories)
+                .priorities(priorities)
+                .statuses(statuses)
+                .totalCategories(categories.size())
+                .totalPriorities(priorities.size())
+                .totalStatuses(statuses.size())
+                .build();
+    }
+
+    public boolean isExpired(Duration ttl) {
+        return loadedAt.plus(ttl).isBefore(Instant.now());
+    }
+
+    public List<CategoryDTO> getCategories() {
+        return categoriesById.values().stream().map(c -> c.toBuilder().build()).toList();
+    }
+
+    public List<PriorityDTO> getPriorities() {
+        return prioritiesById.values().stream().map(p -> p.toBuilder().build()).toList();
+    }
+
+    public List<StatusDTO> getStatuses() {
+        return statusesById.values().stream().map(s -> s.toBuilder().build()).toList();
+    }
+
+    public Optional<CategoryDTO> getCategory(Long id) {
+        return Optional.ofNullable(categoriesById.get(id)).map(c -> c.toBuilder().build());
+    }
+
+    public Optional<PriorityDTO> getPriority(Long id) {
+        return Optional.ofNullable(prioritiesById.get(id)).map(p -> p.toBuilder().build());
+    }
+
+    public Optional<StatusDTO> getStatus(Long id) {
+        return Optional.ofNullable(statusesById.get(id)).map(s -> s.toBuilder().build());
+    }
+
+    public Optional<CategoryDTO> getCategoryByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(categoriesByName.get(name.trim().toLowerCase(Locale.ROOT)))
+                .map(c -> c.toBuilder().build());
+    }
+}
@@ -0,0 +1,91 @@
+package com.monssif.ticket_management_service.cache;
+
+import com.monssif.ticket_management_service.dto.UserStatsDTO;
+import com.monssif.ticket_management_service.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-instance cache of assigned ticket, created ticket and comment counts per user. Misses are filled with one
+ * aggregate query per batch. Ticket and comment events evict only the users they touch, and a load is kept only if
+ * no event for that user arrived while it ran: event order on this instance is the one reliable clock, since
+ * timestamps and sequence ids are taken before the writing transaction commits. The TTL bounds drift from changes
+ * that are not published as events.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserStatsCache {
+
+    private final UserRepository userRepository;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong eventSequence = new AtomicLong();
+    private volatile long clearedAtSequence;
+
+    @Value("${users.stats.cache.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${users.stats.cache.max-entries:50000}")
+    private int maxEntries;
+
+    public UserStatsDTO get(Long userId) {
+        return getAll(List.of(userId)).get(userId);
+    }
+
+    public Map<Long, UserStatsDTO> getAll(Collection<Long> userIds) {
+        long now = System.currentTimeMillis();
+        Map<Long, UserStatsDTO> stats = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        for (Long userId : userIds) {
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.stats() != null && now - entry.loadedAt() < ttl.toMillis()) {
+                stats.put(userId, entry.stats());
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            if (entries.size() + missing.size() > maxEntries) {
+                log.info("User stats cache reached {} entries - clearing", entries.size());
+                clearedAtSequence = eventSequence.incrementAndGet();
+                entries.clear();
+            }
+            // Events consumed before this point were committed before the query runs, so it already counts them
+            long loadSequence = eventSequence.get();
+            for (UserStatsDTO loaded : userRepository.findStatsByUserIds(missing)) {
+                stats.put(loaded.getUserId(), loaded);
+                if (loadSequence >= clearedAtSequence) {
+                    entries.compute(loaded.getUserId(), (userId, current) ->
+                            current != null && current.changedAt() > loadSequence
+                                    ? current
+                                    : new Entry(loaded, now, current != null ? current.changedAt() : 0L));
+                }
+            }
+            log.debug("Loaded stats for {} users ({} served from cache)", missing.size(), stats.size() - missing.size());
+        }
+        return stats;
+    }
+
+    public void evict(Long userId) {
+        if (userId != null) {
+            entries.put(userId, new Entry(null, 0L, eventSequence.incrementAndGet()));
+        }
+    }
+
+    // A stats of null marks a user evicted by the event with sequence changedAt.
+    private record Entry(UserStatsDTO stats, long loadedAt, long changedAt) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.monssif.ticket_management_service.cache;
+
+import com.monssif.ticket_management_service.dto.StatusDTO;
+import com.monssif.ticket_management_service.workflow.WorkflowProperties;
+import com.monssif.ticket_management_service.workflow.WorkflowStateMachine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the {@link WorkflowStateMachine} compiled from the current lookup snapshot. It is recompiled only when
+ * {@link LookupDataCache} hands out a new snapshot, so status changes follow the lookup cache's TTL and evictions.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorkflowStateMachineCache {
+
+    private final LookupDataCache lookupDataCache;
+    private final WorkflowProperties workflowProperties;
+
+    private volatile Compiled compiled;
+
+    public WorkflowStateMachine get() {
+        LookupSnapshot snapshot = lookupDataCache.get();
+        Compiled current = compiled;
+        if (current == null || current.snapshot() != snapshot) {
+            current = new Compiled(snapshot, compile(snapshot));
+            compiled = current;
+        }
+        return current.stateMachine();
+    }
+
+    private WorkflowStateMachine compile(LookupSnapshot snapshot) {
+        Map<Long, String> statusNames = snapshot.getStatuses().stream()
+                .collect(Collectors.toMap(StatusDTO::getId, StatusDTO::getName));
+        log.info("Compiling workflow state machine for {} statuses", statusNames.size());
+        return WorkflowStateMachine.compile(statusNames, workflowProperties.asMap());
+    }
+
+    private record Compiled(LookupSnapshot snapshot, WorkflowStateMachine stateMachine) {
+    }
+}
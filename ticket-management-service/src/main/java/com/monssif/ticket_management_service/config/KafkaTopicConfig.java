@@ -15,12 +15,18 @@ public class KafkaTopicConfig {
     @Value("${kafka.topics.ticket-updated}")
     private String ticketUpdatedTopic;
 
+    @Value("${kafka.topics.ticket-deleted}")
+    private String ticketDeletedTopic;
+
     @Value("${kafka.topics.comment-created}")
     private String commentCreatedTopic;
 
     @Value("${kafka.topics.ai-analysis-result}")
     private String aiAnalysisResultTopic;
 
+    @Value("${kafka.topics.ticket-duplicate-suggestion}")
+    private String ticketDuplicateSuggestionTopic;
+
     @Bean
     public NewTopic ticketCreatedTopic(){
         return TopicBuilder.name(ticketCreatedTopic)
@@ -37,6 +43,14 @@ public class KafkaTopicConfig {
                 .build();
     }
 
+    @Bean
+    public NewTopic ticketDeletedTopic() {
+        return TopicBuilder.name(ticketDeletedTopic)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
     @Bean
     public NewTopic commentCreatedTopic() {
         return TopicBuilder.name(commentCreatedTopic)
@@ -52,4 +66,12 @@ public class KafkaTopicConfig {
                 .replicas(1)
                 .build();
     }
+
+    @Bean
+    public NewTopic ticketDuplicateSuggestionTopic() {
+        return TopicBuilder.name(ticketDuplicateSuggestionTopic)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
 }
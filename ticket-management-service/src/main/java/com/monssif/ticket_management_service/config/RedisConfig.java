@@ -0,0 +1,24 @@
+package com.monssif.ticket_management_service.config;
+
+import com.monssif.ticket_management_service.cache.LookupDataCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class RedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            LookupDataCache lookupDataCache,
+            @Value("${lookup.cache.invalidation-channel}") String invalidationChannel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(lookupDataCache, new ChannelTopic(invalidationChannel));
+        return container;
+    }
+}
@@ -32,9 +32,14 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/lookup/cache/evict").hasRole("ADMIN")
                         .requestMatchers("/lookup/**").authenticated()
                         .requestMatchers("/users/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/tickets").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/tickets/search/reindex").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/tickets/import").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/tickets/stream").hasAnyRole("AGENT", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/tickets/assignments/**").hasAnyRole("AGENT", "ADMIN")
                         .requestMatchers(HttpMethod.GET, "/tickets/**").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/tickets/**").hasAnyRole("AGENT", "ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/tickets/**").hasRole("ADMIN")
@@ -67,4 +67,11 @@ public class LookupDataController {
         StatusDTO status = lookupDataService.getStatusById(id);
         return ResponseEntity.ok(status);
     }
+
+    @PostMapping("/cache/evict")
+    public ResponseEntity<Void> evictCache() {
+        log.info("REST request to evict lookup data cache");
+        lookupDataService.evictCache();
+        return ResponseEntity.noContent().build();
+    }
 }
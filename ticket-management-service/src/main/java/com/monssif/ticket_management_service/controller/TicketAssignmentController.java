@@ -1,7 +1,12 @@
 package com.monssif.ticket_management_service.controller;
 
+import com.monssif.ticket_management_service.assignment.AgentWorkload;
 import com.monssif.ticket_management_service.dto.AssignmentRequestDTO;
 import com.monssif.ticket_management_service.dto.AssignmentResponseDTO;
+import com.monssif.ticket_management_service.dto.AutoAssignmentResultDTO;
+import com.monssif.ticket_management_service.dto.BulkAssignmentRequestDTO;
+import com.monssif.ticket_management_service.dto.BulkOperationResultDTO;
+import com.monssif.ticket_management_service.service.AutoAssignmentService;
 import com.monssif.ticket_management_service.service.TicketAssignmentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +14,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/tickets/assignments")
 @RequiredArgsConstructor
@@ -16,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 public class TicketAssignmentController {
 
     private final TicketAssignmentService assignmentService;
+    private final AutoAssignmentService autoAssignmentService;
 
     @PostMapping("/{ticketId}/assign")
     public ResponseEntity<AssignmentResponseDTO> assignTicket(
@@ -43,4 +51,35 @@ public class TicketAssignmentController {
         AssignmentResponseDTO response = assignmentService.unassignTicket(ticketId, note);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/bulk-assign")
+    public ResponseEntity<BulkOperationResultDTO> bulkAssignTickets(
+            @Valid @RequestBody BulkAssignmentRequestDTO requestDTO) {
+        log.info("REST request to assign {} tickets to agent {}", requestDTO.getTicketIds().size(), requestDTO.getAgentId());
+        BulkOperationResultDTO response = assignmentService.bulkAssignTickets(requestDTO);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{ticketId}/auto-assign")
+    public ResponseEntity<AssignmentResponseDTO> autoAssignTicket(
+            @PathVariable Long ticketId,
+            @RequestParam(required = false) String note) {
+        log.info("REST request to auto-assign ticket {}", ticketId);
+        AssignmentResponseDTO response = autoAssignmentService.autoAssign(ticketId, note);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/auto-assign")
+    public ResponseEntity<AutoAssignmentResultDTO> autoAssignUnassigned(
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String note) {
+        log.info("REST request to auto-assign up to {} unassigned tickets", limit);
+        AutoAssignmentResultDTO response = autoAssignmentService.autoAssignUnassigned(limit, note);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/workload")
+    public ResponseEntity<List<AgentWorkload>> getWorkload() {
+        return ResponseEntity.ok(autoAssignmentService.getWorkload());
+    }
+}
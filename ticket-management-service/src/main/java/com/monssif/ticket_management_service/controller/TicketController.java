@@ -1,8 +1,11 @@
 package com.monssif.ticket_management_service.controller;
 
+import com.monssif.ticket_management_service.dto.TicketCursorPageDTO;
 import com.monssif.ticket_management_service.dto.TicketRequestDTO;
 import com.monssif.ticket_management_service.dto.TicketResponseDTO;
 import com.monssif.ticket_management_service.dto.TicketSummaryDTO;
+import com.monssif.ticket_management_service.service.TicketImportService;
+import com.monssif.ticket_management_service.service.TicketSearchService;
 import com.monssif.ticket_management_service.service.TicketService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,9 +15,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 
 @RestController
@@ -24,6 +30,8 @@ import java.time.LocalDateTime;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final TicketSearchService ticketSearchService;
+    private final TicketImportService ticketImportService;
 
     @GetMapping("/{id}")
     public ResponseEntity<TicketResponseDTO> getTicketById(@PathVariable("id") Long id){
@@ -48,6 +56,26 @@ public class TicketController {
         return ResponseEntity.ok(tickets);
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<TicketCursorPageDTO> getTicketsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Long agentId) {
+        log.info("REST request to get tickets by cursor - Size: {}", size);
+        TicketCursorPageDTO tickets = ticketService.getTicketsByCursor(cursor, size, customerId, agentId);
+        return ResponseEntity.ok(tickets);
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> importTickets(InputStream requestBody) {
+        log.info("REST request to bulk import tickets");
+        StreamingResponseBody results = output -> ticketImportService.importTickets(requestBody, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(results);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TicketResponseDTO> updateTicket(
             @PathVariable Long id,
@@ -102,12 +130,22 @@ public class TicketController {
     @GetMapping("/search")
     public ResponseEntity<Page<TicketSummaryDTO>> searchTickets(
             @RequestParam("q") String searchTerm,
-            @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String priority,
+            @PageableDefault(size = 20) Pageable pageable) {
         log.info("REST request to search tickets with term: {}", searchTerm);
-        Page<TicketSummaryDTO> tickets = ticketService.searchTickets(searchTerm, pageable);
+        Page<TicketSummaryDTO> tickets = ticketSearchService.searchTickets(searchTerm, status, category, priority, pageable);
         return ResponseEntity.ok(tickets);
     }
 
+    @PostMapping("/search/reindex")
+    public ResponseEntity<Void> reindexTickets() {
+        log.info("REST request to rebuild ticket search index");
+        boolean started = ticketSearchService.requestRebuild();
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT).build();
+    }
+
     @GetMapping("/priority/{level}")
     public ResponseEntity<Page<TicketSummaryDTO>> getTicketsByPriorityLevel(
             @PathVariable Integer level,
@@ -0,0 +1,34 @@
+package com.monssif.ticket_management_service.controller;
+
+import com.monssif.ticket_management_service.exception.InvalidTicketOperationException;
+import com.monssif.ticket_management_service.stream.TicketStreamFilter;
+import com.monssif.ticket_management_service.stream.TicketStreamHub;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/tickets/stream")
+@RequiredArgsConstructor
+@Slf4j
+public class TicketStreamController {
+
+    private final TicketStreamHub ticketStreamHub;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTickets(
+            @RequestParam(required = false) Long agentId,
+            @RequestParam(defaultValue = "false") boolean unassigned,
+            @RequestParam(required = false) String category) {
+        log.info("REST request to stream tickets - agent: {}, unassigned: {}, category: {}", agentId, unassigned, category);
+        if (agentId != null && unassigned) {
+            throw new InvalidTicketOperationException("Stream either an agent's tickets or the unassigned queue, not both");
+        }
+        return ticketStreamHub.subscribe(new TicketStreamFilter(agentId, unassigned, category));
+    }
+}
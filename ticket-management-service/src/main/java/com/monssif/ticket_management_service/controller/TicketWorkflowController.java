@@ -1,5 +1,7 @@
 package com.monssif.ticket_management_service.controller;
 
+import com.monssif.ticket_management_service.dto.BulkOperationResultDTO;
+import com.monssif.ticket_management_service.dto.BulkWorkflowTransitionRequestDTO;
 import com.monssif.ticket_management_service.dto.WorkflowTransitionRequestDTO;
 import com.monssif.ticket_management_service.dto.WorkflowTransitionResponseDTO;
 import com.monssif.ticket_management_service.service.TicketWorkflowService;
@@ -32,6 +34,14 @@ public class TicketWorkflowController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/bulk-transition")
+    public ResponseEntity<BulkOperationResultDTO> bulkTransitionTicketStatus(
+            @Valid @RequestBody BulkWorkflowTransitionRequestDTO requestDTO) {
+        log.info("REST request to transition {} tickets to status {}", requestDTO.getTicketIds().size(), requestDTO.getStatusId());
+        BulkOperationResultDTO response = workflowService.bulkTransitionTicketStatus(requestDTO);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{ticketId}/available-transitions")
     public ResponseEntity<List<String>> getAvailableTransitions(@PathVariable Long ticketId) {
         log.info("REST request to get available transitions for ticket {}", ticketId);
@@ -0,0 +1,22 @@
+package com.monssif.ticket_management_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutoAssignmentResultDTO {
+
+    private Integer requested;
+    private Integer assigned;
+    private Integer failed;
+    private List<AssignmentResponseDTO> assignments;
+    private Map<Long, String> failures;
+}
@@ -0,0 +1,29 @@
+package com.monssif.ticket_management_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAssignmentRequestDTO {
+
+    @NotEmpty(message = "Ticket IDs are required")
+    @Size(max = 1000, message = "At most 1000 tickets can be assigned per request")
+    private List<@NotNull @Positive Long> ticketIds;
+
+    @NotNull(message = "Agent ID is required")
+    @Positive(message = "Agent ID must be positive")
+    private Long agentId;
+
+    private String note;
+}
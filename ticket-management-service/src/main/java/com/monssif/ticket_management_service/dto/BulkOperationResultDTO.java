@@ -0,0 +1,19 @@
+package com.monssif.ticket_management_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationResultDTO {
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<BulkTicketResultDTO> results;
+}
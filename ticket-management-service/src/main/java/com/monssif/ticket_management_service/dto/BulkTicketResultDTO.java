@@ -0,0 +1,20 @@
+package com.monssif.ticket_management_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkTicketResultDTO {
+    private Long ticketId;
+    private String status;
+    private String previousValue;
+    private String newValue;
+    private String error;
+}
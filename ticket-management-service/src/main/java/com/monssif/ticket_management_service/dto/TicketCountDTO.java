@@ -0,0 +1,13 @@
+package com.monssif.ticket_management_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketCountDTO {
+    private Long id;
+    private Long ticketCount;
+}
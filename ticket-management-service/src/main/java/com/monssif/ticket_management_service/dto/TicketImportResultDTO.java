@@ -0,0 +1,19 @@
+package com.monssif.ticket_management_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TicketImportResultDTO {
+    private Long line;
+    private String status;
+    private Long ticketId;
+    private String error;
+}
@@ -33,6 +33,8 @@ public class TicketResponseDTO {
     private Double aiSentimentScore;
     private Long aiSuggestedCategoryId;
     private String aiSuggestedCategoryName;
+    private Long possibleDuplicateOfId;
+    private Double duplicateSimilarity;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime resolvedAt;
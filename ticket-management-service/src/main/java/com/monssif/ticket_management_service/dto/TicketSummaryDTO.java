@@ -27,4 +27,14 @@ public class TicketSummaryDTO {
     private LocalDateTime updatedAt;
     private Boolean isAssigned;
     private Boolean isResolved;
+
+    public TicketSummaryDTO(Long id, String title, Long customerId, String customerName,
+                            Long assignedAgentId, String assignedAgentName, String categoryName,
+                            String priorityName, Integer priorityLevel, String statusName,
+                            Double aiSentimentScore, LocalDateTime createdAt, LocalDateTime updatedAt,
+                            LocalDateTime resolvedAt) {
+        this(id, title, customerId, customerName, assignedAgentId, assignedAgentName, categoryName,
+                priorityName, priorityLevel, statusName, aiSentimentScore, createdAt, updatedAt,
+                assignedAgentId != null, resolvedAt != null);
+    }
 }
@@ -0,0 +1,18 @@
+package com.monssif.ticket_management_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatsDTO {
+
+    private Long userId;
+    private Long assignedTicketsCount;
+    private Long createdTicketsCount;
+    private Long commentsCount;
+}
@@ -18,4 +18,8 @@ public class UserSummaryDTO {
     private String fullName;
     private UserRole role;
     private Boolean isActive;
+
+    private Long assignedTicketsCount;
+    private Long createdTicketsCount;
+    private Long commentsCount;
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.monssif.ticket_management_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_sequence", allocationSize = 1)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "topic", nullable = false, length = 255)
+    private String topic;
+
+    @Column(name = "message_key", length = 255)
+    private String messageKey;
+
+    @Column(name = "event_type", nullable = false, length = 255)
+    private String eventType;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "CLOB")
+    private String payload;
+
+    // Failed relay attempts; a row is parked once it reaches outbox.relay.max-attempts
+    @Builder.Default
+    @Column(name = "attempts")
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    // Parked rows are skipped by the relay and left for an operator to fix and clear
+    @Column(name = "parked_at")
+    private LocalDateTime parkedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -10,7 +10,7 @@ import java.util.List;
 @Entity
 @Table(name = "priorities", uniqueConstraints = {
         @UniqueConstraint(name = "uk_priorities_name", columnNames = "name"),
-        @UniqueConstraint(name = "uk_priorities_level", columnNames = "level")
+        @UniqueConstraint(name = "uk_priorities_level", columnNames = "priority_level")
 })
 @Data
 @NoArgsConstructor
@@ -10,7 +10,19 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "tickets")
+@NamedEntityGraph(name = "Ticket.detail", attributeNodes = {
+        @NamedAttributeNode("customer"),
+        @NamedAttributeNode("assignedAgent"),
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("priority"),
+        @NamedAttributeNode("status"),
+        @NamedAttributeNode("aiSuggestedCategory")
+})
+@Table(name = "tickets", indexes = {
+        @Index(name = "idx_tickets_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_tickets_customer_created_at_id", columnList = "customer_id, created_at, id"),
+        @Index(name = "idx_tickets_agent_created_at_id", columnList = "assigned_agent_id, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +31,7 @@ public class Ticket {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_seq")
-    @SequenceGenerator(name = "ticket_seq", sequenceName = "ticket_sequence", allocationSize = 1)
+    @SequenceGenerator(name = "ticket_seq", sequenceName = "ticket_sequence", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -52,10 +64,19 @@ public class Ticket {
     @Column(name = "ai_sentiment_score")
     private Double aiSentimentScore;
 
+    @Column(name = "ai_analyzed_at")
+    private LocalDateTime aiAnalyzedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ai_suggested_category_id")
     private Category aiSuggestedCategory;
 
+    @Column(name = "possible_duplicate_of_id")
+    private Long possibleDuplicateOfId;
+
+    @Column(name = "duplicate_similarity")
+    private Double duplicateSimilarity;
+
     @OneToMany(mappedBy = "ticket", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<Comment> comments = new ArrayList<>();
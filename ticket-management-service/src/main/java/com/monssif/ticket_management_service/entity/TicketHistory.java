@@ -19,7 +19,7 @@ public class TicketHistory {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_history_seq")
-    @SequenceGenerator(name = "ticket_history_seq", sequenceName = "ticket_history_sequence", allocationSize = 1)
+    @SequenceGenerator(name = "ticket_history_seq", sequenceName = "ticket_history_sequence", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -3,5 +3,6 @@ package com.monssif.ticket_management_service.enums;
 public enum EventType {
     COMMENT_CREATED,
     TICKET_CREATED,
-    TICKET_UPDATED
+    TICKET_UPDATED,
+    TICKET_DELETED
 }
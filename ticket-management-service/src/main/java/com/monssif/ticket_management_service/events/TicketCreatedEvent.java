@@ -18,6 +18,7 @@ public class TicketCreatedEvent {
     private String categoryName;
     private String priorityName;
     private Long customerId;
+    private Long assignedAgentId;
     private LocalDateTime createdAt;
     private String eventType;
 }
\ No newline at end of file
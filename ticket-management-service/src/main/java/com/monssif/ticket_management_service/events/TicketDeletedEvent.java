@@ -0,0 +1,20 @@
+package com.monssif.ticket_management_service.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketDeletedEvent {
+    private Long ticketId;
+    private Long customerId;
+    private Long assignedAgentId;
+    private LocalDateTime deletedAt;
+    private String eventType;
+}
@@ -1,5 +1,8 @@
 package com.monssif.ticket_management_service.mapper;
 
+import com.monssif.ticket_management_service.dto.CategoryDTO;
+import com.monssif.ticket_management_service.dto.PriorityDTO;
+import com.monssif.ticket_management_service.dto.StatusDTO;
 import com.monssif.ticket_management_service.dto.TicketResponseDTO;
 import com.monssif.ticket_management_service.dto.TicketSummaryDTO;
 import com.monssif.ticket_management_service.entity.Ticket;
@@ -27,9 +30,33 @@ public interface TicketMapper {
     @Mapping(source = "aiSuggestedCategory.id", target = "aiSuggestedCategoryId")
     @Mapping(source = "aiSuggestedCategory.name", target = "aiSuggestedCategoryName")
     @Mapping(target = "isResolved", expression = "java(ticket.isResolved())")
-    @Mapping(target = "commentsCount", expression = "java(ticket.getComments() != null ? ticket.getComments().size() : 0)")
+    @Mapping(target = "commentsCount", ignore = true)
     TicketResponseDTO toResponseDTO(Ticket ticket);
 
+    // Takes the lookup fields from the snapshot DTOs, so a ticket holding lookup references is mapped without loading them
+    @Mapping(source = "ticket.id", target = "id")
+    @Mapping(source = "ticket.title", target = "title")
+    @Mapping(source = "ticket.description", target = "description")
+    @Mapping(source = "ticket.customer.id", target = "customerId")
+    @Mapping(source = "ticket.customer.fullName", target = "customerName")
+    @Mapping(source = "ticket.customer.email", target = "customerEmail")
+    @Mapping(source = "ticket.assignedAgent.id", target = "assignedAgentId")
+    @Mapping(source = "ticket.assignedAgent.fullName", target = "assignedAgentName")
+    @Mapping(source = "ticket.assignedAgent.email", target = "assignedAgentEmail")
+    @Mapping(source = "category.id", target = "categoryId")
+    @Mapping(source = "category.name", target = "categoryName")
+    @Mapping(source = "priority.id", target = "priorityId")
+    @Mapping(source = "priority.name", target = "priorityName")
+    @Mapping(source = "priority.level", target = "priorityLevel")
+    @Mapping(source = "status.id", target = "statusId")
+    @Mapping(source = "status.name", target = "statusName")
+    @Mapping(source = "status.isFinal", target = "isStatusFinal")
+    @Mapping(source = "ticket.aiSuggestedCategory.id", target = "aiSuggestedCategoryId")
+    @Mapping(source = "ticket.aiSuggestedCategory.name", target = "aiSuggestedCategoryName")
+    @Mapping(target = "isResolved", expression = "java(ticket.isResolved())")
+    @Mapping(target = "commentsCount", ignore = true)
+    TicketResponseDTO toResponseDTO(Ticket ticket, CategoryDTO category, PriorityDTO priority, StatusDTO status);
+
     @Mapping(source = "customer.id", target = "customerId")
     @Mapping(source = "customer.fullName", target = "customerName")
     @Mapping(source = "assignedAgent.id", target = "assignedAgentId")
@@ -0,0 +1,40 @@
+package com.monssif.ticket_management_service.messaging;
+
+import com.monssif.ticket_management_service.events.AIAnalysisResultEvent;
+import com.monssif.ticket_management_service.service.AIAnalysisResultWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@ConditionalOnProperty(name = "kafka.consumer.batch.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class AIAnalysisBatchConsumer {
+
+    private final AIAnalysisResultWriter aiAnalysisResultWriter;
+
+    @KafkaListener(
+            topics = "${kafka.topics.ai-analysis-result}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            properties = "max.poll.records:${kafka.consumer.batch.max-poll-records}"
+    )
+    public void consumeAiAnalysisResults(List<ConsumerRecord<String, AIAnalysisResultEvent>> records) {
+        log.info("Received batch of {} AI analysis results", records.size());
+
+        List<AIAnalysisResultEvent> events = records.stream()
+                .map(ConsumerRecord::value)
+                .filter(Objects::nonNull)
+                .toList();
+
+        aiAnalysisResultWriter.applyResults(events);
+        log.info("Successfully processed batch of {} AI analysis results", records.size());
+    }
+}
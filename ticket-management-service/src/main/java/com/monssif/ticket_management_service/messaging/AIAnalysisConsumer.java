@@ -6,11 +6,13 @@ import com.monssif.ticket_management_service.service.TicketService;
 import org.springframework.kafka.annotation.KafkaListener;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.util.Objects;
 
 @Service
+@ConditionalOnProperty(name = "kafka.consumer.batch.enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class AIAnalysisConsumer {
@@ -29,13 +31,15 @@ public class AIAnalysisConsumer {
             if(Objects.nonNull(event.getCommentId())){
                 commentService.updateCommentWithAISentiment(
                         event.getCommentId(),
-                        event.getSentimentScore()
+                        event.getSentimentScore(),
+                        event.getAnalyzedAt()
                 );
             } else if(Objects.nonNull(event.getTicketId())){
                 ticketService.updateTicketWithAIAnalysis(
                         event.getTicketId(),
                         event.getSentimentScore(),
-                        event.getSuggestedCategoryName());
+                        event.getSuggestedCategoryName(),
+                        event.getAnalyzedAt());
             }
             log.info("Successfully processed AI analysis result");
         } catch(Exception e){
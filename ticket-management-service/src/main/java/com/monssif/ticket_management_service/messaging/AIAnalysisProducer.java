@@ -1,20 +1,29 @@
 package com.monssif.ticket_management_service.messaging;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monssif.ticket_management_service.entity.OutboxEvent;
 import com.monssif.ticket_management_service.events.CommentCreatedEvent;
 import com.monssif.ticket_management_service.events.TicketCreatedEvent;
+import com.monssif.ticket_management_service.events.TicketDeletedEvent;
 import com.monssif.ticket_management_service.events.TicketUpdatedEvent;
+import com.monssif.ticket_management_service.repository.OutboxEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+// Events are written to the outbox in the caller's transaction and published by OutboxRelay after commit.
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
 public class AIAnalysisProducer {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
 
     @Value("${kafka.topics.ticket-created}")
     private String ticketCreatedTopic;
@@ -22,21 +31,42 @@ public class AIAnalysisProducer {
     @Value("${kafka.topics.ticket-updated}")
     private String ticketUpdatedTopic;
 
+    @Value("${kafka.topics.ticket-deleted}")
+    private String ticketDeletedTopic;
+
     @Value("${kafka.topics.comment-created}")
     private String commentCreatedTopic;
 
     public void publishTicketCreated(TicketCreatedEvent event) {
-        log.info("Publishing TicketCreatedEvent for ticket ID: {}", event.getTicketId());
-        kafkaTemplate.send(ticketCreatedTopic, event.getTicketId().toString(), event);
+        log.info("Queueing TicketCreatedEvent for ticket ID: {}", event.getTicketId());
+        enqueue(ticketCreatedTopic, event.getTicketId().toString(), event);
     }
 
     public void publishTicketUpdated(TicketUpdatedEvent event) {
-        log.info("Publishing TicketUpdatedEvent for ticket ID: {}", event.getTicketId());
-        kafkaTemplate.send(ticketUpdatedTopic, event.getTicketId().toString(), event);
+        log.info("Queueing TicketUpdatedEvent for ticket ID: {}", event.getTicketId());
+        enqueue(ticketUpdatedTopic, event.getTicketId().toString(), event);
+    }
+
+    public void publishTicketDeleted(TicketDeletedEvent event) {
+        log.info("Queueing TicketDeletedEvent for ticket ID: {}", event.getTicketId());
+        enqueue(ticketDeletedTopic, event.getTicketId().toString(), event);
     }
 
     public void publishCommentCreated(CommentCreatedEvent event) {
-        log.info("Publishing CommentCreatedEvent for comment ID: {}", event.getCommentId());
-        kafkaTemplate.send(commentCreatedTopic, event.getCommentId().toString(), event);
+        log.info("Queueing CommentCreatedEvent for comment ID: {}", event.getCommentId());
+        enqueue(commentCreatedTopic, event.getCommentId().toString(), event);
+    }
+
+    private void enqueue(String topic, String key, Object event) {
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .topic(topic)
+                    .messageKey(key)
+                    .eventType(event.getClass().getName())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + event.getClass().getSimpleName(), e);
+        }
     }
-}
\ No newline at end of file
+}
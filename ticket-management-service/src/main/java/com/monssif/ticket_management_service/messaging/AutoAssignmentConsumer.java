@@ -0,0 +1,31 @@
+package com.monssif.ticket_management_service.messaging;
+
+import com.monssif.ticket_management_service.events.TicketCreatedEvent;
+import com.monssif.ticket_management_service.service.AutoAssignmentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@ConditionalOnProperty(name = "assignment.auto.on-create", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class AutoAssignmentConsumer {
+
+    private final AutoAssignmentService autoAssignmentService;
+
+    // Shared group: each new ticket is auto-assigned by exactly one instance.
+    @KafkaListener(
+            topics = "${kafka.topics.ticket-created}",
+            groupId = "${assignment.auto.group-id}"
+    )
+    public void consumeTicketCreated(TicketCreatedEvent event) {
+        try {
+            autoAssignmentService.autoAssign(event.getTicketId(), "Auto-assigned on creation");
+        } catch (Exception e) {
+            log.error("Error auto-assigning ticket {}: {}", event.getTicketId(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.monssif.ticket_management_service.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monssif.ticket_management_service.entity.OutboxEvent;
+import com.monssif.ticket_management_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.RetriableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${outbox.relay.batch-size}")
+    private int batchSize;
+
+    @Value("${outbox.relay.send-timeout-ms}")
+    private long sendTimeoutMs;
+
+    @Value("${outbox.relay.max-attempts}")
+    private int maxAttempts;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (Exception e) {
+            log.error("Outbox relay failed, events will be retried: {}", e.getMessage(), e);
+        }
+    }
+
+    // Sent rows are deleted and failed rows keep their place with one more attempt recorded, all in the batch's
+    // transaction. A row that keeps failing is parked so it stops holding back the rows behind it.
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // A row that cannot be sent holds back the later rows for its key, so they are not delivered ahead of it.
+        // Send failures need no hold: the idempotent producer fails the later sends to the partition as well.
+        Set<String> heldKeys = new HashSet<>();
+        Map<OutboxEvent, Exception> failures = new LinkedHashMap<>();
+        Map<OutboxEvent, CompletableFuture<?>> sends = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            if (event.getMessageKey() != null && heldKeys.contains(event.getMessageKey())) {
+                continue;
+            }
+            try {
+                sends.put(event, kafkaTemplate.send(event.getTopic(), event.getMessageKey(), toEvent(event)));
+            } catch (Exception e) {
+                failures.put(event, e);
+                if (event.getMessageKey() != null) {
+                    heldKeys.add(event.getMessageKey());
+                }
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        List<OutboxEvent> sent = new ArrayList<>(sends.size());
+        for (Map.Entry<OutboxEvent, CompletableFuture<?>> send : sends.entrySet()) {
+            try {
+                send.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                sent.add(send.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while relaying outbox events", e);
+            } catch (ExecutionException e) {
+                failures.put(send.getKey(), e.getCause() instanceof Exception cause ? cause : e);
+            } catch (TimeoutException e) {
+                failures.put(send.getKey(), e);
+            }
+        }
+
+        if (!sent.isEmpty()) {
+            outboxEventRepository.deleteAllInBatch(sent);
+            log.info("Relayed {} outbox events to Kafka", sent.size());
+        }
+
+        // Retriable errors with nothing sent look like a broker outage rather than a bad row, so they cost no attempt
+        boolean outage = sent.isEmpty();
+        failures.forEach((event, error) -> recordFailure(event, error, outage && isRetriable(error)));
+        return sent.size();
+    }
+
+    private void recordFailure(OutboxEvent event, Exception error, boolean transientFailure) {
+        String message = error.getClass().getName() + ": " + error.getMessage();
+        if (transientFailure) {
+            log.warn("Outbox event {} not relayed, will retry: {}", event.getId(), message);
+            return;
+        }
+
+        int attempts = (event.getAttempts() != null ? event.getAttempts() : 0) + 1;
+        event.setAttempts(attempts);
+        event.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        if (attempts < maxAttempts) {
+            log.warn("Outbox event {} failed attempt {}/{}: {}", event.getId(), attempts, maxAttempts, message);
+            return;
+        }
+
+        event.setParkedAt(LocalDateTime.now());
+        Counter.builder("outbox.events.parked")
+                .description("Outbox events parked after exhausting their relay attempts")
+                .tag("topic", event.getTopic())
+                .register(meterRegistry)
+                .increment();
+        log.error("Parked outbox event {} ({} to {}) after {} attempts: {}",
+                event.getId(), event.getEventType(), event.getTopic(), attempts, message);
+    }
+
+    private static boolean isRetriable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetriableException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Object toEvent(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), Class.forName(event.getEventType()));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to read outbox event " + event.getId(), e);
+        }
+    }
+}
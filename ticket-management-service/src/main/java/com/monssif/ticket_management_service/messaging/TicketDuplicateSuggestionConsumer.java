@@ -0,0 +1,30 @@
+package com.monssif.ticket_management_service.messaging;
+
+import com.monssif.ticket_management_service.events.TicketDuplicateSuggestionEvent;
+import com.monssif.ticket_management_service.service.TicketService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TicketDuplicateSuggestionConsumer {
+
+    private final TicketService ticketService;
+
+    @KafkaListener(
+            topics = "${kafka.topics.ticket-duplicate-suggestion}",
+            groupId = "${spring.kafka.consumer.group-id}"
+    )
+    public void consumeDuplicateSuggestion(TicketDuplicateSuggestionEvent event) {
+        log.info("Received duplicate suggestion {}", event);
+
+        try {
+            ticketService.markPossibleDuplicate(event.getTicketId(), event.getDuplicateOfTicketId(), event.getSimilarity());
+        } catch (Exception e) {
+            log.error("Error processing duplicate suggestion for ticket {}: {}", event.getTicketId(), e.getMessage(), e);
+        }
+    }
+}
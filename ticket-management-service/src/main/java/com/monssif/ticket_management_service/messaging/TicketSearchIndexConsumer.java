@@ -0,0 +1,62 @@
+package com.monssif.ticket_management_service.messaging;
+
+import com.monssif.ticket_management_service.events.CommentCreatedEvent;
+import com.monssif.ticket_management_service.events.TicketCreatedEvent;
+import com.monssif.ticket_management_service.events.TicketDeletedEvent;
+import com.monssif.ticket_management_service.events.TicketUpdatedEvent;
+import com.monssif.ticket_management_service.service.TicketSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TicketSearchIndexConsumer {
+
+    private final TicketSearchService ticketSearchService;
+
+    // Every instance keeps its own index, so it joins its own consumer group and reads only new events;
+    // anything older is covered by the rebuild on startup.
+    @KafkaListener(
+            topics = {"${kafka.topics.ticket-created}", "${kafka.topics.ticket-updated}",
+                    "${kafka.topics.ticket-deleted}", "${kafka.topics.comment-created}"},
+            groupId = "${search.index.group-id}",
+            properties = "auto.offset.reset:latest"
+    )
+    public void consumeTicketEvent(ConsumerRecord<String, Object> record) {
+        Long ticketId = extractTicketId(record.value());
+        if (ticketId == null) {
+            log.warn("Ignoring event without ticket ID on topic {}", record.topic());
+            return;
+        }
+
+        try {
+            if (record.value() instanceof TicketDeletedEvent) {
+                ticketSearchService.removeTicket(ticketId);
+            } else {
+                ticketSearchService.indexTicket(ticketId);
+            }
+        } catch (Exception e) {
+            log.error("Error indexing ticket {} for search: {}", ticketId, e.getMessage(), e);
+        }
+    }
+
+    private Long extractTicketId(Object event) {
+        if (event instanceof TicketCreatedEvent created) {
+            return created.getTicketId();
+        }
+        if (event instanceof TicketUpdatedEvent updated) {
+            return updated.getTicketId();
+        }
+        if (event instanceof TicketDeletedEvent deleted) {
+            return deleted.getTicketId();
+        }
+        if (event instanceof CommentCreatedEvent comment) {
+            return comment.getTicketId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,95 @@
+package com.monssif.ticket_management_service.messaging;
+
+import com.monssif.ticket_management_service.assignment.AgentWorkloadIndex;
+import com.monssif.ticket_management_service.events.AIAnalysisResultEvent;
+import com.monssif.ticket_management_service.events.TicketCreatedEvent;
+import com.monssif.ticket_management_service.events.TicketDuplicateSuggestionEvent;
+import com.monssif.ticket_management_service.events.TicketUpdatedEvent;
+import com.monssif.ticket_management_service.stream.TicketStreamEvent;
+import com.monssif.ticket_management_service.stream.TicketStreamHub;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TicketStreamConsumer {
+
+    private static final String TYPE_AI_ANALYSIS_RESULT = "AI_ANALYSIS_RESULT";
+    private static final String TYPE_DUPLICATE_SUGGESTION = "DUPLICATE_SUGGESTION";
+
+    private final TicketStreamHub ticketStreamHub;
+    private final AgentWorkloadIndex agentWorkloadIndex;
+
+    // Every instance serves its own SSE connections, so it joins its own consumer group and reads only new events.
+    @KafkaListener(
+            topics = {"${kafka.topics.ticket-created}", "${kafka.topics.ticket-updated}",
+                    "${kafka.topics.ai-analysis-result}", "${kafka.topics.ticket-duplicate-suggestion}"},
+            groupId = "${tickets.stream.group-id}",
+            properties = "auto.offset.reset:latest"
+    )
+    public void consumeTicketEvent(ConsumerRecord<String, Object> record) {
+        try {
+            TicketStreamEvent event = toStreamEvent(record.value());
+            if (event == null) {
+                log.warn("Ignoring unsupported event on topic {}", record.topic());
+                return;
+            }
+            ticketStreamHub.publish(event);
+        } catch (Exception e) {
+            log.error("Error streaming event from {}: {}", record.topic(), e.getMessage(), e);
+        }
+    }
+
+    private TicketStreamEvent toStreamEvent(Object event) {
+        if (event instanceof TicketCreatedEvent created) {
+            return TicketStreamEvent.builder()
+                    .type(created.getEventType())
+                    .ticketId(created.getTicketId())
+                    .title(created.getTitle())
+                    .categoryName(created.getCategoryName())
+                    .priorityName(created.getPriorityName())
+                    .assignedAgentId(created.getAssignedAgentId())
+                    .occurredAt(created.getCreatedAt())
+                    .build();
+        }
+        if (event instanceof TicketUpdatedEvent updated) {
+            return TicketStreamEvent.builder()
+                    .type(updated.getEventType())
+                    .ticketId(updated.getTicketId())
+                    .title(updated.getTitle())
+                    .statusName(updated.getStatusName())
+                    .categoryName(updated.getCategoryName())
+                    .assignedAgentId(updated.getAssignedAgentId())
+                    .previousAssignedAgentId(updated.getPreviousAssignedAgentId())
+                    .changedFields(updated.getChangedFields())
+                    .occurredAt(updated.getUpdatedAt())
+                    .build();
+        }
+        // AI events do not say who owns the ticket; the local workload index knows for open tickets.
+        if (event instanceof AIAnalysisResultEvent analysis) {
+            return TicketStreamEvent.builder()
+                    .type(TYPE_AI_ANALYSIS_RESULT)
+                    .ticketId(analysis.getTicketId())
+                    .assignedAgentId(agentWorkloadIndex.agentOf(analysis.getTicketId()).orElse(null))
+                    .sentimentScore(analysis.getSentimentScore())
+                    .suggestedCategoryName(analysis.getSuggestedCategoryName())
+                    .occurredAt(analysis.getAnalyzedAt())
+                    .build();
+        }
+        if (event instanceof TicketDuplicateSuggestionEvent duplicate) {
+            return TicketStreamEvent.builder()
+                    .type(TYPE_DUPLICATE_SUGGESTION)
+                    .ticketId(duplicate.getTicketId())
+                    .assignedAgentId(agentWorkloadIndex.agentOf(duplicate.getTicketId()).orElse(null))
+                    .duplicateOfTicketId(duplicate.getDuplicateOfTicketId())
+                    .duplicateSimilarity(duplicate.getSimilarity())
+                    .occurredAt(duplicate.getDetectedAt())
+                    .build();
+        }
+        return null;
+    }
+}
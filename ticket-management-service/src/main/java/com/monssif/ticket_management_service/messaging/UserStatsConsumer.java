@@ -0,0 +1,52 @@
+package com.monssif.ticket_management_service.messaging;
+
+import com.monssif.ticket_management_service.cache.UserStatsCache;
+import com.monssif.ticket_management_service.events.CommentCreatedEvent;
+import com.monssif.ticket_management_service.events.TicketCreatedEvent;
+import com.monssif.ticket_management_service.events.TicketDeletedEvent;
+import com.monssif.ticket_management_service.events.TicketUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserStatsConsumer {
+
+    private final UserStatsCache userStatsCache;
+
+    // Every instance keeps its own cache, so it joins its own consumer group and reads only new events.
+    @KafkaListener(
+            topics = {"${kafka.topics.ticket-created}", "${kafka.topics.ticket-updated}",
+                    "${kafka.topics.ticket-deleted}", "${kafka.topics.comment-created}"},
+            groupId = "${users.stats.group-id}",
+            properties = "auto.offset.reset:latest"
+    )
+    public void consumeEvent(ConsumerRecord<String, Object> record) {
+        try {
+            if (record.value() instanceof TicketCreatedEvent created) {
+                userStatsCache.evict(created.getCustomerId());
+                userStatsCache.evict(created.getAssignedAgentId());
+            } else if (record.value() instanceof CommentCreatedEvent comment) {
+                userStatsCache.evict(comment.getUserId());
+            } else if (record.value() instanceof TicketDeletedEvent deleted) {
+                userStatsCache.evict(deleted.getCustomerId());
+                userStatsCache.evict(deleted.getAssignedAgentId());
+            } else if (record.value() instanceof TicketUpdatedEvent updated && updated.getChangedFields() != null) {
+                if (updated.getChangedFields().contains(TicketUpdatedEvent.FIELD_ASSIGNED_AGENT)) {
+                    userStatsCache.evict(updated.getAssignedAgentId());
+                    userStatsCache.evict(updated.getPreviousAssignedAgentId());
+                }
+                if (updated.getChangedFields().contains(TicketUpdatedEvent.FIELD_CUSTOMER)) {
+                    userStatsCache.evict(updated.getCustomerId());
+                    userStatsCache.evict(updated.getPreviousCustomerId());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error updating user stats from {}: {}", record.topic(), e.getMessage(), e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.monssif.ticket_management_service.repository;
 
+import com.monssif.ticket_management_service.dto.TicketCountDTO;
 import com.monssif.ticket_management_service.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -26,4 +27,9 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.category.id = :categoryId")
     Long countTicketsByCategoryId(@Param("categoryId") Long categoryId);
+
+
+    @Query("SELECT new com.monssif.ticket_management_service.dto.TicketCountDTO(t.category.id, COUNT(t)) " +
+            "FROM Ticket t GROUP BY t.category.id")
+    List<TicketCountDTO> countTicketsGroupedByCategory();
 }
\ No newline at end of file
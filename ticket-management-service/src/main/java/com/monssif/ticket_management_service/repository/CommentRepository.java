@@ -2,6 +2,7 @@ package com.monssif.ticket_management_service.repository;
 
 import com.monssif.ticket_management_service.entity.Comment;
 import com.monssif.ticket_management_service.entity.Ticket;
+import com.monssif.ticket_management_service.search.TicketCommentText;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +10,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
@@ -25,6 +29,10 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("SELECT c FROM Comment c WHERE c.user.id = :userId ORDER BY c.createdAt DESC")
     Page<Comment> findByUserId(@Param("userId") Long userId, Pageable pageable);
 
+    @Query("SELECT new com.monssif.ticket_management_service.search.TicketCommentText(c.ticket.id, c.content) " +
+            "FROM Comment c WHERE c.ticket.id IN :ticketIds")
+    List<TicketCommentText> findCommentTextsByTicketIds(@Param("ticketIds") Collection<Long> ticketIds);
+
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.ticket.id = :ticketId")
     Long countByTicketId(@Param("ticketId") Long ticketId);
 
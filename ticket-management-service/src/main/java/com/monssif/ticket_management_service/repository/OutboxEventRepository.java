@@ -0,0 +1,18 @@
+package com.monssif.ticket_management_service.repository;
+
+import com.monssif.ticket_management_service.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query(value = "SELECT * FROM outbox_events WHERE id IN (" +
+            "SELECT id FROM (SELECT id FROM outbox_events WHERE parked_at IS NULL ORDER BY id) WHERE ROWNUM <= :batchSize) " +
+            "ORDER BY id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("batchSize") int batchSize);
+}
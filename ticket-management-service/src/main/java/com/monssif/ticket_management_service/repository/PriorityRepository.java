@@ -1,5 +1,6 @@
 package com.monssif.ticket_management_service.repository;
 
+import com.monssif.ticket_management_service.dto.TicketCountDTO;
 import com.monssif.ticket_management_service.entity.Priority;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -28,4 +29,9 @@ public interface PriorityRepository extends JpaRepository<Priority, Long> {
 
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.priority.id = :priorityId")
     Long countTicketsByPriorityId(@Param("priorityId") Long priorityId);
+
+
+    @Query("SELECT new com.monssif.ticket_management_service.dto.TicketCountDTO(t.priority.id, COUNT(t)) " +
+            "FROM Ticket t GROUP BY t.priority.id")
+    List<TicketCountDTO> countTicketsGroupedByPriority();
 }
\ No newline at end of file
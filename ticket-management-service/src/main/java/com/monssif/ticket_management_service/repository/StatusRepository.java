@@ -1,5 +1,6 @@
 package com.monssif.ticket_management_service.repository;
 
+import com.monssif.ticket_management_service.dto.TicketCountDTO;
 import com.monssif.ticket_management_service.entity.Status;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -28,4 +29,9 @@ public interface StatusRepository extends JpaRepository<Status, Long> {
 
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.status.id = :statusId")
     Long countTicketsByStatusId(@Param("statusId") Long statusId);
+
+
+    @Query("SELECT new com.monssif.ticket_management_service.dto.TicketCountDTO(t.status.id, COUNT(t)) " +
+            "FROM Ticket t GROUP BY t.status.id")
+    List<TicketCountDTO> countTicketsGroupedByStatus();
 }
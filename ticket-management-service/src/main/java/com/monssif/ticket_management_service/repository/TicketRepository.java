@@ -1,50 +1,147 @@
 package com.monssif.ticket_management_service.repository;
 
+import com.monssif.ticket_management_service.assignment.AgentCategoryCount;
+import com.monssif.ticket_management_service.assignment.OpenAssignment;
+import com.monssif.ticket_management_service.assignment.TicketWorkItem;
+import com.monssif.ticket_management_service.dto.TicketSummaryDTO;
 import com.monssif.ticket_management_service.entity.Ticket;
 import com.monssif.ticket_management_service.entity.User;
+import com.monssif.ticket_management_service.search.TicketSearchDocument;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket,Long> {
 
+    String SUMMARY_SELECT = "SELECT new com.monssif.ticket_management_service.dto.TicketSummaryDTO(" +
+            "t.id, t.title, c.id, c.fullName, a.id, a.fullName, cat.name, p.name, p.level, s.name, " +
+            "t.aiSentimentScore, t.createdAt, t.updatedAt, t.resolvedAt) " +
+            "FROM Ticket t JOIN t.customer c LEFT JOIN t.assignedAgent a " +
+            "JOIN t.category cat JOIN t.priority p JOIN t.status s ";
+
     Page<Ticket> findByCustomer(User customer, Pageable pageable);
 
-    Page<Ticket> findByAssignedAgent(User assignedAgent, Pageable pageable);
+    @EntityGraph("Ticket.detail")
+    @Query("SELECT t FROM Ticket t WHERE t.id = :id")
+    Optional<Ticket> findDetailById(@Param("id") Long id);
+
+    @Query("SELECT t FROM Ticket t JOIN FETCH t.status JOIN FETCH t.priority JOIN FETCH t.category " +
+            "LEFT JOIN FETCH t.assignedAgent WHERE t.id IN :ids")
+    List<Ticket> findForBulkUpdateByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t.status.id FROM Ticket t WHERE t.id = :id")
+    Optional<Long> findStatusIdById(@Param("id") Long id);
+
+    @Query(value = SUMMARY_SELECT,
+            countQuery = "SELECT COUNT(t) FROM Ticket t")
+    Page<TicketSummaryDTO> findAllSummaries(Pageable pageable);
 
-    @Query("SELECT t FROM Ticket t WHERE LOWER(t.status.name) = LOWER(:statusName)")
-    Page<Ticket> findByStatusName(@Param("statusName") String statusName, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE c.id = :customerId",
+            countQuery = "SELECT COUNT(t) FROM Ticket t WHERE t.customer.id = :customerId")
+    Page<TicketSummaryDTO> findSummariesByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
 
-    @Query("SELECT t FROM Ticket t WHERE t.priority.level = :priorityLevel")
-    Page<Ticket> findByPriorityLevel(@Param("priorityLevel") Integer priorityLevel, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE a.id = :agentId",
+            countQuery = "SELECT COUNT(t) FROM Ticket t WHERE t.assignedAgent.id = :agentId")
+    Page<TicketSummaryDTO> findSummariesByAgentId(@Param("agentId") Long agentId, Pageable pageable);
 
-    @Query("SELECT t FROM Ticket t WHERE LOWER(t.category.name) = LOWER(:categoryName)")
-    Page<Ticket> findByCategoryName(@Param("categoryName") String categoryName, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE LOWER(s.name) = LOWER(:statusName)",
+            countQuery = "SELECT COUNT(t) FROM Ticket t WHERE LOWER(t.status.name) = LOWER(:statusName)")
+    Page<TicketSummaryDTO> findSummariesByStatusName(@Param("statusName") String statusName, Pageable pageable);
 
-    @Query("SELECT t FROM Ticket t WHERE t.assignedAgent IS NULL")
-    Page<Ticket> findUnassignedTickets(Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE p.level = :priorityLevel",
+            countQuery = "SELECT COUNT(t) FROM Ticket t WHERE t.priority.level = :priorityLevel")
+    Page<TicketSummaryDTO> findSummariesByPriorityLevel(@Param("priorityLevel") Integer priorityLevel, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE LOWER(cat.name) = LOWER(:categoryName)",
+            countQuery = "SELECT COUNT(t) FROM Ticket t WHERE LOWER(t.category.name) = LOWER(:categoryName)")
+    Page<TicketSummaryDTO> findSummariesByCategoryName(@Param("categoryName") String categoryName, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE a.id IS NULL",
+            countQuery = "SELECT COUNT(t) FROM Ticket t WHERE t.assignedAgent IS NULL")
+    Page<TicketSummaryDTO> findUnassignedSummaries(Pageable pageable);
 
     @Query("SELECT t FROM Ticket t WHERE t.resolvedAt IS NOT NULL")
     Page<Ticket> findResolvedTickets(Pageable pageable);
 
-    @Query("SELECT t FROM Ticket t WHERE t.createdAt BETWEEN :startDate AND :endDate")
-    Page<Ticket> findByCreatedAtBetween(
+    @Query(value = SUMMARY_SELECT + "WHERE t.createdAt BETWEEN :startDate AND :endDate",
+            countQuery = "SELECT COUNT(t) FROM Ticket t WHERE t.createdAt BETWEEN :startDate AND :endDate")
+    Page<TicketSummaryDTO> findSummariesByCreatedAtBetween(
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate,
             Pageable pageable
     );
 
-    @Query("SELECT t FROM Ticket t " +
-            "WHERE LOWER(t.title) LIKE LOWER(CONCAT('%', :searchTerm, '%'))" +
-            "OR LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<Ticket> searchByTitleOrDescription(@Param("searchTerm") String searchTerm, Pageable pageable);
+    // One keyset query per filter, so each one matches a single (filter column, created_at, id) index range.
+    @Query(SUMMARY_SELECT + "ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<TicketSummaryDTO> findFirstSliceByCreatedAtDesc(Pageable pageable);
+
+    @Query(SUMMARY_SELECT +
+            "WHERE t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<TicketSummaryDTO> findNextSliceByCreatedAtDesc(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = :customerId ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<TicketSummaryDTO> findFirstCustomerSliceByCreatedAtDesc(
+            @Param("customerId") Long customerId,
+            Pageable pageable
+    );
+
+    @Query(SUMMARY_SELECT +
+            "WHERE c.id = :customerId " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<TicketSummaryDTO> findNextCustomerSliceByCreatedAtDesc(
+            @Param("customerId") Long customerId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query(SUMMARY_SELECT + "WHERE a.id = :agentId ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<TicketSummaryDTO> findFirstAgentSliceByCreatedAtDesc(
+            @Param("agentId") Long agentId,
+            Pageable pageable
+    );
+
+    @Query(SUMMARY_SELECT +
+            "WHERE a.id = :agentId " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<TicketSummaryDTO> findNextAgentSliceByCreatedAtDesc(
+            @Param("agentId") Long agentId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query(SUMMARY_SELECT + "WHERE t.id IN :ids")
+    List<TicketSummaryDTO> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.monssif.ticket_management_service.search.TicketSearchDocument(" +
+            "t.id, t.title, t.description, t.status.name, t.category.name, t.priority.name) " +
+            "FROM Ticket t WHERE t.id IN :ids")
+    List<TicketSearchDocument> findSearchDocumentsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.monssif.ticket_management_service.search.TicketSearchDocument(" +
+            "t.id, t.title, t.description, t.status.name, t.category.name, t.priority.name) " +
+            "FROM Ticket t WHERE t.id > :afterId ORDER BY t.id ASC")
+    List<TicketSearchDocument> findSearchDocumentsAfterId(@Param("afterId") Long afterId, Pageable pageable);
 
 
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.status.name = :statusName")
@@ -54,6 +151,23 @@ public interface TicketRepository extends JpaRepository<Ticket,Long> {
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.assignedAgent.id = :agentId")
     Long countByAssignedAgentId(@Param("agentId") Long agentId);
 
+    @Query("SELECT new com.monssif.ticket_management_service.assignment.OpenAssignment(t.id, t.assignedAgent.id, t.priority.level) " +
+            "FROM Ticket t WHERE t.assignedAgent IS NOT NULL AND t.resolvedAt IS NULL AND t.status.isFinal = false")
+    List<OpenAssignment> findOpenAssignments();
+
+    @Query("SELECT new com.monssif.ticket_management_service.assignment.AgentCategoryCount(t.assignedAgent.id, t.category.name, COUNT(t)) " +
+            "FROM Ticket t WHERE t.assignedAgent IS NOT NULL GROUP BY t.assignedAgent.id, t.category.name")
+    List<AgentCategoryCount> countAssignedByAgentAndCategory();
+
+    @Query("SELECT new com.monssif.ticket_management_service.assignment.TicketWorkItem(t.id, t.category.name, t.priority.level) " +
+            "FROM Ticket t WHERE t.assignedAgent IS NULL AND t.resolvedAt IS NULL AND t.status.isFinal = false " +
+            "ORDER BY t.priority.level DESC, t.createdAt ASC")
+    List<TicketWorkItem> findUnassignedOpenWorkItems(Pageable pageable);
+
+    @Query("SELECT new com.monssif.ticket_management_service.assignment.TicketWorkItem(t.id, t.category.name, t.priority.level) " +
+            "FROM Ticket t WHERE t.id = :id AND t.assignedAgent IS NULL AND t.resolvedAt IS NULL AND t.status.isFinal = false")
+    Optional<TicketWorkItem> findUnassignedOpenWorkItem(@Param("id") Long id);
+
     @Query("SELECT t FROM Ticket t WHERE t.aiSentimentScore < 0 ORDER BY t.aiSentimentScore ASC")
     Page<Ticket> findTicketsWithNegativeSentiment(Pageable pageable);
 
@@ -1,5 +1,6 @@
 package com.monssif.ticket_management_service.repository;
 
+import com.monssif.ticket_management_service.dto.UserStatsDTO;
 import com.monssif.ticket_management_service.entity.User;
 import com.monssif.ticket_management_service.enums.UserRole;
 import org.springframework.data.domain.Page;
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,4 +40,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT u FROM User u WHERE (u.role = 'AGENT' OR u.role = 'ADMIN') AND u.isActive = true ORDER BY u.fullName ASC")
     List<User> findAllActiveAgents();
+
+    // One round trip for any number of users; each count is an index range scan on the FK column.
+    @Query("SELECT new com.monssif.ticket_management_service.dto.UserStatsDTO(u.id, " +
+            "(SELECT COUNT(t) FROM Ticket t WHERE t.assignedAgent.id = u.id), " +
+            "(SELECT COUNT(t) FROM Ticket t WHERE t.customer.id = u.id), " +
+            "(SELECT COUNT(c) FROM Comment c WHERE c.user.id = u.id)) " +
+            "FROM User u WHERE u.id IN :userIds")
+    List<UserStatsDTO> findStatsByUserIds(@Param("userIds") Collection<Long> userIds);
 }
\ No newline at end of file
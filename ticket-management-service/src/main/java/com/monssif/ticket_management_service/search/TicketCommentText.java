@@ -0,0 +1,13 @@
+package com.monssif.ticket_management_service.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketCommentText {
+    private Long ticketId;
+    private String content;
+}
@@ -0,0 +1,29 @@
+package com.monssif.ticket_management_service.search;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class TicketSearchDocument {
+    private Long id;
+    private String title;
+    private String description;
+    private String statusName;
+    private String categoryName;
+    private String priorityName;
+    private List<String> comments = new ArrayList<>();
+
+    public TicketSearchDocument(Long id, String title, String description,
+                                String statusName, String categoryName, String priorityName) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.statusName = statusName;
+        this.categoryName = categoryName;
+        this.priorityName = priorityName;
+    }
+}
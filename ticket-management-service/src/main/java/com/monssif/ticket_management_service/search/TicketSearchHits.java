@@ -0,0 +1,15 @@
+package com.monssif.ticket_management_service.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSearchHits {
+    private List<Long> ticketIds;
+    private long totalHits;
+}
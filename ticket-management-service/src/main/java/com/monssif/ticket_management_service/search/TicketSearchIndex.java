@@ -0,0 +1,284 @@
+package com.monssif.ticket_management_service.search;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process Lucene index over ticket title, description and comments. Writes go through a single
+ * {@link IndexWriter}; searches use near-real-time readers that are refreshed on a fixed delay.
+ * <p>
+ * A rebuild starts from a fresh commit point and is only committed when it finishes; a failed rebuild is rolled back
+ * to that commit. Tickets written by events while a rebuild runs are reported back so they can be re-indexed.
+ * <p>
+ * Without a configured path each instance indexes into its own temporary directory, removed on close, since Lucene's
+ * write lock allows only one writer per directory.
+ */
+@Component
+@Slf4j
+public class TicketSearchIndex {
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_DESCRIPTION = "description";
+    private static final String FIELD_COMMENTS = "comments";
+    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_CATEGORY = "category";
+    private static final String FIELD_PRIORITY = "priority";
+
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(
+            FIELD_TITLE, 3.0f,
+            FIELD_DESCRIPTION, 1.0f,
+            FIELD_COMMENTS, 0.5f
+    );
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    // Searches hold the read lock so a rolled-back writer's searchers are only closed once they are released
+    private final ReentrantReadWriteLock searcherLock = new ReentrantReadWriteLock();
+    private final Path temporaryPath;
+    private final Directory directory;
+    private volatile IndexWriter writer;
+    private volatile SearcherManager searcherManager;
+
+    public TicketSearchIndex(@Value("${search.index.path:}") String indexPath) throws IOException {
+        this.temporaryPath = indexPath == null || indexPath.isBlank()
+                ? Files.createTempDirectory("ticket-search-index-")
+                : null;
+        Path path = temporaryPath != null ? temporaryPath : Path.of(indexPath);
+        log.info("Opening ticket search index at {}", path);
+        this.directory = FSDirectory.open(path);
+        openWriter();
+    }
+
+    public void index(TicketSearchDocument ticket) {
+        recordChange(ticket.getId());
+        write(ticket);
+    }
+
+    public void indexForRebuild(TicketSearchDocument ticket) {
+        write(ticket);
+    }
+
+    private void write(TicketSearchDocument ticket) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, ticket.getId().toString(), Field.Store.YES));
+        document.add(new TextField(FIELD_TITLE, nullToEmpty(ticket.getTitle()), Field.Store.NO));
+        document.add(new TextField(FIELD_DESCRIPTION, nullToEmpty(ticket.getDescription()), Field.Store.NO));
+        for (String comment : ticket.getComments()) {
+            document.add(new TextField(FIELD_COMMENTS, nullToEmpty(comment), Field.Store.NO));
+        }
+        document.add(new StringField(FIELD_STATUS, keyword(ticket.getStatusName()), Field.Store.NO));
+        document.add(new StringField(FIELD_CATEGORY, keyword(ticket.getCategoryName()), Field.Store.NO));
+        document.add(new StringField(FIELD_PRIORITY, keyword(ticket.getPriorityName()), Field.Store.NO));
+
+        try {
+            writer.updateDocument(new Term(FIELD_ID, ticket.getId().toString()), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index ticket " + ticket.getId(), e);
+        }
+    }
+
+    public void delete(Long ticketId) {
+        recordChange(ticketId);
+        try {
+            writer.deleteDocuments(new Term(FIELD_ID, ticketId.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete ticket " + ticketId + " from index", e);
+        }
+    }
+
+    public void beginRebuild() {
+        rebuilding.set(true);
+        changedDuringRebuild.clear();
+        try {
+            writer.commit();
+            writer.deleteAll();
+        } catch (IOException e) {
+            abortRebuild();
+            throw new UncheckedIOException("Failed to clear ticket search index", e);
+        }
+    }
+
+    // Returns the tickets events wrote while the rebuild ran; their rebuilt copies may be older than the event's.
+    public Set<Long> finishRebuild() {
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            abortRebuild();
+            throw new UncheckedIOException("Failed to commit rebuilt ticket search index", e);
+        }
+        rebuilding.set(false);
+        refresh();
+        return drainChangedDuringRebuild();
+    }
+
+    // Drops everything written since beginRebuild, events included, and reopens the writer on the last commit.
+    public Set<Long> abortRebuild() {
+        searcherLock.writeLock().lock();
+        try {
+            SearcherManager previousSearchers = searcherManager;
+            writer.rollback();
+            openWriter();
+            previousSearchers.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to roll back ticket search index rebuild", e);
+        } finally {
+            rebuilding.set(false);
+            searcherLock.writeLock().unlock();
+        }
+        log.warn("Rolled back ticket search index rebuild");
+        return drainChangedDuringRebuild();
+    }
+
+    public TicketSearchHits search(String queryText, String status, String category, String priority,
+                                   int offset, int limit) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(parse(queryText), BooleanClause.Occur.MUST);
+        addFilter(query, FIELD_STATUS, status);
+        addFilter(query, FIELD_CATEGORY, category);
+        addFilter(query, FIELD_PRIORITY, priority);
+        Query built = query.build();
+
+        searcherLock.readLock().lock();
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(built, offset + limit);
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ticketIds = new ArrayList<>();
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                for (int i = offset; i < scoreDocs.length; i++) {
+                    ticketIds.add(Long.parseLong(storedFields.document(scoreDocs[i].doc).get(FIELD_ID)));
+                }
+                return new TicketSearchHits(ticketIds, searcher.count(built));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ticket search failed", e);
+        } finally {
+            searcherLock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.refresh-interval-ms}")
+    public void refresh() {
+        if (rebuilding.get()) {
+            return;
+        }
+        searcherLock.readLock().lock();
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Failed to refresh ticket search index: {}", e.getMessage());
+        } finally {
+            searcherLock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.commit-interval-ms}")
+    public void commit() {
+        if (rebuilding.get() || !writer.hasUncommittedChanges()) {
+            return;
+        }
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            log.warn("Failed to commit ticket search index: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        log.info("Closing ticket search index");
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        if (temporaryPath != null) {
+            FileSystemUtils.deleteRecursively(temporaryPath);
+        }
+    }
+
+    private void openWriter() throws IOException {
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    private void recordChange(Long ticketId) {
+        if (rebuilding.get()) {
+            changedDuringRebuild.add(ticketId);
+        }
+    }
+
+    private Set<Long> drainChangedDuringRebuild() {
+        Set<Long> changed = Set.copyOf(changedDuringRebuild);
+        changedDuringRebuild.removeAll(changed);
+        return changed;
+    }
+
+    private Query parse(String queryText) {
+        if (queryText == null || queryText.isBlank()) {
+            return new MatchAllDocsQuery();
+        }
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query parsed = parser.parse(queryText);
+        return parsed != null ? parsed : new MatchNoDocsQuery();
+    }
+
+    private void addFilter(BooleanQuery.Builder query, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            query.add(new TermQuery(new Term(field, keyword(value))), BooleanClause.Occur.FILTER);
+        }
+    }
+
+    private String keyword(String value) {
+        return nullToEmpty(value).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
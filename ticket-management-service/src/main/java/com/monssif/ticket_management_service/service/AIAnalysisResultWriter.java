@@ -0,0 +1,142 @@
+package com.monssif.ticket_management_service.service;
+
+import com.monssif.ticket_management_service.cache.LookupDataCache;
+import com.monssif.ticket_management_service.cache.LookupSnapshot;
+import com.monssif.ticket_management_service.dto.CategoryDTO;
+import com.monssif.ticket_management_service.events.AIAnalysisResultEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AIAnalysisResultWriter {
+
+    // The analyzed-at guard makes replays idempotent: an older or repeated result never overwrites a newer one.
+    private static final String UPDATE_TICKET_SQL =
+            "UPDATE tickets SET ai_sentiment_score = ?, " +
+            "ai_suggested_category_id = COALESCE(?, ai_suggested_category_id), " +
+            "ai_analyzed_at = ?, updated_at = ? " +
+            "WHERE id = ? AND (ai_analyzed_at IS NULL OR ai_analyzed_at < ?)";
+
+    private static final int[] UPDATE_TICKET_TYPES = {
+            Types.DOUBLE, Types.NUMERIC, Types.TIMESTAMP, Types.TIMESTAMP, Types.NUMERIC, Types.TIMESTAMP
+    };
+
+    private static final String UPDATE_COMMENT_SQL =
+            "UPDATE comments SET ai_sentiment_score = ?, ai_analyzed_at = ? " +
+            "WHERE id = ? AND (ai_analyzed_at IS NULL OR ai_analyzed_at < ?)";
+
+    private static final int[] UPDATE_COMMENT_TYPES = {
+            Types.DOUBLE, Types.TIMESTAMP, Types.NUMERIC, Types.TIMESTAMP
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LookupDataCache lookupDataCache;
+
+    @Transactional
+    public void applyResults(List<AIAnalysisResultEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<AIAnalysisResultEvent> commentResults = new ArrayList<>();
+        List<AIAnalysisResultEvent> ticketResults = new ArrayList<>();
+        for (AIAnalysisResultEvent event : events) {
+            if (event.getCommentId() != null) {
+                commentResults.add(event);
+            } else if (event.getTicketId() != null) {
+                ticketResults.add(event);
+            }
+        }
+
+        int tickets = updateTickets(latestPerKey(ticketResults, AIAnalysisResultEvent::getTicketId, now), now);
+        int comments = updateComments(latestPerKey(commentResults, AIAnalysisResultEvent::getCommentId, now));
+
+        log.info("Applied AI analysis results - tickets: {}/{}, comments: {}/{}",
+                tickets, ticketResults.size(), comments, commentResults.size());
+    }
+
+    private int updateTickets(Collection<AIAnalysisResultEvent> results, LocalDateTime now) {
+        LookupSnapshot lookups = null;
+        Timestamp updatedAt = Timestamp.valueOf(now);
+
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (AIAnalysisResultEvent event : results) {
+            Double score = event.getSentimentScore();
+            if (!isValidScore(score)) {
+                log.warn("Skipping invalid sentiment score {} for ticket {}", score, event.getTicketId());
+                continue;
+            }
+            if (lookups == null) {
+                lookups = lookupDataCache.get();
+            }
+            Long categoryId = lookups.getCategoryByName(event.getSuggestedCategoryName())
+                    .map(CategoryDTO::getId)
+                    .orElse(null);
+            Timestamp analyzedAt = Timestamp.valueOf(event.getAnalyzedAt());
+            batchArgs.add(new Object[]{score, categoryId, analyzedAt, updatedAt, event.getTicketId(), analyzedAt});
+        }
+
+        if (batchArgs.isEmpty()) {
+            return 0;
+        }
+        return sum(jdbcTemplate.batchUpdate(UPDATE_TICKET_SQL, batchArgs, UPDATE_TICKET_TYPES));
+    }
+
+    private int updateComments(Collection<AIAnalysisResultEvent> results) {
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (AIAnalysisResultEvent event : results) {
+            Double score = event.getSentimentScore();
+            if (!isValidScore(score)) {
+                log.warn("Skipping invalid sentiment score {} for comment {}", score, event.getCommentId());
+                continue;
+            }
+            Timestamp analyzedAt = Timestamp.valueOf(event.getAnalyzedAt());
+            batchArgs.add(new Object[]{score, analyzedAt, event.getCommentId(), analyzedAt});
+        }
+
+        if (batchArgs.isEmpty()) {
+            return 0;
+        }
+        return sum(jdbcTemplate.batchUpdate(UPDATE_COMMENT_SQL, batchArgs, UPDATE_COMMENT_TYPES));
+    }
+
+    private static boolean isValidScore(Double score) {
+        return score != null && score >= -1.0 && score <= 1.0;
+    }
+
+    private Collection<AIAnalysisResultEvent> latestPerKey(List<AIAnalysisResultEvent> events,
+                                                           Function<AIAnalysisResultEvent, Long> key,
+                                                           LocalDateTime now) {
+        Map<Long, AIAnalysisResultEvent> latest = new LinkedHashMap<>();
+        for (AIAnalysisResultEvent event : events) {
+            if (event.getAnalyzedAt() == null) {
+                event.setAnalyzedAt(now);
+            }
+            latest.merge(key.apply(event), event,
+                    (current, candidate) -> candidate.getAnalyzedAt().isBefore(current.getAnalyzedAt()) ? current : candidate);
+        }
+        return latest.values();
+    }
+
+    private int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,137 @@
+package com.monssif.ticket_management_service.service;
+
+import com.monssif.ticket_management_service.assignment.AgentCategoryCount;
+import com.monssif.ticket_management_service.assignment.AgentProfile;
+import com.monssif.ticket_management_service.assignment.AgentWorkload;
+import com.monssif.ticket_management_service.assignment.AgentWorkloadIndex;
+import com.monssif.ticket_management_service.assignment.TicketWorkItem;
+import com.monssif.ticket_management_service.dto.AssignmentRequestDTO;
+import com.monssif.ticket_management_service.dto.AssignmentResponseDTO;
+import com.monssif.ticket_management_service.dto.AutoAssignmentResultDTO;
+import com.monssif.ticket_management_service.entity.User;
+import com.monssif.ticket_management_service.exception.InvalidTicketOperationException;
+import com.monssif.ticket_management_service.exception.TicketNotFoundException;
+import com.monssif.ticket_management_service.repository.TicketRepository;
+import com.monssif.ticket_management_service.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AutoAssignmentService {
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final AgentWorkloadIndex agentWorkloadIndex;
+    private final TicketAssignmentService ticketAssignmentService;
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+
+    @Value("${assignment.auto.skill-bonus:1.0}")
+    private double skillBonus;
+
+    // Other instances' assignments reach this index through the periodic rebuild.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${assignment.auto.rebuild-interval-ms}", initialDelayString = "${assignment.auto.rebuild-interval-ms}")
+    public void rebuildIndex() {
+        try {
+            List<User> agents = userRepository.findAllActiveAgents();
+            Map<Long, Map<String, Double>> skills = learnSkills(ticketRepository.countAssignedByAgentAndCategory());
+
+            List<AgentProfile> profiles = agents.stream()
+                    .map(agent -> new AgentProfile(agent.getId(), agent.getFullName(),
+                            skills.getOrDefault(agent.getId(), Map.of())))
+                    .toList();
+            agentWorkloadIndex.rebuild(profiles, ticketRepository.findOpenAssignments());
+        } catch (Exception e) {
+            log.error("Failed to rebuild agent workload index: {}", e.getMessage(), e);
+        }
+    }
+
+    public AssignmentResponseDTO autoAssign(Long ticketId, String note) {
+        log.info("Auto-assigning ticket {}", ticketId);
+
+        TicketWorkItem workItem = ticketRepository.findUnassignedOpenWorkItem(ticketId)
+                .orElseThrow(() -> ticketRepository.existsById(ticketId)
+                        ? new InvalidTicketOperationException(
+                                String.format("Ticket %d is already assigned or closed", ticketId))
+                        : new TicketNotFoundException(ticketId));
+
+        return assign(workItem, note);
+    }
+
+    public AutoAssignmentResultDTO autoAssignUnassigned(int limit, String note) {
+        int batchSize = Math.min(Math.max(1, limit), MAX_BATCH_SIZE);
+        log.info("Auto-assigning up to {} unassigned tickets", batchSize);
+
+        List<TicketWorkItem> workItems = ticketRepository.findUnassignedOpenWorkItems(PageRequest.of(0, batchSize));
+
+        List<AssignmentResponseDTO> assignments = new ArrayList<>();
+        Map<Long, String> failures = new LinkedHashMap<>();
+        for (TicketWorkItem workItem : workItems) {
+            try {
+                assignments.add(assign(workItem, note));
+            } catch (RuntimeException e) {
+                failures.put(workItem.getTicketId(), e.getMessage());
+            }
+        }
+
+        log.info("Auto-assigned {} of {} unassigned tickets", assignments.size(), workItems.size());
+        return AutoAssignmentResultDTO.builder()
+                .requested(workItems.size())
+                .assigned(assignments.size())
+                .failed(failures.size())
+                .assignments(assignments)
+                .failures(failures)
+                .build();
+    }
+
+    public List<AgentWorkload> getWorkload() {
+        return agentWorkloadIndex.snapshot();
+    }
+
+    private AssignmentResponseDTO assign(TicketWorkItem workItem, String note) {
+        Long agentId = agentWorkloadIndex.reserve(workItem.getTicketId(), workItem.getCategoryName(), workItem.getPriorityLevel())
+                .orElseThrow(() -> new InvalidTicketOperationException("No active agents available for auto-assignment"));
+
+        AssignmentRequestDTO request = AssignmentRequestDTO.builder()
+                .agentId(agentId)
+                .note(note != null ? note : "Auto-assigned to least-loaded agent")
+                .build();
+        try {
+            return ticketAssignmentService.assignTicket(workItem.getTicketId(), request);
+        } catch (RuntimeException e) {
+            agentWorkloadIndex.release(workItem.getTicketId());
+            throw e;
+        }
+    }
+
+    // Skill for a category is 1 + bonus * the share of the agent's past tickets in that category.
+    private Map<Long, Map<String, Double>> learnSkills(List<AgentCategoryCount> counts) {
+        Map<Long, Long> totals = new HashMap<>();
+        for (AgentCategoryCount count : counts) {
+            totals.merge(count.getAgentId(), count.getTickets(), Long::sum);
+        }
+
+        Map<Long, Map<String, Double>> skills = new HashMap<>();
+        for (AgentCategoryCount count : counts) {
+            double share = (double) count.getTickets() / totals.get(count.getAgentId());
+            skills.computeIfAbsent(count.getAgentId(), id -> new HashMap<>())
+                    .put(count.getCategoryName(), 1.0 + skillBonus * share);
+        }
+        return skills;
+    }
+}
@@ -0,0 +1,74 @@
+package com.monssif.ticket_management_service.service;
+
+import com.monssif.ticket_management_service.dto.BulkOperationResultDTO;
+import com.monssif.ticket_management_service.dto.BulkTicketResultDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Runs a bulk ticket operation in chunks, one transaction per chunk. A chunk that fails to commit is reported as
+ * failed ticket by ticket; earlier chunks stay committed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BulkTicketExecutor {
+
+    public static final String STATUS_UPDATED = "UPDATED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${tickets.bulk.chunk-size}")
+    private int chunkSize;
+
+    public BulkOperationResultDTO execute(List<Long> ticketIds, Function<List<Long>, List<BulkTicketResultDTO>> chunkOperation) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ticketIds));
+        List<BulkTicketResultDTO> results = new ArrayList<>(distinctIds.size());
+
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+            try {
+                results.addAll(transactionTemplate.execute(status -> chunkOperation.apply(chunk)));
+            } catch (Exception e) {
+                log.error("Bulk operation chunk starting at ticket {} failed: {}", chunk.get(0), e.getMessage(), e);
+                for (Long ticketId : chunk) {
+                    results.add(failed(ticketId, "Chunk rolled back: " + e.getMessage()));
+                }
+            }
+        }
+
+        int succeeded = (int) results.stream().filter(result -> STATUS_UPDATED.equals(result.getStatus())).count();
+        return BulkOperationResultDTO.builder()
+                .requested(distinctIds.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
+
+    public static BulkTicketResultDTO updated(Long ticketId, String previousValue, String newValue) {
+        return BulkTicketResultDTO.builder()
+                .ticketId(ticketId)
+                .status(STATUS_UPDATED)
+                .previousValue(previousValue)
+                .newValue(newValue)
+                .build();
+    }
+
+    public static BulkTicketResultDTO failed(Long ticketId, String error) {
+        return BulkTicketResultDTO.builder()
+                .ticketId(ticketId)
+                .status(STATUS_FAILED)
+                .error(error)
+                .build();
+    }
+}
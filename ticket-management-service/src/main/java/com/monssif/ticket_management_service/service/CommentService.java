@@ -22,6 +22,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
@@ -145,7 +146,7 @@ public class CommentService {
 
 
     @Transactional
-    public void updateCommentWithAISentiment(Long commentId, Double sentimentScore) {
+    public void updateCommentWithAISentiment(Long commentId, Double sentimentScore, LocalDateTime analyzedAt) {
         log.info("Updating comment {} with AI sentiment: {}", commentId, sentimentScore);
 
         Comment comment = commentRepository.findById(commentId)
@@ -158,7 +159,14 @@ public class CommentService {
                     "Sentiment score must be between -1.0 and 1.0");
         }
 
+        LocalDateTime resultTime = analyzedAt != null ? analyzedAt : LocalDateTime.now();
+        if (comment.getAiAnalyzedAt() != null && !resultTime.isAfter(comment.getAiAnalyzedAt())) {
+            log.info("Skipping stale AI sentiment for comment {} analyzed at {}", commentId, resultTime);
+            return;
+        }
+
         comment.setAiSentimentScore(sentimentScore);
+        comment.setAiAnalyzedAt(resultTime);
         commentRepository.save(comment);
 
         log.info("Successfully updated comment {} with AI sentiment score", commentId);
@@ -1,12 +1,7 @@
 package com.monssif.ticket_management_service.service;
 
+import com.monssif.ticket_management_service.cache.LookupDataCache;
 import com.monssif.ticket_management_service.dto.*;
-import com.monssif.ticket_management_service.entity.Category;
-import com.monssif.ticket_management_service.entity.Priority;
-import com.monssif.ticket_management_service.entity.Status;
-import com.monssif.ticket_management_service.mapper.CategoryMapper;
-import com.monssif.ticket_management_service.mapper.PriorityMapper;
-import com.monssif.ticket_management_service.mapper.StatusMapper;
 import com.monssif.ticket_management_service.repository.CategoryRepository;
 import com.monssif.ticket_management_service.repository.PriorityRepository;
 import com.monssif.ticket_management_service.repository.StatusRepository;
@@ -16,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,22 +24,18 @@ public class LookupDataService {
     private final PriorityRepository priorityRepository;
     private final StatusRepository statusRepository;
 
-    private final CategoryMapper categoryMapper;
-    private final PriorityMapper priorityMapper;
-    private final StatusMapper statusMapper;
+    private final LookupDataCache lookupDataCache;
 
 
     public List<CategoryDTO> getAllCategories(boolean includeInactive) {
         log.info("Fetching all categories - includeInactive: {}", includeInactive);
 
-        List<Category> categories = includeInactive
-                ? categoryRepository.findAll()
-                : categoryRepository.findAllActive();
+        Map<Long, Long> ticketCounts = toCountMap(categoryRepository.countTicketsGroupedByCategory());
 
-        return categories.stream()
-                .map(category -> {
-                    CategoryDTO dto = categoryMapper.toDTO(category);
-                    dto.setTicketCount(categoryRepository.countTicketsByCategoryId(category.getId()));
+        return lookupDataCache.get().getCategories().stream()
+                .filter(dto -> includeInactive || Boolean.TRUE.equals(dto.getIsActive()))
+                .map(dto -> {
+                    dto.setTicketCount(ticketCounts.getOrDefault(dto.getId(), 0L));
                     return dto;
                 })
                 .collect(Collectors.toList());
@@ -53,12 +45,11 @@ public class LookupDataService {
     public List<PriorityDTO> getAllPriorities() {
         log.info("Fetching all priorities ordered by level");
 
-        List<Priority> priorities = priorityRepository.findAllOrderedByLevel();
+        Map<Long, Long> ticketCounts = toCountMap(priorityRepository.countTicketsGroupedByPriority());
 
-        return priorities.stream()
-                .map(priority -> {
-                    PriorityDTO dto = priorityMapper.toDTO(priority);
-                    dto.setTicketCount(priorityRepository.countTicketsByPriorityId(priority.getId()));
+        return lookupDataCache.get().getPriorities().stream()
+                .map(dto -> {
+                    dto.setTicketCount(ticketCounts.getOrDefault(dto.getId(), 0L));
                     return dto;
                 })
                 .collect(Collectors.toList());
@@ -68,20 +59,13 @@ public class LookupDataService {
     public List<StatusDTO> getAllStatuses(String filter) {
         log.info("Fetching all statuses - filter: {}", filter);
 
-        List<Status> statuses;
+        Map<Long, Long> ticketCounts = toCountMap(statusRepository.countTicketsGroupedByStatus());
 
-        if ("final".equalsIgnoreCase(filter)) {
-            statuses = statusRepository.findAllFinalStatuses();
-        } else if ("active".equalsIgnoreCase(filter)) {
-            statuses = statusRepository.findAllActiveStatuses();
-        } else {
-            statuses = statusRepository.findAll();
-        }
-
-        return statuses.stream()
-                .map(status -> {
-                    StatusDTO dto = statusMapper.toDTO(status);
-                    dto.setTicketCount(statusRepository.countTicketsByStatusId(status.getId()));
+        return lookupDataCache.get().getStatuses().stream()
+                .filter(dto -> !"final".equalsIgnoreCase(filter) || Boolean.TRUE.equals(dto.getIsFinal()))
+                .filter(dto -> !"active".equalsIgnoreCase(filter) || !Boolean.TRUE.equals(dto.getIsFinal()))
+                .map(dto -> {
+                    dto.setTicketCount(ticketCounts.getOrDefault(dto.getId(), 0L));
                     return dto;
                 })
                 .collect(Collectors.toList());
@@ -107,10 +91,9 @@ public class LookupDataService {
     public CategoryDTO getCategoryById(Long id) {
         log.info("Fetching category with ID: {}", id);
 
-        Category category = categoryRepository.findById(id)
+        CategoryDTO dto = lookupDataCache.get().getCategory(id)
                 .orElseThrow(() -> new IllegalArgumentException("Category not found with ID: " + id));
 
-        CategoryDTO dto = categoryMapper.toDTO(category);
         dto.setTicketCount(categoryRepository.countTicketsByCategoryId(id));
         return dto;
     }
@@ -118,10 +101,9 @@ public class LookupDataService {
     public PriorityDTO getPriorityById(Long id) {
         log.info("Fetching priority with ID: {}", id);
 
-        Priority priority = priorityRepository.findById(id)
+        PriorityDTO dto = lookupDataCache.get().getPriority(id)
                 .orElseThrow(() -> new IllegalArgumentException("Priority not found with ID: " + id));
 
-        PriorityDTO dto = priorityMapper.toDTO(priority);
         dto.setTicketCount(priorityRepository.countTicketsByPriorityId(id));
         return dto;
     }
@@ -129,11 +111,20 @@ public class LookupDataService {
     public StatusDTO getStatusById(Long id) {
         log.info("Fetching status with ID: {}", id);
 
-        Status status = statusRepository.findById(id)
+        StatusDTO dto = lookupDataCache.get().getStatus(id)
                 .orElseThrow(() -> new IllegalArgumentException("Status not found with ID: " + id));
 
-        StatusDTO dto = statusMapper.toDTO(status);
         dto.setTicketCount(statusRepository.countTicketsByStatusId(id));
         return dto;
     }
-}
\ No newline at end of file
+
+    public void evictCache() {
+        log.info("Evicting lookup data cache on request");
+        lookupDataCache.evictAll();
+    }
+
+    private Map<Long, Long> toCountMap(List<TicketCountDTO> counts) {
+        return counts.stream()
+                .collect(Collectors.toMap(TicketCountDTO::getId, TicketCountDTO::getTicketCount));
+    }
+}
@@ -1,21 +1,35 @@
 package com.monssif.ticket_management_service.service;
 
+import com.monssif.ticket_management_service.assignment.AgentWorkloadIndex;
 import com.monssif.ticket_management_service.dto.AssignmentRequestDTO;
 import com.monssif.ticket_management_service.dto.AssignmentResponseDTO;
+import com.monssif.ticket_management_service.dto.BulkAssignmentRequestDTO;
+import com.monssif.ticket_management_service.dto.BulkOperationResultDTO;
+import com.monssif.ticket_management_service.dto.BulkTicketResultDTO;
 import com.monssif.ticket_management_service.entity.Ticket;
 import com.monssif.ticket_management_service.entity.TicketHistory;
 import com.monssif.ticket_management_service.entity.User;
+import com.monssif.ticket_management_service.enums.EventType;
+import com.monssif.ticket_management_service.events.TicketUpdatedEvent;
 import com.monssif.ticket_management_service.exception.InvalidTicketOperationException;
 import com.monssif.ticket_management_service.exception.TicketNotFoundException;
+import com.monssif.ticket_management_service.messaging.AIAnalysisProducer;
 import com.monssif.ticket_management_service.repository.TicketHistoryRepository;
 import com.monssif.ticket_management_service.repository.TicketRepository;
 import com.monssif.ticket_management_service.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +38,9 @@ public class TicketAssignmentService {
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
     private final TicketHistoryRepository ticketHistoryRepository;
+    private final AgentWorkloadIndex agentWorkloadIndex;
+    private final BulkTicketExecutor bulkTicketExecutor;
+    private final AIAnalysisProducer producer;
 
     @Transactional
     public AssignmentResponseDTO assignTicket(Long ticketId, AssignmentRequestDTO requestDTO) {
@@ -44,6 +61,8 @@ public class TicketAssignmentService {
         Ticket savedTicket = ticketRepository.save(ticket);
 
         createAssignmentHistory(ticket, null, agent);
+        agentWorkloadIndex.syncAfterCommit(savedTicket);
+        publishTicketUpdated(savedTicket, null, TicketUpdatedEvent.FIELD_ASSIGNED_AGENT);
 
         log.info("Ticket {} successfully assigned to agent {}", ticketId, agent.getFullName());
 
@@ -76,6 +95,8 @@ public class TicketAssignmentService {
         Ticket savedTicket = ticketRepository.save(ticket);
 
         createAssignmentHistory(ticket, previousAgent, newAgent);
+        agentWorkloadIndex.syncAfterCommit(savedTicket);
+        publishTicketUpdated(savedTicket, previousAgent.getId(), TicketUpdatedEvent.FIELD_ASSIGNED_AGENT);
 
         log.info("Ticket {} successfully reassigned from {} to {}",
                 ticketId, previousAgent.getFullName(), newAgent.getFullName());
@@ -103,6 +124,8 @@ public class TicketAssignmentService {
         Ticket savedTicket = ticketRepository.save(ticket);
 
         createAssignmentHistory(ticket, previousAgent, null);
+        agentWorkloadIndex.syncAfterCommit(savedTicket);
+        publishTicketUpdated(savedTicket, previousAgent.getId(), TicketUpdatedEvent.FIELD_ASSIGNED_AGENT);
 
         log.info("Ticket {} successfully unassigned from {}", ticketId, previousAgent.getFullName());
 
@@ -110,6 +133,55 @@ public class TicketAssignmentService {
                 String.format("Ticket unassigned from %s", previousAgent.getFullName()));
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkOperationResultDTO bulkAssignTickets(BulkAssignmentRequestDTO requestDTO) {
+        log.info("Bulk assigning {} tickets to agent {}", requestDTO.getTicketIds().size(), requestDTO.getAgentId());
+
+        User agent = validateAndGetAgent(requestDTO.getAgentId());
+        BulkOperationResultDTO result = bulkTicketExecutor.execute(requestDTO.getTicketIds(),
+                ticketIds -> assignChunk(ticketIds, agent));
+
+        log.info("Bulk assignment to agent {} finished - assigned: {}, failed: {}",
+                agent.getFullName(), result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    private List<BulkTicketResultDTO> assignChunk(List<Long> ticketIds, User agent) {
+        Map<Long, Ticket> tickets = ticketRepository.findForBulkUpdateByIds(ticketIds).stream()
+                .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+
+        List<BulkTicketResultDTO> results = new ArrayList<>(ticketIds.size());
+        List<TicketHistory> historyEntries = new ArrayList<>();
+        List<Ticket> assignedTickets = new ArrayList<>();
+        for (Long ticketId : ticketIds) {
+            Ticket ticket = tickets.get(ticketId);
+            if (ticket == null) {
+                results.add(BulkTicketExecutor.failed(ticketId, "Ticket not found with ID: " + ticketId));
+                continue;
+            }
+
+            User previousAgent = ticket.getAssignedAgent();
+            if (previousAgent != null && previousAgent.getId().equals(agent.getId())) {
+                results.add(BulkTicketExecutor.failed(ticketId,
+                        String.format("Ticket is already assigned to %s", agent.getFullName())));
+                continue;
+            }
+
+            ticket.setAssignedAgent(agent);
+            historyEntries.add(buildAssignmentHistory(ticket, previousAgent, agent));
+            publishTicketUpdated(ticket, previousAgent != null ? previousAgent.getId() : null,
+                    TicketUpdatedEvent.FIELD_ASSIGNED_AGENT);
+            assignedTickets.add(ticket);
+            results.add(BulkTicketExecutor.updated(ticketId,
+                    previousAgent != null ? previousAgent.getFullName() : "Unassigned", agent.getFullName()));
+        }
+
+        ticketHistoryRepository.saveAll(historyEntries);
+        ticketRepository.flush();
+        assignedTickets.forEach(agentWorkloadIndex::syncAfterCommit);
+        return results;
+    }
+
     private User validateAndGetAgent(Long agentId) {
         User agent = userRepository.findById(agentId)
                 .orElseThrow(() -> new InvalidTicketOperationException(
@@ -129,21 +201,38 @@ public class TicketAssignmentService {
         return agent;
     }
 
+    private void publishTicketUpdated(Ticket ticket, Long previousAgentId, String changedField) {
+        producer.publishTicketUpdated(TicketUpdatedEvent.builder()
+                .ticketId(ticket.getId())
+                .title(ticket.getTitle())
+                .description(ticket.getDescription())
+                .statusName(ticket.getStatus().getName())
+                .categoryName(ticket.getCategory().getName())
+                .assignedAgentId(ticket.getAssignedAgent() != null ? ticket.getAssignedAgent().getId() : null)
+                .previousAssignedAgentId(previousAgentId)
+                .updatedAt(LocalDateTime.now())
+                .eventType(EventType.TICKET_UPDATED.name())
+                .changedFields(Set.of(changedField))
+                .build());
+    }
+
     private void createAssignmentHistory(Ticket ticket, User previousAgent, User newAgent) {
+        ticketHistoryRepository.save(buildAssignmentHistory(ticket, previousAgent, newAgent));
+        log.debug("Created history entry for ticket {} assignment change", ticket.getId());
+    }
+
+    private TicketHistory buildAssignmentHistory(Ticket ticket, User previousAgent, User newAgent) {
         String oldValue = previousAgent != null ? previousAgent.getFullName() : "Unassigned";
         String newValue = newAgent != null ? newAgent.getFullName() : "Unassigned";
         User changedBy = newAgent != null ? newAgent : previousAgent;
 
-        TicketHistory historyEntry = TicketHistory.builder()
+        return TicketHistory.builder()
                 .ticket(ticket)
                 .fieldName("assigned_agent")
                 .oldValue(oldValue)
                 .newValue(newValue)
                 .changedBy(changedBy)
                 .build();
-
-        ticketHistoryRepository.save(historyEntry);
-        log.debug("Created history entry for ticket {} assignment change", ticket.getId());
     }
 
     private AssignmentResponseDTO buildAssignmentResponse(
@@ -0,0 +1,290 @@
+package com.monssif.ticket_management_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monssif.ticket_management_service.cache.LookupDataCache;
+import com.monssif.ticket_management_service.cache.LookupSnapshot;
+import com.monssif.ticket_management_service.dto.CategoryDTO;
+import com.monssif.ticket_management_service.dto.PriorityDTO;
+import com.monssif.ticket_management_service.dto.StatusDTO;
+import com.monssif.ticket_management_service.dto.TicketImportResultDTO;
+import com.monssif.ticket_management_service.dto.TicketRequestDTO;
+import com.monssif.ticket_management_service.entity.Category;
+import com.monssif.ticket_management_service.entity.Priority;
+import com.monssif.ticket_management_service.entity.Status;
+import com.monssif.ticket_management_service.entity.Ticket;
+import com.monssif.ticket_management_service.entity.User;
+import com.monssif.ticket_management_service.enums.EventType;
+import com.monssif.ticket_management_service.events.TicketCreatedEvent;
+import com.monssif.ticket_management_service.exception.InvalidTicketOperationException;
+import com.monssif.ticket_management_service.messaging.AIAnalysisProducer;
+import com.monssif.ticket_management_service.repository.TicketRepository;
+import com.monssif.ticket_management_service.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TicketImportService {
+
+    private static final String STATUS_CREATED = "CREATED";
+    private static final String STATUS_FAILED = "FAILED";
+
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+    private final LookupDataCache lookupDataCache;
+    private final AIAnalysisProducer producer;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+
+    @Value("${tickets.import.chunk-size}")
+    private int chunkSize;
+
+    public void importTickets(InputStream input, OutputStream output) throws IOException {
+        log.info("Starting streaming ticket import");
+        long started = System.currentTimeMillis();
+        long lineNumber = 0;
+        long created = 0;
+        long failed = 0;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<ImportLine> chunk = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(new ImportLine(lineNumber, line));
+            if (chunk.size() == chunkSize) {
+                List<TicketImportResultDTO> results = importChunk(chunk);
+                created += count(results, STATUS_CREATED);
+                failed += count(results, STATUS_FAILED);
+                writeResults(results, output);
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            List<TicketImportResultDTO> results = importChunk(chunk);
+            created += count(results, STATUS_CREATED);
+            failed += count(results, STATUS_FAILED);
+            writeResults(results, output);
+        }
+
+        log.info("Ticket import finished - created: {}, failed: {}, in {} ms",
+                created, failed, System.currentTimeMillis() - started);
+    }
+
+    private List<TicketImportResultDTO> importChunk(List<ImportLine> chunk) {
+        TicketImportResultDTO[] results = new TicketImportResultDTO[chunk.size()];
+        List<TicketRequestDTO> requests = new ArrayList<>(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            ImportLine importLine = chunk.get(i);
+            try {
+                TicketRequestDTO request = objectMapper.readValue(importLine.content(), TicketRequestDTO.class);
+                if (request == null) {
+                    results[i] = failure(importLine, "Expected a ticket object, got null");
+                    requests.add(null);
+                    continue;
+                }
+                Set<ConstraintViolation<TicketRequestDTO>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    results[i] = failure(importLine, violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                }
+                requests.add(request);
+            } catch (JsonProcessingException e) {
+                results[i] = failure(importLine, "Malformed JSON: " + e.getOriginalMessage());
+                requests.add(null);
+            } catch (RuntimeException e) {
+                // One bad line must not stop the stream; the rest of the chunk and the import carry on
+                log.warn("Ticket import line {} could not be read: {}", importLine.number(), e.getMessage());
+                results[i] = failure(importLine, "Unreadable line: " + e.getMessage());
+                requests.add(null);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistChunk(chunk, requests, results));
+        } catch (Exception e) {
+            log.error("Ticket import chunk starting at line {} failed: {}", chunk.get(0).number(), e.getMessage(), e);
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null || STATUS_CREATED.equals(results[i].getStatus())) {
+                    results[i] = failure(chunk.get(i), "Chunk rolled back: " + e.getMessage());
+                }
+            }
+        }
+
+        return List.of(results);
+    }
+
+    private void persistChunk(List<ImportLine> chunk, List<TicketRequestDTO> requests, TicketImportResultDTO[] results) {
+        LookupSnapshot lookups = lookupDataCache.get();
+
+        Set<Long> userIds = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TicketRequestDTO request = requests.get(i);
+            if (results[i] == null) {
+                userIds.add(request.getCustomerId());
+                if (request.getAssignedAgentId() != null) {
+                    userIds.add(request.getAssignedAgentId());
+                }
+            }
+        }
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<Ticket> tickets = new ArrayList<>();
+        List<Integer> ticketPositions = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            try {
+                tickets.add(toTicket(requests.get(i), lookups, users));
+                ticketPositions.add(i);
+            } catch (InvalidTicketOperationException e) {
+                results[i] = failure(chunk.get(i), e.getMessage());
+            }
+        }
+
+        List<Ticket> savedTickets = ticketRepository.saveAll(tickets);
+        ticketRepository.flush();
+
+        for (int t = 0; t < savedTickets.size(); t++) {
+            Ticket saved = savedTickets.get(t);
+            int position = ticketPositions.get(t);
+
+            producer.publishTicketCreated(TicketCreatedEvent.builder()
+                    .ticketId(saved.getId())
+                    .title(saved.getTitle())
+                    .description(saved.getDescription())
+                    .categoryName(lookups.getCategory(saved.getCategory().getId())
+                            .map(CategoryDTO::getName).orElse(null))
+                    .priorityName(lookups.getPriority(saved.getPriority().getId())
+                            .map(PriorityDTO::getName).orElse(null))
+                    .customerId(saved.getCustomer().getId())
+                    .assignedAgentId(saved.getAssignedAgent() != null ? saved.getAssignedAgent().getId() : null)
+                    .createdAt(saved.getCreatedAt())
+                    .eventType(EventType.TICKET_CREATED.name())
+                    .build());
+
+            results[position] = TicketImportResultDTO.builder()
+                    .line(chunk.get(position).number())
+                    .status(STATUS_CREATED)
+                    .ticketId(saved.getId())
+                    .build();
+        }
+
+        // The import runs on an async request thread whose EntityManager is bound by open-in-view and shared by
+        // every chunk, so detach this chunk's tickets and outbox rows before the next one.
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Ticket toTicket(TicketRequestDTO request, LookupSnapshot lookups, Map<Long, User> users) {
+        User customer = users.get(request.getCustomerId());
+        if (customer == null) {
+            throw new InvalidTicketOperationException("Customer not found with ID: " + request.getCustomerId());
+        }
+        if (!customer.isCustomer()) {
+            throw new InvalidTicketOperationException(
+                    "User with ID " + request.getCustomerId() + " is not a customer");
+        }
+        if (!customer.getIsActive()) {
+            throw new InvalidTicketOperationException("Customer account is not active");
+        }
+
+        CategoryDTO category = lookups.getCategory(request.getCategoryId())
+                .orElseThrow(() -> new InvalidTicketOperationException(
+                        "Category not found with ID: " + request.getCategoryId()));
+        if (!category.getIsActive()) {
+            throw new InvalidTicketOperationException("Category is not active");
+        }
+
+        PriorityDTO priority = lookups.getPriority(request.getPriorityId())
+                .orElseThrow(() -> new InvalidTicketOperationException(
+                        "Priority not found with ID: " + request.getPriorityId()));
+
+        StatusDTO status = lookups.getStatus(request.getStatusId())
+                .orElseThrow(() -> new InvalidTicketOperationException(
+                        "Status not found with ID: " + request.getStatusId()));
+
+        // References, not snapshot copies: the chunk's persistence context is cleared after every chunk
+        Ticket ticket = Ticket.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .customer(customer)
+                .category(entityManager.getReference(Category.class, category.getId()))
+                .priority(entityManager.getReference(Priority.class, priority.getId()))
+                .status(entityManager.getReference(Status.class, status.getId()))
+                .build();
+
+        if (request.getAssignedAgentId() != null) {
+            User agent = users.get(request.getAssignedAgentId());
+            if (agent == null) {
+                throw new InvalidTicketOperationException("Agent not found with ID: " + request.getAssignedAgentId());
+            }
+            if (!agent.isAgent() && !agent.isAdmin()) {
+                throw new InvalidTicketOperationException(
+                        "User with ID " + request.getAssignedAgentId() + " is not an agent or admin");
+            }
+            if (!agent.getIsActive()) {
+                throw new InvalidTicketOperationException("Agent account is not active");
+            }
+            ticket.setAssignedAgent(agent);
+        }
+
+        return ticket;
+    }
+
+    private void writeResults(List<TicketImportResultDTO> results, OutputStream output) throws IOException {
+        for (TicketImportResultDTO result : results) {
+            output.write(objectMapper.writeValueAsBytes(result));
+            output.write('\n');
+        }
+        output.flush();
+    }
+
+    private TicketImportResultDTO failure(ImportLine importLine, String error) {
+        return TicketImportResultDTO.builder()
+                .line(importLine.number())
+                .status(STATUS_FAILED)
+                .error(error)
+                .build();
+    }
+
+    private long count(List<TicketImportResultDTO> results, String status) {
+        return results.stream().filter(result -> status.equals(result.getStatus())).count();
+    }
+
+    private record ImportLine(long number, String content) {
+    }
+}
@@ -0,0 +1,172 @@
+package com.monssif.ticket_management_service.service;
+
+import com.monssif.ticket_management_service.dto.TicketSummaryDTO;
+import com.monssif.ticket_management_service.repository.CommentRepository;
+import com.monssif.ticket_management_service.repository.TicketRepository;
+import com.monssif.ticket_management_service.search.TicketCommentText;
+import com.monssif.ticket_management_service.search.TicketSearchDocument;
+import com.monssif.ticket_management_service.search.TicketSearchHits;
+import com.monssif.ticket_management_service.search.TicketSearchIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TicketSearchService {
+
+    private final TicketRepository ticketRepository;
+    private final CommentRepository commentRepository;
+    private final TicketSearchIndex ticketSearchIndex;
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor();
+    private final AtomicBoolean rebuildRunning = new AtomicBoolean();
+
+    @Value("${search.index.rebuild-on-startup}")
+    private boolean rebuildOnStartup;
+
+    @Value("${search.index.rebuild-batch-size}")
+    private int rebuildBatchSize;
+
+    public Page<TicketSummaryDTO> searchTickets(String searchTerm, String statusName, String categoryName,
+                                                String priorityName, Pageable pageable) {
+        log.info("Searching tickets with term: {} - status: {}, category: {}, priority: {}",
+                searchTerm, statusName, categoryName, priorityName);
+
+        TicketSearchHits hits = ticketSearchIndex.search(searchTerm, statusName, categoryName, priorityName,
+                (int) pageable.getOffset(), pageable.getPageSize());
+
+        if (hits.getTicketIds().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.getTotalHits());
+        }
+
+        Map<Long, TicketSummaryDTO> summariesById = ticketRepository.findSummariesByIds(hits.getTicketIds()).stream()
+                .collect(Collectors.toMap(TicketSummaryDTO::getId, Function.identity()));
+
+        List<TicketSummaryDTO> ranked = hits.getTicketIds().stream()
+                .map(summariesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new PageImpl<>(ranked, pageable, hits.getTotalHits());
+    }
+
+    public void indexTicket(Long ticketId) {
+        List<TicketSearchDocument> documents = loadDocuments(ticketRepository.findSearchDocumentsByIds(List.of(ticketId)));
+
+        if (documents.isEmpty()) {
+            log.info("Ticket {} no longer exists, removing it from search index", ticketId);
+            ticketSearchIndex.delete(ticketId);
+            return;
+        }
+
+        ticketSearchIndex.index(documents.get(0));
+        log.info("Indexed ticket {} for search", ticketId);
+    }
+
+    public void removeTicket(Long ticketId) {
+        ticketSearchIndex.delete(ticketId);
+        log.info("Removed ticket {} from search index", ticketId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            requestRebuild();
+        }
+    }
+
+    public boolean requestRebuild() {
+        if (!rebuildRunning.compareAndSet(false, true)) {
+            log.info("Ticket search index rebuild already running");
+            return false;
+        }
+
+        rebuildExecutor.submit(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("Ticket search index rebuild failed: {}", e.getMessage(), e);
+            } finally {
+                rebuildRunning.set(false);
+            }
+        });
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void rebuild() {
+        log.info("Rebuilding ticket search index from database");
+        long started = System.currentTimeMillis();
+        long lastId = 0L;
+        int indexed = 0;
+
+        ticketSearchIndex.beginRebuild();
+        try {
+            List<TicketSearchDocument> batch;
+            do {
+                batch = loadDocuments(ticketRepository.findSearchDocumentsAfterId(
+                        lastId, PageRequest.of(0, rebuildBatchSize)));
+                batch.forEach(ticketSearchIndex::indexForRebuild);
+                indexed += batch.size();
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == rebuildBatchSize);
+        } catch (RuntimeException e) {
+            // Keep the last committed index rather than committing a partial one
+            reindex(ticketSearchIndex.abortRebuild());
+            throw e;
+        }
+        reindex(ticketSearchIndex.finishRebuild());
+
+        log.info("Rebuilt ticket search index with {} tickets in {} ms",
+                indexed, System.currentTimeMillis() - started);
+    }
+
+    // Events that arrived while the rebuild ran are replayed from the database
+    private void reindex(Set<Long> ticketIds) {
+        if (!ticketIds.isEmpty()) {
+            log.info("Re-indexing {} tickets changed during the rebuild", ticketIds.size());
+            ticketIds.forEach(this::indexTicket);
+        }
+    }
+
+    private List<TicketSearchDocument> loadDocuments(List<TicketSearchDocument> documents) {
+        if (documents.isEmpty()) {
+            return documents;
+        }
+
+        Map<Long, TicketSearchDocument> documentsById = documents.stream()
+                .collect(Collectors.toMap(TicketSearchDocument::getId, Function.identity()));
+
+        for (TicketCommentText comment : commentRepository.findCommentTextsByTicketIds(documentsById.keySet())) {
+            documentsById.get(comment.getTicketId()).getComments().add(comment.getContent());
+        }
+
+        return documents;
+    }
+}
@@ -1,5 +1,12 @@
 package com.monssif.ticket_management_service.service;
 
+import com.monssif.ticket_management_service.assignment.AgentWorkloadIndex;
+import com.monssif.ticket_management_service.cache.LookupDataCache;
+import com.monssif.ticket_management_service.cache.LookupSnapshot;
+import com.monssif.ticket_management_service.dto.CategoryDTO;
+import com.monssif.ticket_management_service.dto.PriorityDTO;
+import com.monssif.ticket_management_service.dto.StatusDTO;
+import com.monssif.ticket_management_service.dto.TicketCursorPageDTO;
 import com.monssif.ticket_management_service.dto.TicketRequestDTO;
 import com.monssif.ticket_management_service.dto.TicketResponseDTO;
 import com.monssif.ticket_management_service.dto.TicketSummaryDTO;
@@ -10,22 +17,34 @@ import com.monssif.ticket_management_service.entity.Ticket;
 import com.monssif.ticket_management_service.entity.User;
 import com.monssif.ticket_management_service.enums.EventType;
 import com.monssif.ticket_management_service.events.TicketCreatedEvent;
+import com.monssif.ticket_management_service.events.TicketDeletedEvent;
 import com.monssif.ticket_management_service.events.TicketUpdatedEvent;
 import com.monssif.ticket_management_service.exception.InvalidTicketOperationException;
 import com.monssif.ticket_management_service.exception.TicketNotFoundException;
+import com.monssif.ticket_management_service.mapper.CategoryMapper;
+import com.monssif.ticket_management_service.mapper.PriorityMapper;
+import com.monssif.ticket_management_service.mapper.StatusMapper;
 import com.monssif.ticket_management_service.mapper.TicketMapper;
 import com.monssif.ticket_management_service.messaging.AIAnalysisProducer;
 import com.monssif.ticket_management_service.repository.*;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -33,11 +52,17 @@ import java.util.Optional;
 public class TicketService {
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
-    private final CategoryRepository categoryRepository;
-    private final PriorityRepository priorityRepository;
-    private final StatusRepository statusRepository;
+    private final CommentRepository commentRepository;
+    private final LookupDataCache lookupDataCache;
     private final TicketMapper ticketMapper;
+    private final CategoryMapper categoryMapper;
+    private final PriorityMapper priorityMapper;
+    private final StatusMapper statusMapper;
     private final AIAnalysisProducer producer;
+    private final AgentWorkloadIndex agentWorkloadIndex;
+    private final EntityManager entityManager;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
     @Transactional
     public TicketResponseDTO createTicket(TicketRequestDTO requestDTO) {
@@ -56,7 +81,9 @@ public class TicketService {
             throw new InvalidTicketOperationException("Customer account is not active");
         }
 
-        Category category = categoryRepository.findById(requestDTO.getCategoryId())
+        LookupSnapshot lookups = lookupDataCache.get();
+
+        CategoryDTO category = lookups.getCategory(requestDTO.getCategoryId())
                 .orElseThrow(() -> new InvalidTicketOperationException(
                         "Category not found with ID: " + requestDTO.getCategoryId()));
 
@@ -64,11 +91,11 @@ public class TicketService {
             throw new InvalidTicketOperationException("Category is not active");
         }
 
-        Priority priority = priorityRepository.findById(requestDTO.getPriorityId())
+        PriorityDTO priority = lookups.getPriority(requestDTO.getPriorityId())
                 .orElseThrow(() -> new InvalidTicketOperationException(
                         "Priority not found with ID: " + requestDTO.getPriorityId()));
 
-        Status status = statusRepository.findById(requestDTO.getStatusId())
+        StatusDTO status = lookups.getStatus(requestDTO.getStatusId())
                 .orElseThrow(() -> new InvalidTicketOperationException(
                         "Status not found with ID: " + requestDTO.getStatusId()));
 
@@ -76,9 +103,9 @@ public class TicketService {
                 .title(requestDTO.getTitle())
                 .description(requestDTO.getDescription())
                 .customer(customer)
-                .category(category)
-                .priority(priority)
-                .status(status)
+                .category(entityManager.getReference(Category.class, category.getId()))
+                .priority(entityManager.getReference(Priority.class, priority.getId()))
+                .status(entityManager.getReference(Status.class, status.getId()))
                 .build();
 
         if (requestDTO.getAssignedAgentId() != null) {
@@ -101,48 +128,139 @@ public class TicketService {
         Ticket savedTicket = ticketRepository.save(ticket);
         log.info("Ticket created successfully with ID: {}", savedTicket.getId());
 
+        // Lookup names come from the snapshot; reading them off the ticket's references would load each one
         TicketCreatedEvent event = TicketCreatedEvent.builder()
                 .ticketId(savedTicket.getId())
                 .title(savedTicket.getTitle())
                 .description(savedTicket.getDescription())
-                .categoryName(savedTicket.getCategory().getName())
-                .priorityName(savedTicket.getPriority().getName())
+                .categoryName(category.getName())
+                .priorityName(priority.getName())
                 .customerId(savedTicket.getCustomer().getId())
+                .assignedAgentId(savedTicket.getAssignedAgent() != null ? savedTicket.getAssignedAgent().getId() : null)
                 .createdAt(savedTicket.getCreatedAt())
                 .eventType(EventType.TICKET_CREATED.name())
                 .build();
 
         producer.publishTicketCreated(event);
 
-        return ticketMapper.toResponseDTO(savedTicket);
+        TicketResponseDTO responseDTO = ticketMapper.toResponseDTO(savedTicket, category, priority, status);
+        responseDTO.setCommentsCount(0);
+        return responseDTO;
     }
 
     public TicketResponseDTO getTicketById(Long ticketId) {
         log.info("Fetching ticket with ID: {}", ticketId);
 
-        Ticket ticket = ticketRepository.findById(ticketId)
+        Ticket ticket = ticketRepository.findDetailById(ticketId)
                 .orElseThrow(() -> new TicketNotFoundException(ticketId));
 
-        return ticketMapper.toResponseDTO(ticket);
+        return toDetailResponseDTO(ticket);
     }
 
     public Page<TicketSummaryDTO> getAllTickets(Pageable pageable) {
         log.info("Fetching all tickets - Page: {}, Size: {}",
                 pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Ticket> ticketsPage = ticketRepository.findAll(pageable);
-        return ticketsPage.map(ticketMapper::toSummaryDTO);
+        return ticketRepository.findAllSummaries(pageable);
+    }
+
+    public TicketCursorPageDTO getTicketsByCursor(String cursor, int size, Long customerId, Long agentId) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        log.info("Fetching tickets by cursor - Size: {}, customerId: {}, agentId: {}", pageSize, customerId, agentId);
+
+        if (customerId != null && agentId != null) {
+            throw new InvalidTicketOperationException("Filter tickets by customerId or agentId, not both");
+        }
+
+        Pageable limit = PageRequest.of(0, pageSize);
+        Slice<TicketSummaryDTO> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = findFirstSlice(customerId, agentId, limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            slice = findNextSlice(customerId, agentId, LocalDateTime.parse(position[0]), Long.parseLong(position[1]), limit);
+        }
+
+        List<TicketSummaryDTO> tickets = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !tickets.isEmpty()) {
+            TicketSummaryDTO last = tickets.get(tickets.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+
+        return TicketCursorPageDTO.builder()
+                .content(tickets)
+                .size(tickets.size())
+                .hasNext(slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private Slice<TicketSummaryDTO> findFirstSlice(Long customerId, Long agentId, Pageable limit) {
+        if (customerId != null) {
+            return ticketRepository.findFirstCustomerSliceByCreatedAtDesc(customerId, limit);
+        }
+        if (agentId != null) {
+            return ticketRepository.findFirstAgentSliceByCreatedAtDesc(agentId, limit);
+        }
+        return ticketRepository.findFirstSliceByCreatedAtDesc(limit);
+    }
+
+    private Slice<TicketSummaryDTO> findNextSlice(Long customerId, Long agentId, LocalDateTime createdAt, Long id,
+                                                  Pageable limit) {
+        if (customerId != null) {
+            return ticketRepository.findNextCustomerSliceByCreatedAtDesc(customerId, createdAt, id, limit);
+        }
+        if (agentId != null) {
+            return ticketRepository.findNextAgentSliceByCreatedAtDesc(agentId, createdAt, id, limit);
+        }
+        return ticketRepository.findNextSliceByCreatedAtDesc(createdAt, id, limit);
+    }
+
+    private TicketResponseDTO toDetailResponseDTO(Ticket ticket) {
+        TicketResponseDTO responseDTO = ticketMapper.toResponseDTO(ticket);
+        responseDTO.setCommentsCount(commentRepository.countByTicketId(ticket.getId()).intValue());
+        return responseDTO;
+    }
+
+    private String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] position = raw.split("\\|", 2);
+            LocalDateTime.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (RuntimeException e) {
+            throw new InvalidTicketOperationException("Invalid cursor: " + cursor);
+        }
     }
 
     @Transactional
     public TicketResponseDTO updateTicket(Long ticketId, TicketRequestDTO requestDTO) {
         log.info("Updating ticket with ID: {}", ticketId);
 
-        Ticket ticket = ticketRepository.findById(ticketId)
+        Ticket ticket = ticketRepository.findDetailById(ticketId)
                 .orElseThrow(() -> new TicketNotFoundException(ticketId));
 
-        ticket.setTitle(requestDTO.getTitle());
-        ticket.setDescription(requestDTO.getDescription());
+        LookupSnapshot lookups = lookupDataCache.get();
+        Set<String> changedFields = new LinkedHashSet<>();
+        Long previousAgentId = ticket.getAssignedAgent() != null ? ticket.getAssignedAgent().getId() : null;
+        Long previousCustomerId = ticket.getCustomer().getId();
+
+        if (!Objects.equals(ticket.getTitle(), requestDTO.getTitle())) {
+            ticket.setTitle(requestDTO.getTitle());
+            changedFields.add(TicketUpdatedEvent.FIELD_TITLE);
+        }
+
+        if (!Objects.equals(ticket.getDescription(), requestDTO.getDescription())) {
+            ticket.setDescription(requestDTO.getDescription());
+            changedFields.add(TicketUpdatedEvent.FIELD_DESCRIPTION);
+        }
 
         if (!ticket.getCustomer().getId().equals(requestDTO.getCustomerId())) {
             User newCustomer = userRepository.findById(requestDTO.getCustomerId())
@@ -155,36 +273,48 @@ public class TicketService {
             }
 
             ticket.setCustomer(newCustomer);
+            changedFields.add(TicketUpdatedEvent.FIELD_CUSTOMER);
         }
 
-        if (!ticket.getCategory().getId().equals(requestDTO.getCategoryId())) {
-            Category newCategory = categoryRepository.findById(requestDTO.getCategoryId())
+        // The current lookups were fetched with the ticket; the snapshot copy is used when it has one
+        CategoryDTO category = lookups.getCategory(ticket.getCategory().getId())
+                .orElseGet(() -> categoryMapper.toDTO(ticket.getCategory()));
+        PriorityDTO priority = lookups.getPriority(ticket.getPriority().getId())
+                .orElseGet(() -> priorityMapper.toDTO(ticket.getPriority()));
+        StatusDTO status = lookups.getStatus(ticket.getStatus().getId())
+                .orElseGet(() -> statusMapper.toDTO(ticket.getStatus()));
+
+        if (!category.getId().equals(requestDTO.getCategoryId())) {
+            category = lookups.getCategory(requestDTO.getCategoryId())
                     .orElseThrow(() -> new InvalidTicketOperationException(
                             "Category not found with ID: " + requestDTO.getCategoryId()));
 
-            if (!newCategory.getIsActive()) {
+            if (!category.getIsActive()) {
                 throw new InvalidTicketOperationException("Category is not active");
             }
 
-            ticket.setCategory(newCategory);
+            ticket.setCategory(entityManager.getReference(Category.class, category.getId()));
+            changedFields.add(TicketUpdatedEvent.FIELD_CATEGORY);
         }
 
-        if (!ticket.getPriority().getId().equals(requestDTO.getPriorityId())) {
-            Priority newPriority = priorityRepository.findById(requestDTO.getPriorityId())
+        if (!priority.getId().equals(requestDTO.getPriorityId())) {
+            priority = lookups.getPriority(requestDTO.getPriorityId())
                     .orElseThrow(() -> new InvalidTicketOperationException(
                             "Priority not found with ID: " + requestDTO.getPriorityId()));
 
-            ticket.setPriority(newPriority);
+            ticket.setPriority(entityManager.getReference(Priority.class, priority.getId()));
+            changedFields.add(TicketUpdatedEvent.FIELD_PRIORITY);
         }
 
-        if (!ticket.getStatus().getId().equals(requestDTO.getStatusId())) {
-            Status newStatus = statusRepository.findById(requestDTO.getStatusId())
+        if (!status.getId().equals(requestDTO.getStatusId())) {
+            status = lookups.getStatus(requestDTO.getStatusId())
                     .orElseThrow(() -> new InvalidTicketOperationException(
                             "Status not found with ID: " + requestDTO.getStatusId()));
 
-            ticket.setStatus(newStatus);
+            ticket.setStatus(entityManager.getReference(Status.class, status.getId()));
+            changedFields.add(TicketUpdatedEvent.FIELD_STATUS);
 
-            if (newStatus.getIsFinal() && ticket.getResolvedAt() == null) {
+            if (status.getIsFinal() && ticket.getResolvedAt() == null) {
                 ticket.setResolvedAt(LocalDateTime.now());
                 log.info("Ticket {} marked as resolved", ticketId);
             }
@@ -204,26 +334,37 @@ public class TicketService {
                 }
 
                 ticket.setAssignedAgent(newAgent);
+                changedFields.add(TicketUpdatedEvent.FIELD_ASSIGNED_AGENT);
             }
-        } else {
+        } else if (ticket.getAssignedAgent() != null) {
             ticket.setAssignedAgent(null);
+            changedFields.add(TicketUpdatedEvent.FIELD_ASSIGNED_AGENT);
         }
 
         Ticket updatedTicket = ticketRepository.save(ticket);
         log.info("Ticket updated successfully with ID: {}", ticketId);
+        agentWorkloadIndex.syncAfterCommit(updatedTicket, status.getIsFinal(), priority.getLevel());
 
         TicketUpdatedEvent event = TicketUpdatedEvent.builder()
                 .ticketId(updatedTicket.getId())
                 .title(updatedTicket.getTitle())
                 .description(updatedTicket.getDescription())
-                .statusName(updatedTicket.getStatus().getName())
+                .statusName(status.getName())
+                .categoryName(category.getName())
+                .assignedAgentId(updatedTicket.getAssignedAgent() != null ? updatedTicket.getAssignedAgent().getId() : null)
+                .previousAssignedAgentId(previousAgentId)
+                .customerId(updatedTicket.getCustomer().getId())
+                .previousCustomerId(previousCustomerId)
                 .updatedAt(updatedTicket.getUpdatedAt())
                 .eventType(EventType.TICKET_UPDATED.name())
+                .changedFields(changedFields)
                 .build();
 
         producer.publishTicketUpdated(event);
 
-        return ticketMapper.toResponseDTO(updatedTicket);
+        TicketResponseDTO responseDTO = ticketMapper.toResponseDTO(updatedTicket, category, priority, status);
+        responseDTO.setCommentsCount(commentRepository.countByTicketId(updatedTicket.getId()).intValue());
+        return responseDTO;
     }
 
     @Transactional
@@ -234,65 +375,61 @@ public class TicketService {
                 .orElseThrow(() -> new TicketNotFoundException(ticketId));
 
         ticketRepository.delete(ticket);
+        agentWorkloadIndex.releaseAfterCommit(ticketId);
+
+        producer.publishTicketDeleted(TicketDeletedEvent.builder()
+                .ticketId(ticketId)
+                .customerId(ticket.getCustomer().getId())
+                .assignedAgentId(ticket.getAssignedAgent() != null ? ticket.getAssignedAgent().getId() : null)
+                .deletedAt(LocalDateTime.now())
+                .eventType(EventType.TICKET_DELETED.name())
+                .build());
         log.info("Ticket deleted successfully with ID: {}", ticketId);
     }
 
     public Page<TicketSummaryDTO> getTicketsByCustomerId(Long customerId, Pageable pageable) {
         log.info("Fetching tickets for customer ID: {}", customerId);
 
-        User customer = userRepository.findById(customerId)
-                .orElseThrow(() -> new InvalidTicketOperationException(
-                        "Customer not found with ID: " + customerId));
+        if (!userRepository.existsById(customerId)) {
+            throw new InvalidTicketOperationException("Customer not found with ID: " + customerId);
+        }
 
-        Page<Ticket> ticketsPage = ticketRepository.findByCustomer(customer, pageable);
-        return ticketsPage.map(ticketMapper::toSummaryDTO);
+        return ticketRepository.findSummariesByCustomerId(customerId, pageable);
     }
 
     public Page<TicketSummaryDTO> getTicketsByAgentId(Long agentId, Pageable pageable) {
         log.info("Fetching tickets for agent ID: {}", agentId);
 
-        User agent = userRepository.findById(agentId)
-                .orElseThrow(() -> new InvalidTicketOperationException(
-                        "Agent not found with ID: " + agentId));
+        if (!userRepository.existsById(agentId)) {
+            throw new InvalidTicketOperationException("Agent not found with ID: " + agentId);
+        }
 
-        Page<Ticket> ticketsPage = ticketRepository.findByAssignedAgent(agent, pageable);
-        return ticketsPage.map(ticketMapper::toSummaryDTO);
+        return ticketRepository.findSummariesByAgentId(agentId, pageable);
     }
 
     public Page<TicketSummaryDTO> getUnassignedTickets(Pageable pageable) {
         log.info("Fetching unassigned tickets");
 
-        Page<Ticket> ticketsPage = ticketRepository.findUnassignedTickets(pageable);
-        return ticketsPage.map(ticketMapper::toSummaryDTO);
+        return ticketRepository.findUnassignedSummaries(pageable);
     }
 
 
     public Page<TicketSummaryDTO> getTicketsByStatus(String statusName, Pageable pageable) {
         log.info("Fetching tickets with status: {}", statusName);
 
-        Page<Ticket> ticketsPage = ticketRepository.findByStatusName(statusName, pageable);
-        return ticketsPage.map(ticketMapper::toSummaryDTO);
-    }
-
-    public Page<TicketSummaryDTO> searchTickets(String searchTerm, Pageable pageable) {
-        log.info("Searching tickets with term: {}", searchTerm);
-
-        Page<Ticket> ticketsPage = ticketRepository.searchByTitleOrDescription(searchTerm, pageable);
-        return ticketsPage.map(ticketMapper::toSummaryDTO);
+        return ticketRepository.findSummariesByStatusName(statusName, pageable);
     }
 
     public Page<TicketSummaryDTO> getTicketsByPriorityLevel(Integer priorityLevel, Pageable pageable) {
         log.info("Fetching tickets with priority level: {}", priorityLevel);
 
-        Page<Ticket> ticketsPage = ticketRepository.findByPriorityLevel(priorityLevel, pageable);
-        return ticketsPage.map(ticketMapper::toSummaryDTO);
+        return ticketRepository.findSummariesByPriorityLevel(priorityLevel, pageable);
     }
 
     public Page<TicketSummaryDTO> getTicketsByCategoryName(String categoryName, Pageable pageable) {
         log.info("Fetching tickets with category: {}", categoryName);
 
-        Page<Ticket> ticketsPage = ticketRepository.findByCategoryName(categoryName, pageable);
-        return ticketsPage.map(ticketMapper::toSummaryDTO);
+        return ticketRepository.findSummariesByCategoryName(categoryName, pageable);
     }
 
     public Page<TicketSummaryDTO> getTicketsByDateRange(
@@ -301,25 +438,32 @@ public class TicketService {
             Pageable pageable) {
         log.info("Fetching tickets created between {} and {}", startDate, endDate);
 
-        Page<Ticket> ticketsPage = ticketRepository.findByCreatedAtBetween(startDate, endDate, pageable);
-        return ticketsPage.map(ticketMapper::toSummaryDTO);
+        return ticketRepository.findSummariesByCreatedAtBetween(startDate, endDate, pageable);
     }
 
 
 
     @Transactional
-    public void updateTicketWithAIAnalysis(Long ticketId, Double sentimentScore, String suggestedCategoryName) {
+    public void updateTicketWithAIAnalysis(Long ticketId, Double sentimentScore, String suggestedCategoryName,
+                                           LocalDateTime analyzedAt) {
         log.info("Updating ticket {} with AI analysis results", ticketId);
 
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new TicketNotFoundException(ticketId));
 
+        LocalDateTime resultTime = analyzedAt != null ? analyzedAt : LocalDateTime.now();
+        if (ticket.getAiAnalyzedAt() != null && !resultTime.isAfter(ticket.getAiAnalyzedAt())) {
+            log.info("Skipping stale AI analysis for ticket {} analyzed at {}", ticketId, resultTime);
+            return;
+        }
+
         ticket.setAiSentimentScore(sentimentScore);
+        ticket.setAiAnalyzedAt(resultTime);
 
         if(Objects.nonNull(suggestedCategoryName)){
-            Optional<Category> suggestedCategory = categoryRepository.findByNameIgnoreCase(suggestedCategoryName);
+            Optional<CategoryDTO> suggestedCategory = lookupDataCache.get().getCategoryByName(suggestedCategoryName);
             if(suggestedCategory.isPresent()){
-                ticket.setAiSuggestedCategory(suggestedCategory.get());
+                ticket.setAiSuggestedCategory(entityManager.getReference(Category.class, suggestedCategory.get().getId()));
                 log.info("Set AI suggested category: {}", suggestedCategoryName);
             } else{
                 log.warn("AI suggested category '{}' not found in database - ignoring", suggestedCategoryName);
@@ -330,4 +474,24 @@ public class TicketService {
         log.info("Ticket {} updated with AI analysis - Sentiment: {}, Suggested Category: {}",
                 ticket.getTitle(), sentimentScore, suggestedCategoryName);
     }
-}
\ No newline at end of file
+
+    @Transactional
+    public void markPossibleDuplicate(Long ticketId, Long duplicateOfTicketId, Double similarity) {
+        if (Objects.equals(ticketId, duplicateOfTicketId)) {
+            throw new InvalidTicketOperationException("Ticket " + ticketId + " cannot be a duplicate of itself");
+        }
+
+        Ticket ticket = ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new TicketNotFoundException(ticketId));
+
+        if (!ticketRepository.existsById(duplicateOfTicketId)) {
+            log.warn("Ignoring duplicate suggestion for ticket {}: ticket {} no longer exists", ticketId, duplicateOfTicketId);
+            return;
+        }
+
+        ticket.setPossibleDuplicateOfId(duplicateOfTicketId);
+        ticket.setDuplicateSimilarity(similarity);
+        ticketRepository.save(ticket);
+        log.info("Ticket {} flagged as possible duplicate of #{} (similarity {})", ticketId, duplicateOfTicketId, similarity);
+    }
+}
@@ -1,18 +1,33 @@
 package com.monssif.ticket_management_service.service;
 
+import com.monssif.ticket_management_service.assignment.AgentWorkloadIndex;
+import com.monssif.ticket_management_service.cache.LookupDataCache;
+import com.monssif.ticket_management_service.cache.WorkflowStateMachineCache;
+import com.monssif.ticket_management_service.dto.BulkOperationResultDTO;
+import com.monssif.ticket_management_service.dto.BulkTicketResultDTO;
+import com.monssif.ticket_management_service.dto.BulkWorkflowTransitionRequestDTO;
+import com.monssif.ticket_management_service.dto.StatusDTO;
 import com.monssif.ticket_management_service.dto.WorkflowTransitionRequestDTO;
 import com.monssif.ticket_management_service.dto.WorkflowTransitionResponseDTO;
 import com.monssif.ticket_management_service.entity.*;
+import com.monssif.ticket_management_service.enums.EventType;
+import com.monssif.ticket_management_service.events.TicketUpdatedEvent;
 import com.monssif.ticket_management_service.exception.InvalidTicketOperationException;
 import com.monssif.ticket_management_service.exception.TicketNotFoundException;
+import com.monssif.ticket_management_service.messaging.AIAnalysisProducer;
 import com.monssif.ticket_management_service.repository.*;
+import com.monssif.ticket_management_service.workflow.WorkflowStateMachine;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,17 +38,13 @@ public class TicketWorkflowService {
     private final CommentRepository commentRepository;
     private final TicketRepository ticketRepository;
     private final TicketHistoryRepository ticketHistoryRepository;
-    private final StatusRepository statusRepository;
+    private final LookupDataCache lookupDataCache;
     private final UserRepository userRepository;
-
-    private static final Map<String, Set<String>> VALID_TRANSITIONS = Map.of(
-            "OPEN", Set.of("IN_PROGRESS", "WAITING_CUSTOMER", "ON_HOLD", "CLOSED"),
-            "IN_PROGRESS", Set.of("WAITING_CUSTOMER", "ON_HOLD", "RESOLVED", "OPEN"),
-            "WAITING_CUSTOMER", Set.of("IN_PROGRESS", "ON_HOLD", "CLOSED"),
-            "ON_HOLD", Set.of("OPEN", "IN_PROGRESS", "CLOSED"),
-            "RESOLVED", Set.of("CLOSED", "IN_PROGRESS"),
-            "CLOSED", Set.of()
-    );
+    private final AgentWorkloadIndex agentWorkloadIndex;
+    private final WorkflowStateMachineCache workflowStateMachineCache;
+    private final BulkTicketExecutor bulkTicketExecutor;
+    private final AIAnalysisProducer producer;
+    private final EntityManager entityManager;
 
     @Transactional
     public WorkflowTransitionResponseDTO transitionTicketStatus(Long ticketId, WorkflowTransitionRequestDTO requestDTO) {
@@ -42,7 +53,7 @@ public class TicketWorkflowService {
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new TicketNotFoundException(ticketId));
 
-        Status newStatus = statusRepository.findById(requestDTO.getStatusId())
+        StatusDTO newStatus = lookupDataCache.get().getStatus(requestDTO.getStatusId())
                 .orElseThrow(() -> new InvalidTicketOperationException(
                         "Status not found with ID: " + requestDTO.getStatusId()));
 
@@ -50,12 +61,12 @@ public class TicketWorkflowService {
         String oldStatusName = oldStatus.getName();
         String newStatusName = newStatus.getName();
 
-        if (oldStatusName.equals(newStatusName)) {
+        if (oldStatus.getId().equals(newStatus.getId())) {
             throw new InvalidTicketOperationException(
                     String.format("Ticket is already in status: %s", oldStatusName));
         }
 
-        validateTransition(oldStatusName, newStatusName);
+        validateTransition(workflowStateMachineCache.get(), oldStatus, newStatus);
 
         User changedByUser = null;
         if (requestDTO.getChangedByUserId() != null) {
@@ -64,51 +75,23 @@ public class TicketWorkflowService {
                             "User not found with ID: " + requestDTO.getChangedByUserId()));
         }
 
-        ticket.setStatus(newStatus);
-
         LocalDateTime now = LocalDateTime.now();
-
-        if ("RESOLVED".equals(newStatusName) && ticket.getResolvedAt() == null) {
-            ticket.setResolvedAt(now);
-            log.info("Ticket {} marked as resolved at {}", ticketId, now);
-        }
-
-        if ("RESOLVED".equals(oldStatusName) && !"CLOSED".equals(newStatusName)) {
-            ticket.setResolvedAt(null);
-            log.info("Ticket {} reopened, cleared resolvedAt timestamp", ticketId);
-        }
+        applyTransition(ticket, newStatus, now);
 
         Ticket updatedTicket = ticketRepository.save(ticket);
 
-        TicketHistory historyEntry = TicketHistory.builder()
-                .ticket(updatedTicket)
-                .fieldName("status")
-                .oldValue(oldStatusName)
-                .newValue(newStatusName)
-                .changedBy(changedByUser)
-                .build();
+        TicketHistory historyEntry = buildStatusHistory(updatedTicket, oldStatusName, newStatusName, changedByUser);
 
         if (requestDTO.getComment() != null && !requestDTO.getComment().isBlank()) {
-            String systemComment = String.format(
-                    "Status changed from %s to %s: %s",
-                    oldStatusName,
-                    newStatusName,
-                    requestDTO.getComment()
-            );
-
-            Comment transitionComment = Comment.builder()
-                    .content(systemComment)
-                    .isInternal(true)
-                    .ticket(updatedTicket)
-                    .user(changedByUser)
-                    .build();
-
-            commentRepository.save(transitionComment);
+            commentRepository.save(buildTransitionComment(
+                    updatedTicket, oldStatusName, newStatusName, requestDTO.getComment(), changedByUser));
             log.info("Saved transition comment in Comments table for user visibility");
         }
 
         ticketHistoryRepository.save(historyEntry);
         log.info("Created history entry for ticket {} status change", ticketId);
+        agentWorkloadIndex.syncAfterCommit(updatedTicket, newStatus.getIsFinal(), updatedTicket.getPriority().getLevel());
+        publishTicketUpdated(updatedTicket, newStatus);
 
         log.info("Successfully transitioned ticket {} from {} to {}",
                 ticketId, oldStatusName, newStatusName);
@@ -133,44 +116,171 @@ public class TicketWorkflowService {
     }
 
 
-    private void validateTransition(String fromStatus, String toStatus) {
-        Set<String> allowedTransitions = VALID_TRANSITIONS.getOrDefault(fromStatus, Set.of());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkOperationResultDTO bulkTransitionTicketStatus(BulkWorkflowTransitionRequestDTO requestDTO) {
+        log.info("Bulk transitioning {} tickets to status ID {}", requestDTO.getTicketIds().size(), requestDTO.getStatusId());
+
+        StatusDTO newStatus = lookupDataCache.get().getStatus(requestDTO.getStatusId())
+                .orElseThrow(() -> new InvalidTicketOperationException(
+                        "Status not found with ID: " + requestDTO.getStatusId()));
+
+        User changedByUser = requestDTO.getChangedByUserId() != null
+                ? userRepository.findById(requestDTO.getChangedByUserId())
+                        .orElseThrow(() -> new InvalidTicketOperationException(
+                                "User not found with ID: " + requestDTO.getChangedByUserId()))
+                : null;
+
+        WorkflowStateMachine workflow = workflowStateMachineCache.get();
+        BulkOperationResultDTO result = bulkTicketExecutor.execute(requestDTO.getTicketIds(),
+                ticketIds -> transitionChunk(ticketIds, workflow, newStatus, requestDTO.getComment(), changedByUser));
+
+        log.info("Bulk transition to {} finished - transitioned: {}, failed: {}",
+                newStatus.getName(), result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    private List<BulkTicketResultDTO> transitionChunk(List<Long> ticketIds, WorkflowStateMachine workflow, StatusDTO newStatus,
+                                                      String comment, User changedByUser) {
+        Map<Long, Ticket> tickets = ticketRepository.findForBulkUpdateByIds(ticketIds).stream()
+                .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+        String newStatusName = newStatus.getName();
+        boolean withComment = comment != null && !comment.isBlank();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BulkTicketResultDTO> results = new ArrayList<>(ticketIds.size());
+        List<TicketHistory> historyEntries = new ArrayList<>();
+        List<Comment> transitionComments = new ArrayList<>();
+        List<Ticket> transitionedTickets = new ArrayList<>();
+        for (Long ticketId : ticketIds) {
+            Ticket ticket = tickets.get(ticketId);
+            if (ticket == null) {
+                results.add(BulkTicketExecutor.failed(ticketId, "Ticket not found with ID: " + ticketId));
+                continue;
+            }
+
+            Status oldStatus = ticket.getStatus();
+            String oldStatusName = oldStatus.getName();
+            if (oldStatus.getId().equals(newStatus.getId())) {
+                results.add(BulkTicketExecutor.failed(ticketId,
+                        String.format("Ticket is already in status: %s", oldStatusName)));
+                continue;
+            }
+            try {
+                validateTransition(workflow, oldStatus, newStatus);
+            } catch (InvalidTicketOperationException e) {
+                results.add(BulkTicketExecutor.failed(ticketId, e.getMessage()));
+                continue;
+            }
+
+            applyTransition(ticket, newStatus, now);
+            historyEntries.add(buildStatusHistory(ticket, oldStatusName, newStatusName, changedByUser));
+            publishTicketUpdated(ticket, newStatus);
+            if (withComment) {
+                transitionComments.add(buildTransitionComment(ticket, oldStatusName, newStatusName, comment, changedByUser));
+            }
+            transitionedTickets.add(ticket);
+            results.add(BulkTicketExecutor.updated(ticketId, oldStatusName, newStatusName));
+        }
+
+        ticketHistoryRepository.saveAll(historyEntries);
+        commentRepository.saveAll(transitionComments);
+        ticketRepository.flush();
+        transitionedTickets.forEach(ticket ->
+                agentWorkloadIndex.syncAfterCommit(ticket, newStatus.getIsFinal(), ticket.getPriority().getLevel()));
+        return results;
+    }
+
+    private void applyTransition(Ticket ticket, StatusDTO newStatus, LocalDateTime now) {
+        String oldStatusName = ticket.getStatus().getName();
+        String newStatusName = newStatus.getName();
+        ticket.setStatus(entityManager.getReference(Status.class, newStatus.getId()));
+
+        if ("RESOLVED".equals(newStatusName) && ticket.getResolvedAt() == null) {
+            ticket.setResolvedAt(now);
+            log.info("Ticket {} marked as resolved at {}", ticket.getId(), now);
+        }
 
-        if (!allowedTransitions.contains(toStatus)) {
+        if ("RESOLVED".equals(oldStatusName) && !"CLOSED".equals(newStatusName)) {
+            ticket.setResolvedAt(null);
+            log.info("Ticket {} reopened, cleared resolvedAt timestamp", ticket.getId());
+        }
+    }
+
+    private void publishTicketUpdated(Ticket ticket, StatusDTO newStatus) {
+        Long agentId = ticket.getAssignedAgent() != null ? ticket.getAssignedAgent().getId() : null;
+        producer.publishTicketUpdated(TicketUpdatedEvent.builder()
+                .ticketId(ticket.getId())
+                .title(ticket.getTitle())
+                .description(ticket.getDescription())
+                .statusName(newStatus.getName())
+                .categoryName(ticket.getCategory().getName())
+                .assignedAgentId(agentId)
+                .previousAssignedAgentId(agentId)
+                .updatedAt(LocalDateTime.now())
+                .eventType(EventType.TICKET_UPDATED.name())
+                .changedFields(Set.of(TicketUpdatedEvent.FIELD_STATUS))
+                .build());
+    }
+
+    private TicketHistory buildStatusHistory(Ticket ticket, String oldStatusName, String newStatusName, User changedByUser) {
+        return TicketHistory.builder()
+                .ticket(ticket)
+                .fieldName("status")
+                .oldValue(oldStatusName)
+                .newValue(newStatusName)
+                .changedBy(changedByUser)
+                .build();
+    }
+
+    private Comment buildTransitionComment(Ticket ticket, String oldStatusName, String newStatusName,
+                                           String comment, User changedByUser) {
+        String systemComment = String.format(
+                "Status changed from %s to %s: %s",
+                oldStatusName,
+                newStatusName,
+                comment
+        );
+
+        return Comment.builder()
+                .content(systemComment)
+                .isInternal(true)
+                .ticket(ticket)
+                .user(changedByUser)
+                .build();
+    }
+
+    private void validateTransition(WorkflowStateMachine workflow, Status fromStatus, StatusDTO toStatus) {
+        if (!workflow.canTransition(fromStatus.getId(), toStatus.getId())) {
+            List<String> allowedTransitions = workflow.allowedTargetNames(fromStatus.getId());
             throw new InvalidTicketOperationException(
                     String.format("Invalid status transition: Cannot transition from %s to %s. Allowed transitions: %s",
-                            fromStatus, toStatus, allowedTransitions.isEmpty() ? "NONE (terminal state)" : allowedTransitions));
+                            fromStatus.getName(), toStatus.getName(),
+                            allowedTransitions.isEmpty() ? "NONE (terminal state)" : allowedTransitions));
         }
     }
 
     public List<String> getAvailableTransitions(Long ticketId) {
         log.info("Fetching available transitions for ticket {}", ticketId);
 
-        Ticket ticket = ticketRepository.findById(ticketId)
+        Long statusId = ticketRepository.findStatusIdById(ticketId)
                 .orElseThrow(() -> new TicketNotFoundException(ticketId));
 
-        String currentStatus = ticket.getStatus().getName();
-        Set<String> allowedTransitions = VALID_TRANSITIONS.getOrDefault(currentStatus, Set.of());
-
-        return new ArrayList<>(allowedTransitions);
+        return workflowStateMachineCache.get().allowedTargetNames(statusId);
     }
 
     public boolean isTransitionValid(Long ticketId, Long targetStatusId) {
-        Ticket ticket = ticketRepository.findById(ticketId)
+        Long statusId = ticketRepository.findStatusIdById(ticketId)
                 .orElseThrow(() -> new TicketNotFoundException(ticketId));
 
-        Status targetStatus = statusRepository.findById(targetStatusId)
-                .orElseThrow(() -> new InvalidTicketOperationException(
-                        "Status not found with ID: " + targetStatusId));
-
-        String currentStatusName = ticket.getStatus().getName();
-        String targetStatusName = targetStatus.getName();
+        WorkflowStateMachine workflow = workflowStateMachineCache.get();
+        if (!workflow.contains(targetStatusId)) {
+            throw new InvalidTicketOperationException("Status not found with ID: " + targetStatusId);
+        }
 
-        Set<String> allowedTransitions = VALID_TRANSITIONS.getOrDefault(currentStatusName, Set.of());
-        return allowedTransitions.contains(targetStatusName);
+        return workflow.canTransition(statusId, targetStatusId);
     }
 
     public Map<String, Set<String>> getWorkflowDefinition() {
-        return new HashMap<>(VALID_TRANSITIONS);
+        return workflowStateMachineCache.get().toDefinition();
     }
-}
\ No newline at end of file
+}
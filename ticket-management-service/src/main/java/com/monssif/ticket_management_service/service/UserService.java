@@ -1,15 +1,16 @@
 package com.monssif.ticket_management_service.service;
 
+import com.monssif.ticket_management_service.assignment.AgentWorkloadIndex;
+import com.monssif.ticket_management_service.cache.UserStatsCache;
 import com.monssif.ticket_management_service.dto.UserRequestDTO;
 import com.monssif.ticket_management_service.dto.UserResponseDTO;
+import com.monssif.ticket_management_service.dto.UserStatsDTO;
 import com.monssif.ticket_management_service.dto.UserSummaryDTO;
 import com.monssif.ticket_management_service.dto.UserUpdateDTO;
 import com.monssif.ticket_management_service.entity.User;
 import com.monssif.ticket_management_service.enums.UserRole;
 import com.monssif.ticket_management_service.exception.InvalidTicketOperationException;
 import com.monssif.ticket_management_service.mapper.UserMapper;
-import com.monssif.ticket_management_service.repository.CommentRepository;
-import com.monssif.ticket_management_service.repository.TicketRepository;
 import com.monssif.ticket_management_service.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +20,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,8 +30,8 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final TicketRepository ticketRepository;
-    private final CommentRepository commentRepository;
+    private final UserStatsCache userStatsCache;
+    private final AgentWorkloadIndex agentWorkloadIndex;
     private final UserMapper userMapper;
 
     @Transactional
@@ -56,6 +58,7 @@ public class UserService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        agentWorkloadIndex.syncAgent(savedUser);
         log.info("User created successfully with ID: {}", savedUser.getId());
 
         return enrichUserResponse(savedUser);
@@ -78,14 +81,14 @@ public class UserService {
                 pageable.getPageNumber(), pageable.getPageSize());
 
         Page<User> usersPage = userRepository.findAll(pageable);
-        return usersPage.map(userMapper::toSummaryDTO);
+        return withStats(usersPage.map(userMapper::toSummaryDTO));
     }
 
     public Page<UserSummaryDTO> getActiveUsers(Pageable pageable) {
         log.info("Fetching active users");
 
         Page<User> usersPage = userRepository.findAllActive(pageable);
-        return usersPage.map(userMapper::toSummaryDTO);
+        return withStats(usersPage.map(userMapper::toSummaryDTO));
     }
 
     public List<UserSummaryDTO> getUsersByRole(UserRole role) {
@@ -139,6 +142,7 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        agentWorkloadIndex.syncAgent(updatedUser);
         log.info("User updated successfully with ID: {}", userId);
 
         return enrichUserResponse(updatedUser);
@@ -154,6 +158,7 @@ public class UserService {
 
         user.setIsActive(false);
         userRepository.save(user);
+        agentWorkloadIndex.syncAgent(user);
 
         log.info("User deactivated successfully with ID: {}", userId);
     }
@@ -168,6 +173,7 @@ public class UserService {
 
         user.setIsActive(true);
         User activatedUser = userRepository.save(user);
+        agentWorkloadIndex.syncAgent(activatedUser);
 
         log.info("User activated successfully with ID: {}", userId);
 
@@ -197,19 +203,32 @@ public class UserService {
 
     private UserResponseDTO enrichUserResponse(User user) {
         UserResponseDTO dto = userMapper.toResponseDTO(user);
-
-        if (user.isAgent() || user.isAdmin()) {
-            dto.setAssignedTicketsCount(ticketRepository.countByAssignedAgentId(user.getId()));
-        } else {
-            dto.setAssignedTicketsCount(0L);
+        UserStatsDTO stats = userStatsCache.get(user.getId());
+        if (stats == null) {
+            stats = UserStatsDTO.builder().assignedTicketsCount(0L).createdTicketsCount(0L).commentsCount(0L).build();
         }
 
-        Long createdTickets = ticketRepository.findByCustomer(user, Pageable.unpaged()).getTotalElements();
-        dto.setCreatedTicketsCount(createdTickets);
-
-        Long commentsCount = commentRepository.findByUserId(user.getId(), Pageable.unpaged()).getTotalElements();
-        dto.setCommentsCount(commentsCount);
+        dto.setAssignedTicketsCount(user.isAgent() || user.isAdmin() ? stats.getAssignedTicketsCount() : 0L);
+        dto.setCreatedTicketsCount(stats.getCreatedTicketsCount());
+        dto.setCommentsCount(stats.getCommentsCount());
 
         return dto;
     }
-}
\ No newline at end of file
+
+    private Page<UserSummaryDTO> withStats(Page<UserSummaryDTO> users) {
+        Map<Long, UserStatsDTO> stats = userStatsCache.getAll(
+                users.getContent().stream().map(UserSummaryDTO::getId).toList());
+
+        for (UserSummaryDTO user : users.getContent()) {
+            UserStatsDTO userStats = stats.get(user.getId());
+            if (userStats == null) {
+                continue;
+            }
+            boolean handlesTickets = user.getRole() == UserRole.AGENT || user.getRole() == UserRole.ADMIN;
+            user.setAssignedTicketsCount(handlesTickets ? userStats.getAssignedTicketsCount() : 0L);
+            user.setCreatedTicketsCount(userStats.getCreatedTicketsCount());
+            user.setCommentsCount(userStats.getCommentsCount());
+        }
+        return users;
+    }
+}
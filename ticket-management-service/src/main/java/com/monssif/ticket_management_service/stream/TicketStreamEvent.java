@@ -0,0 +1,32 @@
+package com.monssif.ticket_management_service.stream;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TicketStreamEvent {
+    private String type;
+    private Long ticketId;
+    private String title;
+    private String statusName;
+    private String categoryName;
+    private String priorityName;
+    private Long assignedAgentId;
+    private Long previousAssignedAgentId;
+    private Set<String> changedFields;
+    private Double sentimentScore;
+    private String suggestedCategoryName;
+    private Long duplicateOfTicketId;
+    private Double duplicateSimilarity;
+    private LocalDateTime occurredAt;
+}
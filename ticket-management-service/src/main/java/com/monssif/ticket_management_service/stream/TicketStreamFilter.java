@@ -0,0 +1,26 @@
+package com.monssif.ticket_management_service.stream;
+
+import com.monssif.ticket_management_service.events.TicketUpdatedEvent;
+
+/**
+ * What one dashboard subscribes to: an agent's tickets, the unassigned queue, or everything, optionally narrowed to
+ * one category. Events for a ticket that just left the agent or the queue still match, so the client can drop it.
+ */
+public record TicketStreamFilter(Long agentId, boolean unassigned, String categoryName) {
+
+    public boolean matches(TicketStreamEvent event) {
+        // AI results carry no category, so they are not narrowed by it.
+        if (categoryName != null && event.getCategoryName() != null && !categoryName.equalsIgnoreCase(event.getCategoryName())) {
+            return false;
+        }
+        if (agentId != null) {
+            return agentId.equals(event.getAssignedAgentId()) || agentId.equals(event.getPreviousAssignedAgentId());
+        }
+        if (unassigned) {
+            return event.getAssignedAgentId() == null || (event.getPreviousAssignedAgentId() == null
+                    && event.getChangedFields() != null
+                    && event.getChangedFields().contains(TicketUpdatedEvent.FIELD_ASSIGNED_AGENT));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,308 @@
+package com.monssif.ticket_management_service.stream;
+
+import com.monssif.ticket_management_service.exception.InvalidTicketOperationException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fans ticket deltas out to SSE subscribers on this instance. Agent subscribers are indexed by agent ID, so an
+ * event only visits the subscribers of the agents it names plus the queue subscribers.
+ * <p>
+ * Publishing never blocks: each subscriber has a bounded buffer drained by a sender pool, one drain at a time per
+ * subscriber so events stay in order. When a slow client's buffer is full, its pending events are dropped and it
+ * gets a {@code resync} event telling it to reload through the REST API, followed by the newer events.
+ * <p>
+ * Writes to the client are blocking, so a client that stops reading would pin a sender thread. A send that runs
+ * longer than {@code tickets.stream.send-timeout} evicts its subscriber and interrupts the sender; the pool grows by
+ * one thread until the stuck send returns, so stalled clients never take threads away from the others.
+ */
+@Component
+@Slf4j
+public class TicketStreamHub {
+
+    static final String RESYNC_EVENT = "resync";
+
+    private final Map<Long, Set<Subscriber>> agentSubscribers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> queueSubscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong stalledSubscribers = new AtomicLong();
+    private final AtomicInteger stuckSenders = new AtomicInteger();
+
+    private ThreadPoolExecutor sender;
+
+    @Value("${tickets.stream.buffer-size}")
+    private int bufferSize;
+
+    @Value("${tickets.stream.max-subscribers}")
+    private int maxSubscribers;
+
+    @Value("${tickets.stream.sender-threads}")
+    private int senderThreads;
+
+    @Value("${tickets.stream.timeout}")
+    private Duration timeout;
+
+    @Value("${tickets.stream.send-timeout}")
+    private Duration sendTimeout;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "ticket-stream-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    public SseEmitter subscribe(TicketStreamFilter filter) {
+        return subscribe(filter, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(TicketStreamFilter filter, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new InvalidTicketOperationException("Too many ticket stream subscribers, try again later");
+        }
+
+        Subscriber subscriber = new Subscriber(filter, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        if (filter.agentId() != null) {
+            agentSubscribers.compute(filter.agentId(), (id, subscribers) -> {
+                Set<Subscriber> updated = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+                updated.add(subscriber);
+                return updated;
+            });
+        } else {
+            queueSubscribers.add(subscriber);
+        }
+
+        // An initial comment makes proxies flush the response headers right away.
+        subscriber.heartbeatDue.set(true);
+        schedule(subscriber);
+        log.info("Ticket stream subscriber added ({}), {} active", filter, subscriberCount.get());
+        return emitter;
+    }
+
+    public void publish(TicketStreamEvent event) {
+        Delivery delivery = new Delivery(sequence.incrementAndGet(), event);
+        Long agentId = event.getAssignedAgentId();
+        Long previousAgentId = event.getPreviousAssignedAgentId();
+
+        if (agentId != null) {
+            deliver(agentSubscribers.get(agentId), delivery);
+        }
+        if (previousAgentId != null && !previousAgentId.equals(agentId)) {
+            deliver(agentSubscribers.get(previousAgentId), delivery);
+        }
+        deliver(queueSubscribers, delivery);
+    }
+
+    @Scheduled(fixedDelayString = "${tickets.stream.heartbeat-interval-ms}")
+    public void sendHeartbeats() {
+        queueSubscribers.forEach(this::heartbeat);
+        agentSubscribers.values().forEach(subscribers -> subscribers.forEach(this::heartbeat));
+    }
+
+    @Scheduled(fixedDelayString = "${tickets.stream.stall-check-interval-ms}")
+    public void evictStalledSubscribers() {
+        long now = System.nanoTime();
+        queueSubscribers.forEach(subscriber -> evictIfStalled(subscriber, now));
+        agentSubscribers.values().forEach(subscribers -> subscribers.forEach(subscriber -> evictIfStalled(subscriber, now)));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    public long getStalledSubscribers() {
+        return stalledSubscribers.get();
+    }
+
+    private void deliver(Set<Subscriber> subscribers, Delivery delivery) {
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.filter.matches(delivery.event())) {
+                continue;
+            }
+            if (!subscriber.buffer.offer(delivery)) {
+                int dropped = subscriber.buffer.size();
+                subscriber.buffer.clear();
+                subscriber.resyncDue.set(true);
+                subscriber.buffer.offer(delivery);
+                droppedEvents.addAndGet(dropped);
+                log.debug("Ticket stream subscriber {} fell behind, dropped {} events", subscriber.filter, dropped);
+            }
+            schedule(subscriber);
+        }
+    }
+
+    private void heartbeat(Subscriber subscriber) {
+        subscriber.heartbeatDue.set(true);
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.closed.get() && subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        Thread current = Thread.currentThread();
+        subscriber.sendingThread.set(current);
+        try {
+            if (subscriber.heartbeatDue.getAndSet(false)) {
+                send(subscriber, SseEmitter.event().comment("heartbeat"));
+            }
+            while (!subscriber.closed.get()) {
+                if (subscriber.resyncDue.getAndSet(false)) {
+                    send(subscriber, SseEmitter.event().name(RESYNC_EVENT).data("{}", MediaType.APPLICATION_JSON));
+                }
+                Delivery delivery = subscriber.buffer.poll();
+                if (delivery == null) {
+                    break;
+                }
+                send(subscriber, SseEmitter.event()
+                        .id(Long.toString(delivery.id()))
+                        .name(delivery.event().getType())
+                        .data(delivery.event(), MediaType.APPLICATION_JSON));
+            }
+        } catch (Exception e) {
+            log.debug("Ticket stream subscriber {} disconnected: {}", subscriber.filter, e.getMessage());
+            if (remove(subscriber)) {
+                subscriber.emitter.completeWithError(e);
+            }
+        } finally {
+            // Losing this race means evictIfStalled already gave up on this thread and added a replacement
+            synchronized (subscriber) {
+                if (!subscriber.sendingThread.compareAndSet(current, null)) {
+                    Thread.interrupted();
+                    resizeSender(-1);
+                }
+            }
+            subscriber.draining.set(false);
+        }
+
+        if (!subscriber.buffer.isEmpty() || subscriber.resyncDue.get() || subscriber.heartbeatDue.get()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws Exception {
+        subscriber.sendStartedAt = System.nanoTime();
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            subscriber.sendStartedAt = 0L;
+        }
+    }
+
+    private void evictIfStalled(Subscriber subscriber, long now) {
+        long startedAt = subscriber.sendStartedAt;
+        if (startedAt == 0L || now - startedAt < sendTimeout.toNanos()) {
+            return;
+        }
+        synchronized (subscriber) {
+            Thread thread = subscriber.sendingThread.getAndSet(null);
+            if (thread == null) {
+                return;
+            }
+            resizeSender(1);
+            thread.interrupt();
+        }
+        stalledSubscribers.incrementAndGet();
+        log.debug("Ticket stream subscriber {} stalled for over {}, evicting", subscriber.filter, sendTimeout);
+        remove(subscriber);
+        subscriber.emitter.completeWithError(new TimeoutException("Ticket stream client stopped reading"));
+    }
+
+    private synchronized void resizeSender(int delta) {
+        int size = senderThreads + stuckSenders.addAndGet(delta);
+        if (delta > 0) {
+            sender.setMaximumPoolSize(size);
+            sender.setCorePoolSize(size);
+        } else {
+            sender.setCorePoolSize(size);
+            sender.setMaximumPoolSize(size);
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        Long agentId = subscriber.filter.agentId();
+        if (agentId != null) {
+            agentSubscribers.computeIfPresent(agentId, (id, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        } else {
+            queueSubscribers.remove(subscriber);
+        }
+        subscriber.buffer.clear();
+        subscriberCount.decrementAndGet();
+        return true;
+    }
+
+    private static final class Subscriber {
+
+        private final TicketStreamFilter filter;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Delivery> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean resyncDue = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicReference<Thread> sendingThread = new AtomicReference<>();
+        private volatile long sendStartedAt;
+
+        private Subscriber(TicketStreamFilter filter, SseEmitter emitter, BlockingQueue<Delivery> buffer) {
+            this.filter = filter;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+
+    private record Delivery(long id, TicketStreamEvent event) {
+    }
+}
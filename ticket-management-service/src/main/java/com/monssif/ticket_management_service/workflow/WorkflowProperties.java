@@ -0,0 +1,36 @@
+package com.monssif.ticket_management_service.workflow;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Workflow definition from {@code workflow.transitions}: for each status name, the status names it may move to.
+ * Statuses without an entry are terminal.
+ */
+@Component
+@ConfigurationProperties(prefix = "workflow")
+@Data
+public class WorkflowProperties {
+
+    private List<Transition> transitions = new ArrayList<>();
+
+    public Map<String, List<String>> asMap() {
+        Map<String, List<String>> definition = new LinkedHashMap<>();
+        for (Transition transition : transitions) {
+            definition.computeIfAbsent(transition.getFrom(), from -> new ArrayList<>()).addAll(transition.getTo());
+        }
+        return definition;
+    }
+
+    @Data
+    public static class Transition {
+        private String from;
+        private List<String> to = new ArrayList<>();
+    }
+}
@@ -0,0 +1,102 @@
+package com.monssif.ticket_management_service.workflow;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable workflow compiled against the statuses in the database. Each status gets a slot (its position among
+ * the sorted status IDs) and the allowed targets of a status are a {@code long} bitmask over those slots, so a
+ * transition check is a binary search per ID and one bit test.
+ */
+@Slf4j
+public final class WorkflowStateMachine {
+
+    private final long[] statusIds;
+    private final String[] statusNames;
+    private final long[] allowedTargets;
+
+    private WorkflowStateMachine(long[] statusIds, String[] statusNames, long[] allowedTargets) {
+        this.statusIds = statusIds;
+        this.statusNames = statusNames;
+        this.allowedTargets = allowedTargets;
+    }
+
+    public static WorkflowStateMachine compile(Map<Long, String> statusNamesById, Map<String, ? extends Collection<String>> transitions) {
+        if (statusNamesById.size() > Long.SIZE) {
+            throw new IllegalStateException(
+                    String.format("Workflow supports at most %d statuses, found %d", Long.SIZE, statusNamesById.size()));
+        }
+
+        long[] statusIds = statusNamesById.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        String[] statusNames = new String[statusIds.length];
+        Map<String, Integer> slotsByName = new LinkedHashMap<>();
+        for (int slot = 0; slot < statusIds.length; slot++) {
+            statusNames[slot] = statusNamesById.get(statusIds[slot]);
+            slotsByName.put(statusNames[slot], slot);
+        }
+
+        long[] allowedTargets = new long[statusIds.length];
+        transitions.forEach((from, targets) -> {
+            Integer fromSlot = slotsByName.get(from);
+            if (fromSlot == null) {
+                log.warn("Workflow transitions defined for unknown status {}", from);
+                return;
+            }
+            for (String target : targets) {
+                Integer targetSlot = slotsByName.get(target);
+                if (targetSlot == null) {
+                    log.warn("Workflow transition {} -> {} targets an unknown status", from, target);
+                    continue;
+                }
+                allowedTargets[fromSlot] |= 1L << targetSlot;
+            }
+        });
+
+        return new WorkflowStateMachine(statusIds, statusNames, allowedTargets);
+    }
+
+    public boolean contains(long statusId) {
+        return slot(statusId) >= 0;
+    }
+
+    public boolean canTransition(long fromStatusId, long toStatusId) {
+        int from = slot(fromStatusId);
+        int to = slot(toStatusId);
+        return from >= 0 && to >= 0 && (allowedTargets[from] & (1L << to)) != 0;
+    }
+
+    public List<String> allowedTargetNames(long fromStatusId) {
+        int from = slot(fromStatusId);
+        return from >= 0 ? names(allowedTargets[from]) : List.of();
+    }
+
+    public Map<String, Set<String>> toDefinition() {
+        Map<String, Set<String>> definition = new LinkedHashMap<>();
+        for (int slot = 0; slot < statusIds.length; slot++) {
+            definition.put(statusNames[slot], Collections.unmodifiableSet(new LinkedHashSet<>(names(allowedTargets[slot]))));
+        }
+        return definition;
+    }
+
+    private List<String> names(long mask) {
+        List<String> names = new ArrayList<>(Long.bitCount(mask));
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            names.add(statusNames[Long.numberOfTrailingZeros(remaining)]);
+        }
+        return names;
+    }
+
+    private int slot(long statusId) {
+        int slot = Arrays.binarySearch(statusIds, statusId);
+        return slot >= 0 ? slot : -1;
+    }
+}
@@ -0,0 +1,11 @@
+-- Run once before deploying pooled-lo id generation (allocationSize = 50).
+-- Hibernate validates that each sequence increment matches the entity allocationSize at startup.
+-- With pooled-lo the sequence value is the low end of a block, so ids already issued stay below it.
+-- outbox_event_sequence stays at INCREMENT BY 1: the relay publishes in id order, which must follow
+-- insert order across instances, and per-instance id blocks would break that.
+
+ALTER SEQUENCE ticket_sequence INCREMENT BY 50;
+
+ALTER SEQUENCE comment_sequence INCREMENT BY 50;
+
+ALTER SEQUENCE ticket_history_sequence INCREMENT BY 50;
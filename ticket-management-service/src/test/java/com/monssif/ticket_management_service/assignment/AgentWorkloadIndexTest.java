@@ -0,0 +1,190 @@
+package com.monssif.ticket_management_service.assignment;
+
+import com.monssif.ticket_management_service.entity.Priority;
+import com.monssif.ticket_management_service.entity.Status;
+import com.monssif.ticket_management_service.entity.Ticket;
+import com.monssif.ticket_management_service.entity.User;
+import com.monssif.ticket_management_service.enums.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AgentWorkloadIndexTest {
+
+    private static final int AGENTS = 50;
+    private static final int THREADS = 8;
+    private static final int ASSIGNMENTS_PER_THREAD = 25_000;
+
+    private AgentWorkloadIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AgentWorkloadIndex();
+        List<AgentProfile> agents = new ArrayList<>();
+        for (long agentId = 1; agentId <= AGENTS; agentId++) {
+            agents.add(new AgentProfile(agentId, "Agent " + agentId, Map.of()));
+        }
+        index.rebuild(agents, List.of());
+    }
+
+    @Test
+    void picksLeastLoadedAgentWeightedByPriority() {
+        index.rebuild(List.of(
+                new AgentProfile(1L, "Alice", Map.of()),
+                new AgentProfile(2L, "Bob", Map.of())), List.of(new OpenAssignment(100L, 1L, 3)));
+
+        assertThat(index.reserve(200L, "Billing", 1)).contains(2L);
+        assertThat(index.reserve(201L, "Billing", 1)).contains(2L);
+        assertThat(index.reserve(202L, "Billing", 1)).contains(2L);
+        assertThat(index.reserve(203L, "Billing", 1)).contains(1L);
+
+        index.release(100L);
+        assertThat(index.snapshot()).extracting(AgentWorkload::getWeightedLoad).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void prefersSkilledAgentForCategory() {
+        index.rebuild(List.of(
+                new AgentProfile(1L, "Generalist", Map.of()),
+                new AgentProfile(2L, "Billing expert", Map.of("Billing", 3.0))),
+                List.of(new OpenAssignment(100L, 2L, 1)));
+
+        assertThat(index.reserve(200L, "Billing", 1)).contains(2L);
+        assertThat(index.reserve(201L, "Technical", 1)).contains(1L);
+    }
+
+    @Test
+    void movesTicketBetweenAgentsIdempotently() {
+        index.track(1L, 1L, 2);
+        index.track(1L, 1L, 2);
+        index.track(1L, 2L, 2);
+        index.track(1L, null, null);
+
+        assertThat(index.snapshot()).allSatisfy(workload -> {
+            assertThat(workload.getWeightedLoad()).isZero();
+            assertThat(workload.getOpenTickets()).isZero();
+        });
+    }
+
+    @Test
+    void appliesTicketChangesOnlyWhenTheTransactionCommits() {
+        TransactionTemplate transactions = new TransactionTemplate(new StubTransactionManager());
+
+        transactions.executeWithoutResult(status -> {
+            index.syncAfterCommit(ticket(1L, 7L));
+            assertThat(index.agentOf(1L)).isEmpty();
+            status.setRollbackOnly();
+        });
+        assertThat(index.agentOf(1L)).isEmpty();
+
+        transactions.executeWithoutResult(status -> index.syncAfterCommit(ticket(1L, 7L)));
+        assertThat(index.agentOf(1L)).contains(7L);
+
+        transactions.executeWithoutResult(status -> {
+            index.releaseAfterCommit(1L);
+            status.setRollbackOnly();
+        });
+        assertThat(index.agentOf(1L)).contains(7L);
+
+        transactions.executeWithoutResult(status -> index.releaseAfterCommit(1L));
+        assertThat(index.agentOf(1L)).isEmpty();
+    }
+
+    @Test
+    void balancesConcurrentAssignments() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        AtomicLong nextTicketId = new AtomicLong();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < ASSIGNMENTS_PER_THREAD; i++) {
+                        long ticketId = nextTicketId.incrementAndGet();
+                        index.reserve(ticketId, "General", 1 + (int) (ticketId % 3));
+                        if (ticketId % 4 == 0) {
+                            index.release(ticketId - 1);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        List<AgentWorkload> workloads = index.snapshot();
+        long total = workloads.stream().mapToLong(AgentWorkload::getWeightedLoad).sum();
+        long min = workloads.get(0).getWeightedLoad();
+        long max = workloads.get(workloads.size() - 1).getWeightedLoad();
+
+        assertThat(total).isPositive();
+        assertThat(max - min).isLessThanOrEqualTo(3L * THREADS);
+    }
+
+    @Test
+    void reactivatedAgentStartsFromTheTicketsHeldAgainstIt() {
+        User agent = User.builder().id(1L).fullName("Agent 1").role(UserRole.AGENT).isActive(true).build();
+        index.track(10L, 1L, 2);
+
+        agent.setIsActive(false);
+        index.syncAgent(agent);
+        assertThat(index.agentOf(10L)).isEmpty();
+
+        // A reservation that picked the agent just before it was removed
+        index.track(11L, 1L, 2);
+        agent.setIsActive(true);
+        index.syncAgent(agent);
+        index.track(11L, 2L, 2);
+
+        assertThat(index.snapshot())
+                .filteredOn(workload -> workload.getAgentId() <= 2L)
+                .extracting(AgentWorkload::getAgentId, AgentWorkload::getOpenTickets, AgentWorkload::getWeightedLoad)
+                .containsExactly(tuple(1L, 0, 0L), tuple(2L, 1, 2L));
+    }
+
+    private static Ticket ticket(Long ticketId, Long agentId) {
+        return Ticket.builder()
+                .id(ticketId)
+                .assignedAgent(User.builder().id(agentId).build())
+                .status(Status.builder().name("OPEN").build())
+                .priority(Priority.builder().level(2).build())
+                .build();
+    }
+
+    // Drives transaction synchronization without a database.
+    private static final class StubTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
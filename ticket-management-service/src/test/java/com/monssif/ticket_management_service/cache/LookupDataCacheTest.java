@@ -0,0 +1,164 @@
+package com.monssif.ticket_management_service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monssif.ticket_management_service.dto.CategoryDTO;
+import com.monssif.ticket_management_service.dto.LookupDataSummaryDTO;
+import com.monssif.ticket_management_service.dto.PriorityDTO;
+import com.monssif.ticket_management_service.dto.StatusDTO;
+import com.monssif.ticket_management_service.entity.Category;
+import com.monssif.ticket_management_service.entity.Priority;
+import com.monssif.ticket_management_service.entity.Status;
+import com.monssif.ticket_management_service.mapper.CategoryMapperImpl;
+import com.monssif.ticket_management_service.mapper.PriorityMapperImpl;
+import com.monssif.ticket_management_service.mapper.StatusMapperImpl;
+import com.monssif.ticket_management_service.repository.CategoryRepository;
+import com.monssif.ticket_management_service.repository.PriorityRepository;
+import com.monssif.ticket_management_service.repository.StatusRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class LookupDataCacheTest {
+
+    private static final String REDIS_KEY = "lookup:snapshot";
+    private static final String CHANNEL = "lookup.invalidate";
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final PriorityRepository priorityRepository = mock(PriorityRepository.class);
+    private final StatusRepository statusRepository = mock(StatusRepository.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> redisValues = mock(ValueOperations.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private LookupDataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(redisValues);
+        when(categoryRepository.findAll()).thenReturn(List.of(Category.builder().id(1L).name("Billing").isActive(true).build()));
+        when(priorityRepository.findAllOrderedByLevel()).thenReturn(List.of(Priority.builder().id(2L).name("HIGH").level(3).build()));
+        when(statusRepository.findAll()).thenReturn(List.of(Status.builder().id(3L).name("OPEN").isFinal(false).build()));
+
+        cache = new LookupDataCache(categoryRepository, priorityRepository, statusRepository,
+                new CategoryMapperImpl(), new PriorityMapperImpl(), new StatusMapperImpl(), redisTemplate, objectMapper);
+        ReflectionTestUtils.setField(cache, "ttl", TTL);
+        ReflectionTestUtils.setField(cache, "redisKey", REDIS_KEY);
+        ReflectionTestUtils.setField(cache, "invalidationChannel", CHANNEL);
+    }
+
+    @Test
+    void redisSnapshotIsUsedWithoutQueryingTheDatabase() throws Exception {
+        when(redisValues.get(REDIS_KEY)).thenReturn(redisJson("Shared"));
+
+        LookupSnapshot snapshot = cache.get();
+
+        assertThat(snapshot.getCategory(1L)).map(CategoryDTO::getName).hasValue("Shared");
+        verifyNoInteractions(categoryRepository, priorityRepository, statusRepository);
+    }
+
+    @Test
+    void redisMissLoadsTheDatabaseAndSharesTheSnapshotThroughRedis() throws Exception {
+        LookupSnapshot snapshot = cache.get();
+
+        assertThat(snapshot.getCategory(1L)).map(CategoryDTO::getName).hasValue("Billing");
+        assertThat(snapshot.getPriority(2L)).map(PriorityDTO::getLevel).hasValue(3);
+        assertThat(snapshot.getStatus(3L)).map(StatusDTO::getName).hasValue("OPEN");
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(redisValues).set(eq(REDIS_KEY), json.capture(), eq(TTL));
+        LookupDataSummaryDTO shared = objectMapper.readValue(json.getValue(), LookupDataSummaryDTO.class);
+        assertThat(shared.getCategories()).extracting(CategoryDTO::getName).containsExactly("Billing");
+        assertThat(shared.getTotalStatuses()).isEqualTo(1);
+    }
+
+    @Test
+    void loadedSnapshotIsServedFromHeapUntilItExpires() {
+        LookupSnapshot first = cache.get();
+        assertThat(cache.get()).isSameAs(first);
+        verify(redisValues, times(1)).get(REDIS_KEY);
+        verify(categoryRepository, times(1)).findAll();
+
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ZERO);
+        assertThat(cache.get()).isNotSameAs(first);
+        verify(redisValues, times(2)).get(REDIS_KEY);
+    }
+
+    @Test
+    void unreachableRedisFallsBackToTheDatabase() {
+        when(redisValues.get(REDIS_KEY)).thenThrow(new RedisConnectionFailureException("connection refused"));
+        doThrow(new RedisConnectionFailureException("connection refused"))
+                .when(redisValues).set(anyString(), anyString(), any(Duration.class));
+
+        assertThat(cache.get().getCategory(1L)).map(CategoryDTO::getName).hasValue("Billing");
+        verify(categoryRepository).findAll();
+    }
+
+    @Test
+    void invalidationMessageDropsTheLocalSnapshot() throws Exception {
+        LookupSnapshot first = cache.get();
+        when(redisValues.get(REDIS_KEY)).thenReturn(redisJson("Renamed"));
+
+        // Published by another instance's evictAll
+        cache.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                REDIS_KEY.getBytes(StandardCharsets.UTF_8)), null);
+
+        LookupSnapshot reloaded = cache.get();
+        assertThat(reloaded).isNotSameAs(first);
+        assertThat(reloaded.getCategory(1L)).map(CategoryDTO::getName).hasValue("Renamed");
+        verify(categoryRepository, times(1)).findAll();
+    }
+
+    @Test
+    void evictAllDeletesTheSharedCopyBroadcastsAndReloads() {
+        LookupSnapshot first = cache.get();
+
+        cache.evictAll();
+
+        verify(redisTemplate).delete(REDIS_KEY);
+        verify(redisTemplate).convertAndSend(CHANNEL, REDIS_KEY);
+        assertThat(cache.get()).isNotSameAs(first);
+        verify(categoryRepository, times(2)).findAll();
+    }
+
+    @Test
+    void evictAllDropsTheLocalSnapshotEvenWhenRedisIsDown() {
+        LookupSnapshot first = cache.get();
+        when(redisTemplate.delete(REDIS_KEY)).thenThrow(new RedisConnectionFailureException("connection refused"));
+
+        cache.evictAll();
+
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+        assertThat(cache.get()).isNotSameAs(first);
+    }
+
+    private String redisJson(String categoryName) throws Exception {
+        return objectMapper.writeValueAsString(LookupDataSummaryDTO.builder()
+                .categories(List.of(CategoryDTO.builder().id(1L).name(categoryName).isActive(true).build()))
+                .priorities(List.of(PriorityDTO.builder().id(2L).name("HIGH").level(3).build()))
+                .statuses(List.of(StatusDTO.builder().id(3L).name("OPEN").isFinal(false).build()))
+                .build());
+    }
+}
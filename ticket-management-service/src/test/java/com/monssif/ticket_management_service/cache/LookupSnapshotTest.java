@@ -0,0 +1,64 @@
+package com.monssif.ticket_management_service.cache;
+
+import com.monssif.ticket_management_service.dto.CategoryDTO;
+import com.monssif.ticket_management_service.dto.LookupDataSummaryDTO;
+import com.monssif.ticket_management_service.dto.PriorityDTO;
+import com.monssif.ticket_management_service.dto.StatusDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LookupSnapshotTest {
+
+    private final LookupSnapshot snapshot = LookupSnapshot.of(LookupDataSummaryDTO.builder()
+            .categories(List.of(
+                    CategoryDTO.builder().id(1L).name("Billing").isActive(true).ticketCount(12L).build(),
+                    CategoryDTO.builder().id(2L).name("Hardware").isActive(false).build()))
+            .priorities(List.of(PriorityDTO.builder().id(3L).name("HIGH").level(3).ticketCount(4L).build()))
+            .statuses(List.of(StatusDTO.builder().id(4L).name("OPEN").isFinal(false).build()))
+            .build());
+
+    @Test
+    void looksUpByIdAndByTrimmedCaseInsensitiveName() {
+        assertThat(snapshot.getCategory(2L)).map(CategoryDTO::getName).hasValue("Hardware");
+        assertThat(snapshot.getPriority(3L)).map(PriorityDTO::getLevel).hasValue(3);
+        assertThat(snapshot.getStatus(4L)).map(StatusDTO::getIsFinal).hasValue(false);
+        assertThat(snapshot.getCategoryByName("  billing ")).map(CategoryDTO::getId).hasValue(1L);
+        assertThat(snapshot.getCategory(99L)).isEmpty();
+        assertThat(snapshot.getCategoryByName("Network")).isEmpty();
+        assertThat(snapshot.getCategoryByName(null)).isEmpty();
+    }
+
+    @Test
+    void dropsTicketCountsAndHandsOutCopies() {
+        CategoryDTO category = snapshot.getCategory(1L).orElseThrow();
+        assertThat(category.getTicketCount()).isNull();
+        assertThat(snapshot.getPriority(3L).orElseThrow().getTicketCount()).isNull();
+
+        category.setName("Changed");
+        snapshot.getCategories().get(0).setIsActive(false);
+
+        assertThat(snapshot.getCategory(1L).orElseThrow())
+                .extracting(CategoryDTO::getName, CategoryDTO::getIsActive)
+                .containsExactly("Billing", true);
+    }
+
+    @Test
+    void summaryCarriesTotalsForTheRedisCopy() {
+        LookupDataSummaryDTO summary = snapshot.toSummary();
+
+        assertThat(summary.getCategories()).extracting(CategoryDTO::getName).containsExactly("Billing", "Hardware");
+        assertThat(summary.getTotalCategories()).isEqualTo(2);
+        assertThat(summary.getTotalPriorities()).isEqualTo(1);
+        assertThat(summary.getTotalStatuses()).isEqualTo(1);
+    }
+
+    @Test
+    void expiresOnceTheTtlHasPassed() {
+        assertThat(snapshot.isExpired(Duration.ofMinutes(10))).isFalse();
+        assertThat(snapshot.isExpired(Duration.ofMillis(-1))).isTrue();
+    }
+}
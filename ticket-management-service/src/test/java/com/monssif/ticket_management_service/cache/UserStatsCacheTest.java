@@ -0,0 +1,80 @@
+package com.monssif.ticket_management_service.cache;
+
+import com.monssif.ticket_management_service.dto.UserStatsDTO;
+import com.monssif.ticket_management_service.events.TicketUpdatedEvent;
+import com.monssif.ticket_management_service.messaging.UserStatsConsumer;
+import com.monssif.ticket_management_service.repository.UserRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserStatsCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AtomicLong storedComments = new AtomicLong(5);
+    private final UserStatsCache cache = new UserStatsCache(userRepository);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(cache, "maxEntries", 1_000);
+        when(userRepository.findStatsByUserIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> userIds = invocation.getArgument(0);
+            return userIds.stream().map(this::stats).toList();
+        });
+    }
+
+    @Test
+    void loadThatRacesWithAnEventIsNotCached() {
+        when(userRepository.findStatsByUserIds(List.of(1L))).thenAnswer(invocation -> {
+            // The query's snapshot predates a comment whose event is consumed before the query returns
+            UserStatsDTO loaded = stats(1L);
+            storedComments.incrementAndGet();
+            cache.evict(1L);
+            return List.of(loaded);
+        }).thenAnswer(invocation -> List.of(stats(1L)));
+
+        assertThat(cache.get(1L).getCommentsCount()).isEqualTo(5);
+        assertThat(cache.get(1L).getCommentsCount()).isEqualTo(6);
+        assertThat(cache.get(1L).getCommentsCount()).isEqualTo(6);
+    }
+
+    @Test
+    void reassignmentEvictsOnlyTheOldAndNewAgent() {
+        cache.getAll(List.of(1L, 2L, 3L));
+
+        new UserStatsConsumer(cache).consumeEvent(new ConsumerRecord<>("ticket-updated", 0, 0L, "10",
+                TicketUpdatedEvent.builder()
+                        .ticketId(10L)
+                        .assignedAgentId(2L)
+                        .previousAssignedAgentId(1L)
+                        .changedFields(Set.of(TicketUpdatedEvent.FIELD_ASSIGNED_AGENT))
+                        .build()));
+        cache.getAll(List.of(1L, 2L, 3L));
+
+        verify(userRepository).findStatsByUserIds(List.of(1L, 2L, 3L));
+        verify(userRepository).findStatsByUserIds(List.of(1L, 2L));
+    }
+
+    private UserStatsDTO stats(Long userId) {
+        return UserStatsDTO.builder()
+                .userId(userId)
+                .assignedTicketsCount(0L)
+                .createdTicketsCount(0L)
+                .commentsCount(storedComments.get())
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.monssif.ticket_management_service.load;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares two running instances of the service: one started normally (platform threads) and one started with
+ * the virtual-threads profile on Java 21. Skipped unless both URLs are given, e.g.
+ * <pre>
+ * mvn test -Dtest=ThreadingModeLoadTest \
+ *     -Dloadtest.platform-url=http://localhost:8080/api/v1 \
+ *     -Dloadtest.virtual-url=http://localhost:8090/api/v1 \
+ *     -Dloadtest.token=$ACCESS_TOKEN
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "loadtest.virtual-url", matches = ".+")
+@EnabledIfSystemProperty(named = "loadtest.platform-url", matches = ".+")
+class ThreadingModeLoadTest {
+
+    private static final List<String> PATHS = List.of(
+            "/tickets?page=0&size=20",
+            "/tickets/unassigned?page=0&size=20",
+            "/tickets/cursor?size=20",
+            "/lookup/all");
+
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 400);
+    private final int requests = Integer.getInteger("loadtest.requests", 20_000);
+    private final int warmupRequests = Integer.getInteger("loadtest.warmup-requests", 2_000);
+    private final String token = System.getProperty("loadtest.token", "");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void compareThroughputAndTailLatency() throws Exception {
+        Result platform = run(System.getProperty("loadtest.platform-url"));
+        Result virtual = run(System.getProperty("loadtest.virtual-url"));
+
+        System.out.printf("platform threads: %.0f req/s, p50 %.1f ms, p99 %.1f ms, errors %d%n",
+                platform.throughput, platform.p50Millis, platform.p99Millis, platform.errors);
+        System.out.printf("virtual threads:  %.0f req/s, p50 %.1f ms, p99 %.1f ms, errors %d%n",
+                virtual.throughput, virtual.p50Millis, virtual.p99Millis, virtual.errors);
+
+        assertThat(platform.errors).isLessThan(requests / 100);
+        assertThat(virtual.errors).isLessThan(requests / 100);
+    }
+
+    private Result run(String baseUrl) throws Exception {
+        execute(baseUrl, warmupRequests);
+        return execute(baseUrl, requests);
+    }
+
+    private Result execute(String baseUrl, int count) throws Exception {
+        long[] latencies = new long[count];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>(concurrency);
+            for (int worker = 0; worker < concurrency; worker++) {
+                workers.add(executor.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < count) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + PATHS.get(i % PATHS.size())))
+                                .header("Authorization", "Bearer " + token)
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(
+                count / (elapsed / 1e9),
+                latencies[count / 2] / 1e6,
+                latencies[(int) Math.ceil(count * 0.99) - 1] / 1e6,
+                errors.get());
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, int errors) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.monssif.ticket_management_service.messaging;
+
+import com.monssif.ticket_management_service.entity.OutboxEvent;
+import com.monssif.ticket_management_service.events.TicketCreatedEvent;
+import com.monssif.ticket_management_service.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Outbox rows must commit or roll back with the change they describe, so queueing outside a transaction is refused.
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "kafka.topics.ticket-created=ticket-created",
+        "kafka.topics.ticket-updated=ticket-updated",
+        "kafka.topics.ticket-deleted=ticket-deleted",
+        "kafka.topics.comment-created=comment-created"
+})
+@Import(AIAnalysisProducer.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AIAnalysisProducerTest {
+
+    @Autowired
+    private AIAnalysisProducer producer;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void publishingOutsideATransactionIsRefused() {
+        assertThatThrownBy(() -> producer.publishTicketCreated(event()))
+                .isInstanceOf(IllegalTransactionStateException.class);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void queuedEventCommitsWithTheCallersTransaction() {
+        transactionTemplate.executeWithoutResult(status -> producer.publishTicketCreated(event()));
+
+        assertThat(outboxEventRepository.findAll()).singleElement().satisfies(row -> {
+            assertThat(row.getTopic()).isEqualTo("ticket-created");
+            assertThat(row.getMessageKey()).isEqualTo("10");
+            assertThat(row.getEventType()).isEqualTo(TicketCreatedEvent.class.getName());
+            assertThat(row.getPayload()).contains("\"title\":\"Printer jam\"");
+            assertThat(row.getAttempts()).isZero();
+        });
+    }
+
+    @Test
+    void queuedEventRollsBackWithTheCallersTransaction() {
+        transactionTemplate.executeWithoutResult(status -> {
+            producer.publishTicketCreated(event());
+            status.setRollbackOnly();
+        });
+
+        assertThat(outboxEventRepository.findAll()).extracting(OutboxEvent::getTopic).isEmpty();
+    }
+
+    private static TicketCreatedEvent event() {
+        return TicketCreatedEvent.builder()
+                .ticketId(10L)
+                .title("Printer jam")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
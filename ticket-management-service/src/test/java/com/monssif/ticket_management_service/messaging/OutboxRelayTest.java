@@ -0,0 +1,166 @@
+package com.monssif.ticket_management_service.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monssif.ticket_management_service.entity.OutboxEvent;
+import com.monssif.ticket_management_service.events.TicketCreatedEvent;
+import com.monssif.ticket_management_service.events.TicketUpdatedEvent;
+import com.monssif.ticket_management_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Stands in for the outbox_events table: lockNextBatch returns unparked rows in id order
+    private final List<OutboxEvent> table = new ArrayList<>();
+    private final List<String> sentKeys = new ArrayList<>();
+    private OutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(outboxEventRepository.lockNextBatch(anyInt())).thenAnswer(invocation -> table.stream()
+                .filter(event -> event.getParkedAt() == null)
+                .sorted(Comparator.comparing(OutboxEvent::getId))
+                .limit(invocation.<Integer>getArgument(0))
+                .toList());
+        doAnswer(invocation -> table.removeAll(invocation.<Collection<OutboxEvent>>getArgument(0)))
+                .when(outboxEventRepository).deleteAllInBatch(any());
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            sentKeys.add(invocation.getArgument(1) + ":" + invocation.getArgument(2).getClass().getSimpleName());
+            return CompletableFuture.completedFuture(null);
+        });
+
+        relay = new OutboxRelay(outboxEventRepository, kafkaTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), objectMapper, meterRegistry);
+        ReflectionTestUtils.setField(relay, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(relay, "sendTimeoutMs", 1_000L);
+        ReflectionTestUtils.setField(relay, "maxAttempts", MAX_ATTEMPTS);
+    }
+
+    @Test
+    void relaysInIdOrderAndDeletesOnlyAfterTheSend() throws Exception {
+        add(3L, "10", updated(10L));
+        add(1L, "10", created(10L));
+        add(2L, "11", created(11L));
+
+        relay.relay();
+
+        assertThat(sentKeys).containsExactly("10:TicketCreatedEvent", "11:TicketCreatedEvent", "10:TicketUpdatedEvent");
+        assertThat(table).isEmpty();
+    }
+
+    @Test
+    void failedSendKeepsItsRowAndRecordsTheAttempt() throws Exception {
+        OutboxEvent tooLarge = add(1L, "10", created(10L));
+        add(2L, "11", created(11L));
+        doReturn(CompletableFuture.failedFuture(new RecordTooLargeException("record too large")))
+                .when(kafkaTemplate).send(anyString(), eq("10"), any());
+
+        relay.relay();
+
+        assertThat(table).containsExactly(tooLarge);
+        assertThat(tooLarge.getAttempts()).isEqualTo(1);
+        assertThat(tooLarge.getLastError()).contains("RecordTooLargeException");
+        assertThat(tooLarge.getParkedAt()).isNull();
+    }
+
+    @Test
+    void brokerOutageKeepsEveryRowWithoutSpendingAttempts() throws Exception {
+        OutboxEvent first = add(1L, "10", created(10L));
+        OutboxEvent second = add(2L, "11", created(11L));
+        doReturn(CompletableFuture.failedFuture(new TimeoutException("metadata not available")))
+                .when(kafkaTemplate).send(anyString(), anyString(), any());
+
+        for (int i = 0; i < MAX_ATTEMPTS + 1; i++) {
+            relay.relay();
+        }
+
+        assertThat(table).containsExactly(first, second);
+        assertThat(table).allSatisfy(event -> {
+            assertThat(event.getAttempts()).isZero();
+            assertThat(event.getParkedAt()).isNull();
+        });
+    }
+
+    @Test
+    void poisonRowIsParkedAfterMaxAttemptsWhileItsKeyWaitsAndOtherKeysFlow() throws Exception {
+        OutboxEvent poison = add(1L, "10", created(10L));
+        poison.setEventType("com.example.RemovedEvent");
+        add(2L, "10", updated(10L));
+        add(3L, "11", created(11L));
+
+        relay.relay();
+
+        assertThat(sentKeys).containsExactly("11:TicketCreatedEvent");
+        assertThat(table).extracting(OutboxEvent::getId).containsExactly(1L, 2L);
+
+        for (int i = 1; i < MAX_ATTEMPTS; i++) {
+            relay.relay();
+        }
+        assertThat(poison.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(poison.getParkedAt()).isNotNull();
+        assertThat(poison.getLastError()).contains("Failed to read outbox event 1");
+        assertThat(meterRegistry.get("outbox.events.parked").tag("topic", "ticket-created").counter().count())
+                .isEqualTo(1.0);
+
+        relay.relay();
+
+        assertThat(sentKeys).containsExactly("11:TicketCreatedEvent", "10:TicketUpdatedEvent");
+        assertThat(table).containsExactly(poison);
+        verify(kafkaTemplate, never()).send(anyString(), eq("10"), any(TicketCreatedEvent.class));
+    }
+
+    private OutboxEvent add(Long id, String key, Object event) throws Exception {
+        OutboxEvent row = OutboxEvent.builder()
+                .id(id)
+                .topic(event instanceof TicketCreatedEvent ? "ticket-created" : "ticket-updated")
+                .messageKey(key)
+                .eventType(event.getClass().getName())
+                .payload(objectMapper.writeValueAsString(event))
+                .build();
+        table.add(row);
+        return row;
+    }
+
+    private static TicketCreatedEvent created(Long ticketId) {
+        return TicketCreatedEvent.builder().ticketId(ticketId).title("Printer jam").build();
+    }
+
+    private static TicketUpdatedEvent updated(Long ticketId) {
+        return TicketUpdatedEvent.builder().ticketId(ticketId).title("Printer jam, tray two").build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.monssif.ticket_management_service.repository;
+
+import com.monssif.ticket_management_service.entity.Category;
+import com.monssif.ticket_management_service.entity.Priority;
+import com.monssif.ticket_management_service.entity.Status;
+import com.monssif.ticket_management_service.entity.Ticket;
+import com.monssif.ticket_management_service.entity.User;
+import com.monssif.ticket_management_service.enums.UserRole;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class TicketBatchInsertTest {
+
+    private static final int TICKET_COUNT = 1_000;
+    private static final int JDBC_BATCH_SIZE = 20;
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User customer;
+    private Category category;
+    private Priority priority;
+    private Status status;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        customer = entityManager.persist(User.builder()
+                .username("importer")
+                .email("importer@example.com")
+                .passwordHash("hash")
+                .fullName("Importer")
+                .role(UserRole.CUSTOMER)
+                .build());
+        category = entityManager.persist(Category.builder().name("General").build());
+        priority = entityManager.persist(Priority.builder().name("LOW").level(1).build());
+        status = entityManager.persist(Status.builder().name("OPEN").build());
+        entityManager.flush();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void bulkInsertBatchesStatementsAndPoolsSequenceCalls() {
+        List<Ticket> tickets = new ArrayList<>(TICKET_COUNT);
+        for (int i = 0; i < TICKET_COUNT; i++) {
+            tickets.add(Ticket.builder()
+                    .title("Imported ticket " + i)
+                    .description("Imported description " + i)
+                    .customer(customer)
+                    .category(category)
+                    .priority(priority)
+                    .status(status)
+                    .build());
+        }
+
+        ticketRepository.saveAll(tickets);
+        entityManager.flush();
+
+        long expectedInsertBatches = TICKET_COUNT / JDBC_BATCH_SIZE;
+        long expectedSequenceCalls = (TICKET_COUNT + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(TICKET_COUNT);
+        assertThat(statistics.getPrepareStatementCount())
+                .isLessThanOrEqualTo(expectedInsertBatches + expectedSequenceCalls);
+    }
+}
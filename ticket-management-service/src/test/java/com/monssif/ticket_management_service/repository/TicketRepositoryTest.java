@@ -0,0 +1,136 @@
+package com.monssif.ticket_management_service.repository;
+
+import com.monssif.ticket_management_service.dto.TicketSummaryDTO;
+import com.monssif.ticket_management_service.entity.Category;
+import com.monssif.ticket_management_service.entity.Priority;
+import com.monssif.ticket_management_service.entity.Status;
+import com.monssif.ticket_management_service.entity.Ticket;
+import com.monssif.ticket_management_service.entity.User;
+import com.monssif.ticket_management_service.enums.UserRole;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class TicketRepositoryTest {
+
+    private static final int TICKET_COUNT = 25;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private Long customerId;
+    private Long agentId;
+
+    @BeforeEach
+    void setUp() {
+        User customer = entityManager.persist(user("customer", UserRole.CUSTOMER));
+        User agent = entityManager.persist(user("agent", UserRole.AGENT));
+        Category category = entityManager.persist(Category.builder().name("Billing").build());
+        Priority priority = entityManager.persist(Priority.builder().name("HIGH").level(3).build());
+        Status status = entityManager.persist(Status.builder().name("OPEN").build());
+
+        for (int i = 0; i < TICKET_COUNT; i++) {
+            entityManager.persist(Ticket.builder()
+                    .title("Ticket " + i)
+                    .description("Description " + i)
+                    .customer(customer)
+                    .assignedAgent(i % 2 == 0 ? agent : null)
+                    .category(category)
+                    .priority(priority)
+                    .status(status)
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        customerId = customer.getId();
+        agentId = agent.getId();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllSummariesUsesOneSelectPlusCount() {
+        Page<TicketSummaryDTO> page = ticketRepository.findAllSummaries(
+                PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt")));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getTotalElements()).isEqualTo(TICKET_COUNT);
+        assertThat(page.getContent()).allSatisfy(ticket -> {
+            assertThat(ticket.getCustomerName()).isEqualTo("customer");
+            assertThat(ticket.getCategoryName()).isEqualTo("Billing");
+            assertThat(ticket.getIsAssigned()).isEqualTo(ticket.getAssignedAgentId() != null);
+        });
+        assertThat(page.getContent()).anyMatch(ticket -> ticket.getAssignedAgentId() == null);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findSummariesByCustomerIdUsesOneSelectPlusCount() {
+        Page<TicketSummaryDTO> page = ticketRepository.findSummariesByCustomerId(
+                customerId, PageRequest.of(0, PAGE_SIZE));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getTotalElements()).isEqualTo(TICKET_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void agentKeysetSlicesWalkOnlyThatAgentsTicketsNewestFirst() {
+        int sliceSize = 5;
+        List<TicketSummaryDTO> walked = new ArrayList<>();
+        Slice<TicketSummaryDTO> slice = ticketRepository.findFirstAgentSliceByCreatedAtDesc(
+                agentId, PageRequest.of(0, sliceSize));
+        walked.addAll(slice.getContent());
+        while (slice.hasNext()) {
+            TicketSummaryDTO last = walked.get(walked.size() - 1);
+            slice = ticketRepository.findNextAgentSliceByCreatedAtDesc(
+                    agentId, last.getCreatedAt(), last.getId(), PageRequest.of(0, sliceSize));
+            walked.addAll(slice.getContent());
+        }
+
+        assertThat(walked).hasSize((TICKET_COUNT + 1) / 2)
+                .allMatch(ticket -> agentId.equals(ticket.getAssignedAgentId()));
+        assertThat(walked).extracting(TicketSummaryDTO::getId).doesNotHaveDuplicates();
+        assertThat(walked).isSortedAccordingTo(Comparator.comparing(TicketSummaryDTO::getCreatedAt)
+                .thenComparing(TicketSummaryDTO::getId).reversed());
+    }
+
+    private User user(String name, UserRole role) {
+        return User.builder()
+                .username(name)
+                .email(name + "@example.com")
+                .passwordHash("hash")
+                .fullName(name)
+                .role(role)
+                .build();
+    }
+}
@@ -0,0 +1,200 @@
+package com.monssif.ticket_management_service.service;
+
+import com.monssif.ticket_management_service.cache.LookupDataCache;
+import com.monssif.ticket_management_service.cache.LookupSnapshot;
+import com.monssif.ticket_management_service.dto.CategoryDTO;
+import com.monssif.ticket_management_service.dto.LookupDataSummaryDTO;
+import com.monssif.ticket_management_service.entity.Category;
+import com.monssif.ticket_management_service.entity.Comment;
+import com.monssif.ticket_management_service.entity.Priority;
+import com.monssif.ticket_management_service.entity.Status;
+import com.monssif.ticket_management_service.entity.Ticket;
+import com.monssif.ticket_management_service.entity.User;
+import com.monssif.ticket_management_service.enums.UserRole;
+import com.monssif.ticket_management_service.events.AIAnalysisResultEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@Import(AIAnalysisResultWriter.class)
+class AIAnalysisResultWriterTest {
+
+    private static final LocalDateTime ANALYZED_AT = LocalDateTime.of(2026, 3, 1, 12, 0);
+    private static final int BENCHMARK_RESULTS = 20_000;
+
+    @Autowired
+    private AIAnalysisResultWriter writer;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private LookupDataCache lookupDataCache;
+
+    private User customer;
+    private Category billing;
+    private Priority priority;
+    private Status status;
+    private Long ticketId;
+    private Long commentId;
+
+    @BeforeEach
+    void setUp() {
+        customer = entityManager.persist(User.builder()
+                .username("customer")
+                .email("customer@example.com")
+                .passwordHash("hash")
+                .fullName("Customer")
+                .role(UserRole.CUSTOMER)
+                .build());
+        billing = entityManager.persist(Category.builder().name("Billing").build());
+        priority = entityManager.persist(Priority.builder().name("LOW").level(1).build());
+        status = entityManager.persist(Status.builder().name("OPEN").build());
+        Ticket ticket = entityManager.persist(ticket(0));
+        Comment comment = entityManager.persist(Comment.builder()
+                .content("Still waiting on the refund")
+                .ticket(ticket)
+                .user(customer)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        ticketId = ticket.getId();
+        commentId = comment.getId();
+
+        when(lookupDataCache.get()).thenReturn(LookupSnapshot.of(LookupDataSummaryDTO.builder()
+                .categories(List.of(CategoryDTO.builder().id(billing.getId()).name("Billing").isActive(true).build()))
+                .priorities(List.of())
+                .statuses(List.of())
+                .build()));
+    }
+
+    @Test
+    void latestResultPerKeyWinsWithinABatch() {
+        writer.applyResults(List.of(
+                ticketResult(-0.2, ANALYZED_AT.plusMinutes(5)),
+                ticketResult(0.8, ANALYZED_AT.plusMinutes(10)),
+                ticketResult(-0.9, ANALYZED_AT),
+                commentResult(0.4, ANALYZED_AT.plusMinutes(3)),
+                commentResult(-0.5, ANALYZED_AT.plusMinutes(1))));
+
+        assertThat(ticketRow()).containsEntry("AI_SENTIMENT_SCORE", 0.8)
+                .containsEntry("AI_SUGGESTED_CATEGORY_ID", billing.getId());
+        assertThat(commentRow()).containsEntry("AI_SENTIMENT_SCORE", 0.4);
+    }
+
+    @Test
+    void replayedOrOlderResultIsSkipped() {
+        writer.applyResults(List.of(ticketResult(0.6, ANALYZED_AT), commentResult(0.6, ANALYZED_AT)));
+
+        writer.applyResults(List.of(ticketResult(-0.7, ANALYZED_AT), commentResult(-0.7, ANALYZED_AT)));
+        writer.applyResults(List.of(
+                ticketResult(-0.3, ANALYZED_AT.minusMinutes(1)),
+                commentResult(-0.3, ANALYZED_AT.minusMinutes(1))));
+
+        assertThat(ticketRow()).containsEntry("AI_SENTIMENT_SCORE", 0.6);
+        assertThat(commentRow()).containsEntry("AI_SENTIMENT_SCORE", 0.6);
+    }
+
+    @Test
+    void outOfRangeOrMissingScoreIsSkipped() {
+        writer.applyResults(List.of(ticketResult(0.6, ANALYZED_AT)));
+
+        writer.applyResults(List.of(ticketResult(4.2, ANALYZED_AT.plusMinutes(1))));
+        writer.applyResults(List.of(ticketResult(null, ANALYZED_AT.plusMinutes(2))));
+
+        assertThat(ticketRow()).containsEntry("AI_SENTIMENT_SCORE", 0.6);
+    }
+
+    // Opt-in: mvn test -Dbenchmark.ai-results=true. H2 in memory only bounds the writer's own overhead; run it
+    // against Oracle before reading anything into the figure.
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.ai-results", matches = "true")
+    void reportsResultsPerSecond() {
+        List<Long> ticketIds = new ArrayList<>(BENCHMARK_RESULTS);
+        for (int i = 0; i < BENCHMARK_RESULTS; i++) {
+            ticketIds.add(entityManager.persist(ticket(i + 1)).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<AIAnalysisResultEvent> results = new ArrayList<>(BENCHMARK_RESULTS);
+        for (int i = 0; i < BENCHMARK_RESULTS; i++) {
+            results.add(AIAnalysisResultEvent.builder()
+                    .ticketId(ticketIds.get(i))
+                    .sentimentScore((i % 200) / 100.0 - 1.0)
+                    .suggestedCategoryName("Billing")
+                    .analyzedAt(ANALYZED_AT)
+                    .build());
+        }
+
+        long started = System.nanoTime();
+        writer.applyResults(results);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        System.out.printf("AI results: %d applied in %.2f s, %.0f results/s%n",
+                BENCHMARK_RESULTS, seconds, BENCHMARK_RESULTS / seconds);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tickets WHERE ai_analyzed_at IS NOT NULL", Long.class))
+                .isEqualTo(BENCHMARK_RESULTS);
+    }
+
+    private Ticket ticket(int i) {
+        return Ticket.builder()
+                .title("Refund " + i)
+                .description("Charged twice for one order")
+                .customer(customer)
+                .category(billing)
+                .priority(priority)
+                .status(status)
+                .build();
+    }
+
+    private AIAnalysisResultEvent ticketResult(Double score, LocalDateTime analyzedAt) {
+        return AIAnalysisResultEvent.builder()
+                .ticketId(ticketId)
+                .sentimentScore(score)
+                .suggestedCategoryName("Billing")
+                .analyzedAt(analyzedAt)
+                .build();
+    }
+
+    private AIAnalysisResultEvent commentResult(Double score, LocalDateTime analyzedAt) {
+        return AIAnalysisResultEvent.builder()
+                .ticketId(ticketId)
+                .commentId(commentId)
+                .sentimentScore(score)
+                .analyzedAt(analyzedAt)
+                .build();
+    }
+
+    private Map<String, Object> ticketRow() {
+        return jdbcTemplate.queryForMap(
+                "SELECT ai_sentiment_score, ai_suggested_category_id FROM tickets WHERE id = ?", ticketId);
+    }
+
+    private Map<String, Object> commentRow() {
+        return jdbcTemplate.queryForMap("SELECT ai_sentiment_score FROM comments WHERE id = ?", commentId);
+    }
+}
@@ -0,0 +1,82 @@
+package com.monssif.ticket_management_service.service;
+
+import com.monssif.ticket_management_service.assignment.AgentProfile;
+import com.monssif.ticket_management_service.assignment.AgentWorkloadIndex;
+import com.monssif.ticket_management_service.dto.BulkOperationResultDTO;
+import com.monssif.ticket_management_service.dto.BulkTicketResultDTO;
+import com.monssif.ticket_management_service.entity.Priority;
+import com.monssif.ticket_management_service.entity.Status;
+import com.monssif.ticket_management_service.entity.Ticket;
+import com.monssif.ticket_management_service.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkTicketExecutorTest {
+
+    private static final Long AGENT_ID = 7L;
+
+    @Test
+    void rolledBackChunkLeavesTheWorkloadIndexUntouched() {
+        AgentWorkloadIndex index = new AgentWorkloadIndex();
+        index.rebuild(List.of(new AgentProfile(AGENT_ID, "Agent", Map.of())), List.of());
+        BulkTicketExecutor executor = new BulkTicketExecutor(new TransactionTemplate(new StubTransactionManager()));
+        ReflectionTestUtils.setField(executor, "chunkSize", 2);
+
+        BulkOperationResultDTO result = executor.execute(List.of(1L, 2L, 3L, 4L), chunk -> {
+            chunk.forEach(ticketId -> index.syncAfterCommit(ticket(ticketId)));
+            if (chunk.contains(3L)) {
+                throw new IllegalStateException("constraint violated");
+            }
+            return chunk.stream()
+                    .map(ticketId -> BulkTicketExecutor.updated(ticketId, null, AGENT_ID.toString()))
+                    .toList();
+        });
+
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getResults()).extracting(BulkTicketResultDTO::getStatus)
+                .containsExactly("UPDATED", "UPDATED", "FAILED", "FAILED");
+        assertThat(index.agentOf(1L)).contains(AGENT_ID);
+        assertThat(index.agentOf(2L)).contains(AGENT_ID);
+        assertThat(index.agentOf(3L)).isEmpty();
+        assertThat(index.agentOf(4L)).isEmpty();
+    }
+
+    private static Ticket ticket(Long ticketId) {
+        return Ticket.builder()
+                .id(ticketId)
+                .assignedAgent(User.builder().id(AGENT_ID).build())
+                .status(Status.builder().name("OPEN").build())
+                .priority(Priority.builder().level(1).build())
+                .build();
+    }
+
+    // Drives transaction synchronization without a database.
+    private static final class StubTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.monssif.ticket_management_service.service;
+
+import com.monssif.ticket_management_service.cache.LookupDataCache;
+import com.monssif.ticket_management_service.cache.LookupSnapshot;
+import com.monssif.ticket_management_service.dto.CategoryDTO;
+import com.monssif.ticket_management_service.dto.LookupDataSummaryDTO;
+import com.monssif.ticket_management_service.dto.PriorityDTO;
+import com.monssif.ticket_management_service.dto.StatusDTO;
+import com.monssif.ticket_management_service.entity.Category;
+import com.monssif.ticket_management_service.entity.Priority;
+import com.monssif.ticket_management_service.entity.Status;
+import com.monssif.ticket_management_service.entity.User;
+import com.monssif.ticket_management_service.enums.UserRole;
+import com.monssif.ticket_management_service.messaging.AIAnalysisProducer;
+import com.monssif.ticket_management_service.repository.CategoryRepository;
+import com.monssif.ticket_management_service.repository.OutboxEventRepository;
+import com.monssif.ticket_management_service.repository.PriorityRepository;
+import com.monssif.ticket_management_service.repository.StatusRepository;
+import com.monssif.ticket_management_service.repository.TicketRepository;
+import com.monssif.ticket_management_service.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "tickets.import.chunk-size=" + TicketImportServiceTest.CHUNK_SIZE,
+        "kafka.topics.ticket-created=ticket-created",
+        "kafka.topics.ticket-updated=ticket-updated",
+        "kafka.topics.ticket-deleted=ticket-deleted",
+        "kafka.topics.comment-created=comment-created"
+})
+@Import({TicketImportService.class, AIAnalysisProducer.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TicketImportServiceTest {
+
+    static final int CHUNK_SIZE = 5;
+    private static final int TICKET_COUNT = 4 * CHUNK_SIZE;
+
+    @Autowired
+    private TicketImportService ticketImportService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PriorityRepository priorityRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @MockBean
+    private LookupDataCache lookupDataCache;
+
+    private Long customerId;
+    private Long categoryId;
+    private Long priorityId;
+    private Long statusId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            ticketRepository.deleteAllInBatch();
+            outboxEventRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+            categoryRepository.deleteAllInBatch();
+            priorityRepository.deleteAllInBatch();
+            statusRepository.deleteAllInBatch();
+        });
+
+        User customer = userRepository.save(User.builder()
+                .username("importer")
+                .email("importer@example.com")
+                .passwordHash("hash")
+                .fullName("Importer")
+                .role(UserRole.CUSTOMER)
+                .build());
+        Category category = categoryRepository.save(Category.builder().name("General").build());
+        Priority priority = priorityRepository.save(Priority.builder().name("LOW").level(1).build());
+        Status status = statusRepository.save(Status.builder().name("OPEN").build());
+        customerId = customer.getId();
+        categoryId = category.getId();
+        priorityId = priority.getId();
+        statusId = status.getId();
+
+        when(lookupDataCache.get()).thenReturn(LookupSnapshot.of(LookupDataSummaryDTO.builder()
+                .categories(List.of(CategoryDTO.builder().id(categoryId).name("General").isActive(true).build()))
+                .priorities(List.of(PriorityDTO.builder().id(priorityId).name("LOW").level(1).build()))
+                .statuses(List.of(StatusDTO.builder().id(statusId).name("OPEN").isFinal(false).build()))
+                .build()));
+    }
+
+    @Test
+    void importDetachesEachChunkFromAnOpenInViewEntityManager() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < TICKET_COUNT; i++) {
+            ndjson.append("{\"title\":\"Imported ticket ").append(i)
+                    .append("\",\"description\":\"Imported description ").append(i)
+                    .append("\",\"customerId\":").append(customerId)
+                    .append(",\"categoryId\":").append(categoryId)
+                    .append(",\"priorityId\":").append(priorityId)
+                    .append(",\"statusId\":").append(statusId)
+                    .append("}\n");
+        }
+
+        // Bind one EntityManager to the thread the way OpenEntityManagerInViewInterceptor does for the request.
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int managedEntities;
+        try {
+            ticketImportService.importTickets(
+                    new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), output);
+            managedEntities = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+
+        assertThat(output.toString(StandardCharsets.UTF_8).lines())
+                .hasSize(TICKET_COUNT)
+                .allMatch(line -> line.contains("\"CREATED\""));
+        assertThat(ticketRepository.count()).isEqualTo(TICKET_COUNT);
+        assertThat(outboxEventRepository.count()).isEqualTo(TICKET_COUNT);
+        assertThat(managedEntities).isZero();
+    }
+
+    @Test
+    void nullLineFailsOnItsOwnWithoutAbortingTheImport() throws Exception {
+        String ndjson = ticketLine(0) + "null\n" + ticketLine(2) + "\"just a string\"\n" + ticketLine(4);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ticketImportService.importTickets(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), output);
+
+        List<String> results = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(results).hasSize(5);
+        assertThat(results.get(1)).contains("\"line\":2", "\"FAILED\"", "got null");
+        assertThat(results.get(3)).contains("\"line\":4", "\"FAILED\"");
+        assertThat(List.of(results.get(0), results.get(2), results.get(4))).allMatch(line -> line.contains("\"CREATED\""));
+        assertThat(ticketRepository.count()).isEqualTo(3);
+    }
+
+    private String ticketLine(int i) {
+        return "{\"title\":\"Imported ticket " + i
+                + "\",\"description\":\"Imported description " + i
+                + "\",\"customerId\":" + customerId
+                + ",\"categoryId\":" + categoryId
+                + ",\"priorityId\":" + priorityId
+                + ",\"statusId\":" + statusId
+                + "}\n";
+    }
+}
@@ -0,0 +1,150 @@
+package com.monssif.ticket_management_service.service;
+
+import com.monssif.ticket_management_service.events.TicketDeletedEvent;
+import com.monssif.ticket_management_service.messaging.TicketSearchIndexConsumer;
+import com.monssif.ticket_management_service.repository.CommentRepository;
+import com.monssif.ticket_management_service.repository.TicketRepository;
+import com.monssif.ticket_management_service.search.TicketSearchDocument;
+import com.monssif.ticket_management_service.search.TicketSearchIndex;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TicketSearchServiceTest {
+
+    private static final int SEARCH_THREADS = 4;
+
+    @TempDir
+    Path indexPath;
+
+    private final TicketRepository ticketRepository = mock(TicketRepository.class);
+    private TicketSearchIndex index;
+    private TicketSearchService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new TicketSearchIndex(indexPath.toString());
+        service = new TicketSearchService(ticketRepository, mock(CommentRepository.class), index);
+        ReflectionTestUtils.setField(service, "rebuildBatchSize", 1);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void failedRebuildKeepsTheCommittedIndexAndReplaysEventsItSwallowed() {
+        index.index(document(1L, "printer jam"));
+        index.commit();
+
+        when(ticketRepository.findSearchDocumentsByIds(List.of(3L))).thenReturn(List.of(document(3L, "printer toner")));
+        when(ticketRepository.findSearchDocumentsAfterId(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            service.indexTicket(3L);
+            return List.of(document(2L, "printer driver"));
+        });
+        when(ticketRepository.findSearchDocumentsAfterId(eq(2L), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("connection reset"));
+
+        assertThatThrownBy(() -> ReflectionTestUtils.invokeMethod(service, "rebuild"))
+                .hasMessage("connection reset");
+
+        assertThat(search("printer")).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void deletedEventRemovesTheTicketFromTheIndex() {
+        index.index(document(1L, "printer jam"));
+        index.index(document(2L, "printer toner"));
+        index.refresh();
+
+        TicketSearchIndexConsumer consumer = new TicketSearchIndexConsumer(service);
+        consumer.consumeTicketEvent(new ConsumerRecord<>("ticket-deleted", 0, 0L, "1",
+                TicketDeletedEvent.builder().ticketId(1L).build()));
+
+        assertThat(search("printer")).containsExactly(2L);
+    }
+
+    @Test
+    void searchesKeepWorkingWhileARebuildIsRolledBack() throws Exception {
+        index.index(document(1L, "printer jam"));
+        index.commit();
+        index.refresh();
+
+        AtomicBoolean stop = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(SEARCH_THREADS);
+        List<Future<Integer>> searches = new ArrayList<>();
+        for (int thread = 0; thread < SEARCH_THREADS; thread++) {
+            searches.add(executor.submit(() -> {
+                int count = 0;
+                while (!stop.get()) {
+                    assertThat(index.search("printer", null, null, null, 0, 10).getTicketIds()).containsExactly(1L);
+                    count++;
+                }
+                return count;
+            }));
+        }
+        try {
+            for (int i = 0; i < 500; i++) {
+                index.beginRebuild();
+                index.abortRebuild();
+            }
+        } finally {
+            stop.set(true);
+            executor.shutdown();
+        }
+
+        for (Future<Integer> search : searches) {
+            assertThat(search.get()).isPositive();
+        }
+    }
+
+    @Test
+    void instancesWithoutAConfiguredPathGetTheirOwnTemporaryIndex() throws Exception {
+        TicketSearchIndex first = new TicketSearchIndex("");
+        TicketSearchIndex second = new TicketSearchIndex("");
+        Path firstPath = (Path) ReflectionTestUtils.getField(first, "temporaryPath");
+        try {
+            first.index(document(1L, "printer jam"));
+            second.index(document(2L, "printer toner"));
+            first.refresh();
+            second.refresh();
+
+            assertThat(first.search("printer", null, null, null, 0, 10).getTicketIds()).containsExactly(1L);
+            assertThat(second.search("printer", null, null, null, 0, 10).getTicketIds()).containsExactly(2L);
+        } finally {
+            first.close();
+            second.close();
+        }
+        assertThat(Files.exists(firstPath)).isFalse();
+    }
+
+    private List<Long> search(String text) {
+        index.refresh();
+        return index.search(text, null, null, null, 0, 10).getTicketIds();
+    }
+
+    private static TicketSearchDocument document(Long id, String title) {
+        return new TicketSearchDocument(id, title, "", "OPEN", "General", "LOW");
+    }
+}
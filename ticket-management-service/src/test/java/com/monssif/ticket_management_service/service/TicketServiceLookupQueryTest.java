@@ -0,0 +1,191 @@
+package com.monssif.ticket_management_service.service;
+
+import com.monssif.ticket_management_service.assignment.AgentWorkloadIndex;
+import com.monssif.ticket_management_service.cache.LookupDataCache;
+import com.monssif.ticket_management_service.cache.LookupSnapshot;
+import com.monssif.ticket_management_service.dto.CategoryDTO;
+import com.monssif.ticket_management_service.dto.LookupDataSummaryDTO;
+import com.monssif.ticket_management_service.dto.PriorityDTO;
+import com.monssif.ticket_management_service.dto.StatusDTO;
+import com.monssif.ticket_management_service.dto.TicketRequestDTO;
+import com.monssif.ticket_management_service.dto.TicketResponseDTO;
+import com.monssif.ticket_management_service.entity.Category;
+import com.monssif.ticket_management_service.entity.Priority;
+import com.monssif.ticket_management_service.entity.Status;
+import com.monssif.ticket_management_service.entity.Ticket;
+import com.monssif.ticket_management_service.entity.User;
+import com.monssif.ticket_management_service.enums.UserRole;
+import com.monssif.ticket_management_service.events.TicketCreatedEvent;
+import com.monssif.ticket_management_service.events.TicketUpdatedEvent;
+import com.monssif.ticket_management_service.mapper.CategoryMapperImpl;
+import com.monssif.ticket_management_service.mapper.PriorityMapperImpl;
+import com.monssif.ticket_management_service.mapper.StatusMapperImpl;
+import com.monssif.ticket_management_service.mapper.TicketMapperImpl;
+import com.monssif.ticket_management_service.messaging.AIAnalysisProducer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Ticket writes validate and name their lookups from the snapshot, so no lookup row is selected on create or update.
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({TicketService.class, TicketMapperImpl.class, CategoryMapperImpl.class, PriorityMapperImpl.class,
+        StatusMapperImpl.class})
+class TicketServiceLookupQueryTest {
+
+    private static final List<Class<?>> LOOKUPS = List.of(Category.class, Priority.class, Status.class);
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private LookupDataCache lookupDataCache;
+
+    @MockBean
+    private AIAnalysisProducer producer;
+
+    @MockBean
+    private AgentWorkloadIndex agentWorkloadIndex;
+
+    private Statistics statistics;
+    private Long customerId;
+    private Category billing;
+    private Category hardware;
+    private Priority low;
+    private Priority high;
+    private Status open;
+    private Status resolved;
+
+    @BeforeEach
+    void setUp() {
+        customerId = entityManager.persist(User.builder()
+                .username("customer")
+                .email("customer@example.com")
+                .passwordHash("hash")
+                .fullName("Customer")
+                .role(UserRole.CUSTOMER)
+                .build()).getId();
+        billing = entityManager.persist(Category.builder().name("Billing").build());
+        hardware = entityManager.persist(Category.builder().name("Hardware").build());
+        low = entityManager.persist(Priority.builder().name("LOW").level(1).build());
+        high = entityManager.persist(Priority.builder().name("HIGH").level(3).build());
+        open = entityManager.persist(Status.builder().name("OPEN").build());
+        resolved = entityManager.persist(Status.builder().name("RESOLVED").isFinal(true).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        when(lookupDataCache.get()).thenReturn(LookupSnapshot.of(LookupDataSummaryDTO.builder()
+                .categories(List.of(category(billing), category(hardware)))
+                .priorities(List.of(priority(low), priority(high)))
+                .statuses(List.of(status(open), status(resolved)))
+                .build()));
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void createSelectsNoLookupRows() {
+        TicketResponseDTO response = ticketService.createTicket(request(billing, low, open));
+        entityManager.flush();
+
+        assertNoLookupSelects();
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(response.getCategoryName()).isEqualTo("Billing");
+        assertThat(response.getPriorityName()).isEqualTo("LOW");
+        assertThat(response.getPriorityLevel()).isEqualTo(1);
+        assertThat(response.getStatusName()).isEqualTo("OPEN");
+        assertThat(response.getIsStatusFinal()).isFalse();
+
+        ArgumentCaptor<TicketCreatedEvent> event = ArgumentCaptor.forClass(TicketCreatedEvent.class);
+        verify(producer).publishTicketCreated(event.capture());
+        assertThat(event.getValue().getCategoryName()).isEqualTo("Billing");
+        assertThat(event.getValue().getPriorityName()).isEqualTo("LOW");
+    }
+
+    @Test
+    void updateToOtherLookupsSelectsOnlyTheTicket() {
+        Long ticketId = ticketService.createTicket(request(billing, low, open)).getId();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        TicketResponseDTO response = ticketService.updateTicket(ticketId, request(hardware, high, resolved));
+        entityManager.flush();
+
+        assertNoLookupSelects();
+        // The detail fetch joins the current lookups; changing them adds no statement of its own
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(response.getCategoryName()).isEqualTo("Hardware");
+        assertThat(response.getPriorityName()).isEqualTo("HIGH");
+        assertThat(response.getStatusName()).isEqualTo("RESOLVED");
+        assertThat(response.getIsStatusFinal()).isTrue();
+        assertThat(response.getResolvedAt()).isNotNull();
+
+        ArgumentCaptor<TicketUpdatedEvent> event = ArgumentCaptor.forClass(TicketUpdatedEvent.class);
+        verify(producer).publishTicketUpdated(event.capture());
+        assertThat(event.getValue().getCategoryName()).isEqualTo("Hardware");
+        assertThat(event.getValue().getStatusName()).isEqualTo("RESOLVED");
+        verify(agentWorkloadIndex).syncAfterCommit(any(Ticket.class), eq(true), eq(3));
+
+        entityManager.clear();
+        Ticket stored = entityManager.find(Ticket.class, ticketId);
+        assertThat(stored.getCategory().getId()).isEqualTo(hardware.getId());
+        assertThat(stored.getPriority().getId()).isEqualTo(high.getId());
+        assertThat(stored.getStatus().getId()).isEqualTo(resolved.getId());
+    }
+
+    // A fetch is a select of its own for one entity, as opposed to a row read through the ticket's join
+    private void assertNoLookupSelects() {
+        for (Class<?> lookup : LOOKUPS) {
+            assertThat(statistics.getEntityStatistics(lookup.getName()).getFetchCount())
+                    .as("%s selects", lookup.getSimpleName())
+                    .isZero();
+        }
+    }
+
+    private TicketRequestDTO request(Category category, Priority priority, Status status) {
+        return TicketRequestDTO.builder()
+                .title("Printer jam")
+                .description("Tray two jams on every job")
+                .customerId(customerId)
+                .categoryId(category.getId())
+                .priorityId(priority.getId())
+                .statusId(status.getId())
+                .build();
+    }
+
+    private static CategoryDTO category(Category category) {
+        return CategoryDTO.builder().id(category.getId()).name(category.getName()).isActive(true).build();
+    }
+
+    private static PriorityDTO priority(Priority priority) {
+        return PriorityDTO.builder().id(priority.getId()).name(priority.getName()).level(priority.getLevel()).build();
+    }
+
+    private static StatusDTO status(Status status) {
+        return StatusDTO.builder().id(status.getId()).name(status.getName()).isFinal(status.getIsFinal()).build();
+    }
+}
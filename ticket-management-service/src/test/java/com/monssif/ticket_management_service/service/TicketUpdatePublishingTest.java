@@ -0,0 +1,176 @@
+package com.monssif.ticket_management_service.service;
+
+import com.monssif.ticket_management_service.assignment.AgentWorkloadIndex;
+import com.monssif.ticket_management_service.cache.LookupDataCache;
+import com.monssif.ticket_management_service.cache.LookupSnapshot;
+import com.monssif.ticket_management_service.cache.UserStatsCache;
+import com.monssif.ticket_management_service.cache.WorkflowStateMachineCache;
+import com.monssif.ticket_management_service.dto.AssignmentRequestDTO;
+import com.monssif.ticket_management_service.dto.LookupDataSummaryDTO;
+import com.monssif.ticket_management_service.dto.StatusDTO;
+import com.monssif.ticket_management_service.dto.UserStatsDTO;
+import com.monssif.ticket_management_service.dto.WorkflowTransitionRequestDTO;
+import com.monssif.ticket_management_service.entity.Category;
+import com.monssif.ticket_management_service.entity.Priority;
+import com.monssif.ticket_management_service.entity.Status;
+import com.monssif.ticket_management_service.entity.Ticket;
+import com.monssif.ticket_management_service.entity.User;
+import com.monssif.ticket_management_service.enums.UserRole;
+import com.monssif.ticket_management_service.events.TicketUpdatedEvent;
+import com.monssif.ticket_management_service.messaging.AIAnalysisProducer;
+import com.monssif.ticket_management_service.messaging.TicketSearchIndexConsumer;
+import com.monssif.ticket_management_service.messaging.UserStatsConsumer;
+import com.monssif.ticket_management_service.repository.CommentRepository;
+import com.monssif.ticket_management_service.repository.TicketHistoryRepository;
+import com.monssif.ticket_management_service.repository.TicketRepository;
+import com.monssif.ticket_management_service.repository.UserRepository;
+import com.monssif.ticket_management_service.workflow.WorkflowStateMachine;
+import jakarta.persistence.EntityManager;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Assignment and workflow changes reach the search index and user stats consumers through TicketUpdatedEvent.
+class TicketUpdatePublishingTest {
+
+    private static final Long TICKET_ID = 10L;
+    private static final Long CUSTOMER_ID = 1L;
+    private static final Long PREVIOUS_AGENT_ID = 2L;
+    private static final Long NEW_AGENT_ID = 3L;
+    private static final Long OPEN_ID = 1L;
+    private static final Long RESOLVED_ID = 3L;
+
+    private final TicketRepository ticketRepository = mock(TicketRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AIAnalysisProducer producer = mock(AIAnalysisProducer.class);
+    private final TicketSearchService ticketSearchService = mock(TicketSearchService.class);
+    private final UserRepository statsRepository = mock(UserRepository.class);
+
+    private Ticket ticket;
+    private UserStatsCache userStatsCache;
+
+    @BeforeEach
+    void setUp() {
+        ticket = Ticket.builder()
+                .id(TICKET_ID)
+                .title("Printer jam")
+                .description("Tray two jams")
+                .customer(user(CUSTOMER_ID, UserRole.CUSTOMER))
+                .assignedAgent(user(PREVIOUS_AGENT_ID, UserRole.AGENT))
+                .category(Category.builder().id(1L).name("Hardware").build())
+                .priority(Priority.builder().id(1L).name("LOW").level(1).build())
+                .status(Status.builder().id(OPEN_ID).name("OPEN").build())
+                .build();
+        when(ticketRepository.findById(TICKET_ID)).thenReturn(Optional.of(ticket));
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.findById(NEW_AGENT_ID)).thenReturn(Optional.of(user(NEW_AGENT_ID, UserRole.AGENT)));
+
+        userStatsCache = new UserStatsCache(statsRepository);
+        ReflectionTestUtils.setField(userStatsCache, "ttl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(userStatsCache, "maxEntries", 1_000);
+        when(statsRepository.findStatsByUserIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> userIds = invocation.getArgument(0);
+            return userIds.stream()
+                    .map(userId -> UserStatsDTO.builder().userId(userId)
+                            .assignedTicketsCount(0L).createdTicketsCount(0L).commentsCount(0L).build())
+                    .toList();
+        });
+    }
+
+    @Test
+    void reassignmentReindexesTheTicketAndEvictsOnlyBothAgents() {
+        TicketAssignmentService service = new TicketAssignmentService(ticketRepository, userRepository,
+                mock(TicketHistoryRepository.class), mock(AgentWorkloadIndex.class),
+                mock(BulkTicketExecutor.class), producer);
+
+        service.reassignTicket(TICKET_ID, new AssignmentRequestDTO(NEW_AGENT_ID, null));
+
+        TicketUpdatedEvent event = publishedEvent();
+        assertThat(event.getAssignedAgentId()).isEqualTo(NEW_AGENT_ID);
+        assertThat(event.getPreviousAssignedAgentId()).isEqualTo(PREVIOUS_AGENT_ID);
+        assertThat(event.getChangedFields()).containsExactly(TicketUpdatedEvent.FIELD_ASSIGNED_AGENT);
+
+        deliver(event);
+
+        verify(ticketSearchService).indexTicket(TICKET_ID);
+        verify(statsRepository).findStatsByUserIds(List.of(PREVIOUS_AGENT_ID, NEW_AGENT_ID));
+    }
+
+    @Test
+    void statusTransitionReindexesTheTicketWithoutEvictingUserStats() {
+        LookupDataCache lookupDataCache = mock(LookupDataCache.class);
+        when(lookupDataCache.get()).thenReturn(LookupSnapshot.of(LookupDataSummaryDTO.builder()
+                .categories(List.of())
+                .priorities(List.of())
+                .statuses(List.of(
+                        StatusDTO.builder().id(OPEN_ID).name("OPEN").isFinal(false).build(),
+                        StatusDTO.builder().id(RESOLVED_ID).name("RESOLVED").isFinal(false).build()))
+                .build()));
+        WorkflowStateMachineCache workflowStateMachineCache = mock(WorkflowStateMachineCache.class);
+        when(workflowStateMachineCache.get()).thenReturn(WorkflowStateMachine.compile(
+                Map.of(OPEN_ID, "OPEN", RESOLVED_ID, "RESOLVED"), Map.of("OPEN", List.of("RESOLVED"))));
+        EntityManager entityManager = mock(EntityManager.class);
+        Status resolved = Status.builder().id(RESOLVED_ID).name("RESOLVED").build();
+        when(entityManager.getReference(Status.class, RESOLVED_ID)).thenReturn(resolved);
+        TicketWorkflowService service = new TicketWorkflowService(mock(CommentRepository.class), ticketRepository,
+                mock(TicketHistoryRepository.class), lookupDataCache, userRepository, mock(AgentWorkloadIndex.class),
+                workflowStateMachineCache, mock(BulkTicketExecutor.class), producer, entityManager);
+
+        service.transitionTicketStatus(TICKET_ID, WorkflowTransitionRequestDTO.builder().statusId(RESOLVED_ID).build());
+
+        assertThat(ticket.getStatus()).isSameAs(resolved);
+
+        TicketUpdatedEvent event = publishedEvent();
+        assertThat(event.getStatusName()).isEqualTo("RESOLVED");
+        assertThat(event.getChangedFields()).containsExactly(TicketUpdatedEvent.FIELD_STATUS);
+
+        deliver(event);
+
+        verify(ticketSearchService).indexTicket(TICKET_ID);
+        verify(statsRepository, times(1)).findStatsByUserIds(anyCollection());
+    }
+
+    private TicketUpdatedEvent publishedEvent() {
+        ArgumentCaptor<TicketUpdatedEvent> captor = ArgumentCaptor.forClass(TicketUpdatedEvent.class);
+        verify(producer).publishTicketUpdated(captor.capture());
+        return captor.getValue();
+    }
+
+    // Warms the stats cache for everyone on the ticket, delivers the event to each consumer, then reads the stats
+    // again so any eviction shows up as a second repository call.
+    private void deliver(TicketUpdatedEvent event) {
+        List<Long> users = List.of(CUSTOMER_ID, PREVIOUS_AGENT_ID, NEW_AGENT_ID);
+        userStatsCache.getAll(users);
+
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>("ticket-updated", 0, 0L, TICKET_ID.toString(), event);
+        new TicketSearchIndexConsumer(ticketSearchService).consumeTicketEvent(record);
+        new UserStatsConsumer(userStatsCache).consumeEvent(record);
+
+        userStatsCache.getAll(users);
+    }
+
+    private static User user(Long id, UserRole role) {
+        return User.builder()
+                .id(id)
+                .username("user" + id)
+                .fullName("User " + id)
+                .role(role)
+                .build();
+    }
+}
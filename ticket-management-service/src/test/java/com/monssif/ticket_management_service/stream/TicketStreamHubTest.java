@@ -0,0 +1,198 @@
+package com.monssif.ticket_management_service.stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TicketStreamHubTest {
+
+    private static final int BUFFER_SIZE = 16;
+    private static final int SENDER_THREADS = 4;
+
+    private TicketStreamHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new TicketStreamHub();
+        ReflectionTestUtils.setField(hub, "bufferSize", BUFFER_SIZE);
+        ReflectionTestUtils.setField(hub, "maxSubscribers", 10_000);
+        ReflectionTestUtils.setField(hub, "senderThreads", SENDER_THREADS);
+        ReflectionTestUtils.setField(hub, "timeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(hub, "sendTimeout", Duration.ofMillis(100));
+        hub.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void routesEventsToAgentAndQueueSubscribers() throws Exception {
+        RecordingEmitter alice = new RecordingEmitter();
+        RecordingEmitter bob = new RecordingEmitter();
+        RecordingEmitter queue = new RecordingEmitter();
+        hub.subscribe(new TicketStreamFilter(1L, false, null), alice);
+        hub.subscribe(new TicketStreamFilter(2L, false, null), bob);
+        hub.subscribe(new TicketStreamFilter(null, true, null), queue);
+
+        hub.publish(event(10L, null, null, null));
+        hub.publish(event(10L, 1L, null, Set.of("assignedAgent")));
+        hub.publish(event(10L, 2L, 1L, Set.of("assignedAgent")));
+        hub.publish(event(11L, 2L, 2L, Set.of("status")));
+
+        awaitUntil(() -> alice.events().size() == 2 && bob.events().size() == 2 && queue.events().size() == 2);
+        assertThat(alice.events()).containsExactly("TICKET_UPDATED:10", "TICKET_UPDATED:10");
+        assertThat(bob.events()).containsExactly("TICKET_UPDATED:10", "TICKET_UPDATED:11");
+        assertThat(queue.events()).containsExactly("TICKET_UPDATED:10", "TICKET_UPDATED:10");
+    }
+
+    @Test
+    void slowSubscriberIsAskedToResyncWithoutBlockingOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter();
+        hub.subscribe(new TicketStreamFilter(null, false, null), slow);
+        hub.subscribe(new TicketStreamFilter(null, false, null), fast);
+
+        for (long ticketId = 1; ticketId <= 1_000; ticketId++) {
+            hub.publish(event(ticketId, null, null, null));
+        }
+
+        awaitUntil(() -> fast.events().contains("TICKET_UPDATED:1000"));
+        assertThat(slow.events()).isEmpty();
+
+        release.countDown();
+        awaitUntil(() -> slow.events().contains("TICKET_UPDATED:1000"));
+
+        assertThat(slow.events()).first().isEqualTo(TicketStreamHub.RESYNC_EVENT);
+        assertThat(slow.events().size()).isLessThanOrEqualTo(BUFFER_SIZE + 1);
+        assertThat(hub.getDroppedEvents()).isPositive();
+    }
+
+    @Test
+    void stalledSubscribersAreEvictedWithoutStarvingOthers() throws Exception {
+        CountDownLatch never = new CountDownLatch(1);
+        List<RecordingEmitter> stalled = new ArrayList<>();
+        for (int i = 0; i < 3 * SENDER_THREADS; i++) {
+            RecordingEmitter emitter = new RecordingEmitter(never);
+            stalled.add(emitter);
+            hub.subscribe(new TicketStreamFilter(null, false, null), emitter);
+        }
+        RecordingEmitter fast = new RecordingEmitter();
+        hub.subscribe(new TicketStreamFilter(null, false, null), fast);
+
+        for (long ticketId = 1; ticketId <= BUFFER_SIZE; ticketId++) {
+            hub.publish(event(ticketId, null, null, null));
+        }
+
+        awaitUntil(() -> {
+            hub.evictStalledSubscribers();
+            return fast.events().contains("TICKET_UPDATED:" + BUFFER_SIZE) && hub.getSubscriberCount() == 1;
+        });
+        assertThat(fast.events()).hasSize(BUFFER_SIZE).doesNotContain(TicketStreamHub.RESYNC_EVENT);
+        assertThat(hub.getStalledSubscribers()).isEqualTo(stalled.size());
+    }
+
+    @Test
+    void fansOutToThousandsOfSubscribers() throws Exception {
+        int subscribers = 2_000;
+        int events = 100;
+        List<RecordingEmitter> emitters = new ArrayList<>();
+        for (int i = 0; i < subscribers; i++) {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            hub.subscribe(new TicketStreamFilter((long) (i % 50), false, null), emitter);
+        }
+
+        for (long ticketId = 1; ticketId <= events; ticketId++) {
+            hub.publish(event(ticketId, ticketId % 50, null, null));
+        }
+        awaitUntil(() -> emitters.stream().mapToInt(emitter -> emitter.events().size()).sum() == subscribers * events / 50);
+
+        assertThat(hub.getSubscriberCount()).isEqualTo(subscribers);
+        assertThat(hub.getDroppedEvents()).isZero();
+    }
+
+    private static TicketStreamEvent event(Long ticketId, Long agentId, Long previousAgentId, Set<String> changedFields) {
+        return TicketStreamEvent.builder()
+                .type("TICKET_UPDATED")
+                .ticketId(ticketId)
+                .assignedAgentId(agentId)
+                .previousAssignedAgentId(previousAgentId)
+                .changedFields(changedFields)
+                .build();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    // Records "name:ticketId" for data events and the bare name for events without data; skips comments.
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+
+        private RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> parts = builder.build();
+            String text = parts.stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(String.class::isInstance)
+                    .map(String.class::cast)
+                    .collect(Collectors.joining());
+            String name = text.lines()
+                    .filter(line -> line.startsWith("event:"))
+                    .map(line -> line.substring("event:".length()))
+                    .findFirst()
+                    .orElse(null);
+            if (name == null) {
+                return;
+            }
+            TicketStreamEvent payload = parts.stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(TicketStreamEvent.class::isInstance)
+                    .map(TicketStreamEvent.class::cast)
+                    .findFirst()
+                    .orElse(null);
+            events.add(payload != null ? name + ":" + payload.getTicketId() : name);
+        }
+
+        private List<String> events() {
+            return events;
+        }
+    }
+}
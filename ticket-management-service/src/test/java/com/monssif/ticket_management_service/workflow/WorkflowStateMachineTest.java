@@ -0,0 +1,61 @@
+package com.monssif.ticket_management_service.workflow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkflowStateMachineTest {
+
+    private static final Map<Long, String> STATUSES = Map.of(
+            1L, "OPEN",
+            2L, "IN_PROGRESS",
+            3L, "RESOLVED",
+            4L, "CLOSED",
+            70L, "ON_HOLD");
+
+    private static final Map<String, List<String>> TRANSITIONS = Map.of(
+            "OPEN", List.of("IN_PROGRESS", "ON_HOLD", "CLOSED"),
+            "IN_PROGRESS", List.of("RESOLVED", "OPEN", "ARCHIVED"),
+            "RESOLVED", List.of("CLOSED", "IN_PROGRESS"),
+            "ON_HOLD", List.of("OPEN"),
+            "DRAFT", List.of("OPEN"));
+
+    private final WorkflowStateMachine workflow = WorkflowStateMachine.compile(STATUSES, TRANSITIONS);
+
+    @Test
+    void allowsOnlyConfiguredTransitions() {
+        assertThat(workflow.canTransition(1L, 2L)).isTrue();
+        assertThat(workflow.canTransition(1L, 70L)).isTrue();
+        assertThat(workflow.canTransition(70L, 1L)).isTrue();
+        assertThat(workflow.canTransition(1L, 3L)).isFalse();
+        assertThat(workflow.canTransition(4L, 1L)).isFalse();
+        assertThat(workflow.canTransition(99L, 1L)).isFalse();
+        assertThat(workflow.canTransition(1L, 99L)).isFalse();
+    }
+
+    @Test
+    void listsTargetsAndIgnoresUnknownStatuses() {
+        assertThat(workflow.contains(70L)).isTrue();
+        assertThat(workflow.contains(5L)).isFalse();
+        assertThat(workflow.allowedTargetNames(2L)).containsExactlyInAnyOrder("RESOLVED", "OPEN");
+        assertThat(workflow.allowedTargetNames(4L)).isEmpty();
+        assertThat(workflow.toDefinition()).containsOnlyKeys("OPEN", "IN_PROGRESS", "RESOLVED", "CLOSED", "ON_HOLD");
+        assertThat(workflow.toDefinition().get("CLOSED")).isEmpty();
+    }
+
+    @Test
+    void rejectsMoreStatusesThanFitInABitmask() {
+        Map<Long, String> statuses = new HashMap<>();
+        for (long id = 1; id <= Long.SIZE + 1; id++) {
+            statuses.put(id, "S" + id);
+        }
+
+        assertThatThrownBy(() -> WorkflowStateMachine.compile(statuses, Map.of()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}